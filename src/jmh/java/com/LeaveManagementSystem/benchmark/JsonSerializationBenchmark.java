@@ -0,0 +1,43 @@
+package com.LeaveManagementSystem.benchmark;
+
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.repository.LeaveRequestFilter;
+import com.LeaveManagementSystem.service.LeaveService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a page of LeaveRequestDTOs with the application's own ObjectMapper, as the list endpoints do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<LeaveRequestDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        objectMapper = database.getBean(ObjectMapper.class);
+        page = database.getBean(LeaveService.class)
+                .getLeaveRequestsPage(new LeaveRequestFilter(null, null, null, null), null, listSize)
+                .getItems();
+    }
+
+    @Benchmark
+    public byte[] serializeLeaveRequests() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,140 @@
+package com.LeaveManagementSystem.benchmark;
+
+import com.LeaveManagementSystem.LmsApplication;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.service.LeaveAnalyticsService;
+import com.LeaveManagementSystem.service.LeaveLedgerService;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The application running on the embedded H2 database from the test profile, seeded with
+ * {@code employees} x {@code requestsPerEmployee} leave requests of history. Override the volumes
+ * with JMH's {@code -p employees=... -p requestsPerEmployee=...} and the profile with {@code -p profile=...}.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    private static final String[] DEPARTMENTS = {"IT", "HR", "FINANCE", "SALES", "OPERATIONS"};
+    private static final int SEED_CHUNK_SIZE = 1000;
+    // DevTools is on the test classpath; its shutdown hook races the context closing the database
+    private static final String DEVTOOLS_DATASOURCE_AUTO_CONFIGURATION =
+            "org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration";
+    // H2 otherwise hands back the previous result when a query repeats unchanged, which no real database does
+    private static final String DATASOURCE_URL =
+            "jdbc:h2:mem:lms;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE";
+
+    @Param("200")
+    public int employees;
+
+    @Param("20")
+    public int requestsPerEmployee;
+
+    // Layered over the test profile's H2 datasource; -p profile=dev,prod compares the logging setups
+    @Param("prod")
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private final List<Long> employeeIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(LmsApplication.class)
+                .profiles("test", profile)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--lms.ledger.reconcile-on-startup=false", "--logging.level.root=WARN",
+                        "--spring.datasource.url=" + DATASOURCE_URL,
+                        "--spring.autoconfigure.exclude=" + DEVTOOLS_DATASOURCE_AUTO_CONFIGURATION);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Long randomEmployeeId() {
+        return employeeIds.get(ThreadLocalRandom.current().nextInt(employeeIds.size()));
+    }
+
+    /**
+     * The first count employee ids, adding employees without leave history if fewer were seeded.
+     */
+    public List<Long> employeeIds(int count) {
+        if (employeeIds.size() < count) {
+            List<Employee> extra = new ArrayList<>();
+            for (int i = employeeIds.size(); i < count; i++) {
+                extra.add(new Employee("Employee " + i, "bench-" + i + "@example.com",
+                        DEPARTMENTS[i % DEPARTMENTS.length], LocalDate.now().minusYears(10)));
+            }
+            getBean(EmployeeRepository.class).saveAll(extra).forEach(saved -> employeeIds.add(saved.getId()));
+        }
+        return List.copyOf(employeeIds.subList(0, count));
+    }
+
+    private void seed() {
+        EmployeeRepository employeeRepository = getBean(EmployeeRepository.class);
+        LeaveRequestRepository leaveRequestRepository = getBean(LeaveRequestRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(getBean(PlatformTransactionManager.class));
+        LocalDate today = LocalDate.now();
+
+        List<Employee> batch = new ArrayList<>();
+        for (int i = 0; i < employees; i++) {
+            batch.add(new Employee("Employee " + i, "bench-" + i + "@example.com",
+                    DEPARTMENTS[i % DEPARTMENTS.length], today.minusYears(10)));
+            if (batch.size() == SEED_CHUNK_SIZE || i == employees - 1) {
+                List<Employee> chunk = batch;
+                transactionTemplate.executeWithoutResult(status ->
+                        employeeRepository.saveAll(chunk).forEach(saved -> employeeIds.add(saved.getId())));
+                batch = new ArrayList<>();
+            }
+        }
+
+        // Two-day leaves a week apart in the past; every fourth one approved keeps each year within balance
+        List<LeaveRequest> requests = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            for (int i = 0; i < requestsPerEmployee; i++) {
+                LocalDate start = today.minusDays(7L * (i + 1));
+                LeaveRequest leaveRequest = new LeaveRequest(employeeId, start, start.plusDays(1), 2, "Seeded");
+                leaveRequest.setStatus(i % 4 == 0 ? LeaveStatus.APPROVED
+                        : i % 4 == 1 ? LeaveStatus.REJECTED : LeaveStatus.PENDING);
+                requests.add(leaveRequest);
+                if (requests.size() == SEED_CHUNK_SIZE) {
+                    List<LeaveRequest> chunk = requests;
+                    transactionTemplate.executeWithoutResult(status -> leaveRequestRepository.saveAll(chunk));
+                    requests = new ArrayList<>();
+                }
+            }
+        }
+        List<LeaveRequest> remaining = requests;
+        transactionTemplate.executeWithoutResult(status -> leaveRequestRepository.saveAll(remaining));
+
+        getBean(LeaveLedgerService.class).reconcile();
+        getBean(LeaveAnalyticsService.class).recompute();
+    }
+}
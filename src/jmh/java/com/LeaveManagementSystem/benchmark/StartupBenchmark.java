@@ -0,0 +1,168 @@
+package com.LeaveManagementSystem.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-first-request for each way of starting the application: from launching the JVM to the first
+ * 200 from GET /api/employees, which needs the web server, the controllers and a database round-trip.
+ * Runs as a single source file against the cds build (mvn -Pcds -DskipTests verify):
+ * <pre>
+ * java StartupBenchmark.java &lt;boot jar&gt; &lt;cds jar&gt; &lt;h2 jar&gt; &lt;result file&gt; [--rounds=5] [--spring.x=y ...]
+ * </pre>
+ * Each mode starts once to create its database and warm the file cache, then rounds more times.
+ * By default every mode gets its own H2 file database in MySQL mode, with the production dialect;
+ * pass --spring.datasource.url/username/password to measure against MySQL instead.
+ */
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    record Mode(String name, List<String> launch, List<String> arguments) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path bootJar = Path.of(args[0]).toAbsolutePath();
+        Path cdsJar = Path.of(args[1]).toAbsolutePath();
+        Path h2Jar = Path.of(args[2]).toAbsolutePath();
+        Path resultFile = Path.of(args[3]).toAbsolutePath();
+        int rounds = 5;
+        Map<String, String> applicationArguments = new LinkedHashMap<>();
+        for (int i = 4; i < args.length; i++) {
+            if (args[i].startsWith("--rounds=")) {
+                rounds = Integer.parseInt(args[i].substring("--rounds=".length()));
+            } else if (args[i].startsWith("--")) {
+                int equals = args[i].indexOf('=');
+                applicationArguments.put(args[i].substring(2, equals), args[i].substring(equals + 1));
+            }
+        }
+        Path workDirectory = resultFile.resolveSibling("startup-benchmark");
+        Files.createDirectories(workDirectory);
+
+        String bootClassPath = bootJar + File.pathSeparator + h2Jar;
+        // The driver goes after the application jar, so the archive's class path is still a prefix
+        String cdsClassPath = cdsJar + File.pathSeparator + h2Jar;
+        String archive = "-XX:SharedArchiveFile=" + cdsJar.resolveSibling("application.jsa");
+        List<String> bootLauncher = List.of("-cp", bootClassPath, "org.springframework.boot.loader.launch.JarLauncher");
+        List<String> unpacked = List.of("-cp", cdsClassPath, "com.LeaveManagementSystem.LmsApplication");
+        List<String> cds = new ArrayList<>(List.of(archive));
+        cds.addAll(unpacked);
+        // C1 only: no C2 compilations competing with startup for a small container's CPU, lower peak throughput
+        List<String> cdsC1 = new ArrayList<>(List.of("-XX:TieredStopAtLevel=1"));
+        cdsC1.addAll(cds);
+        List<String> updateSchema = List.of("--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update");
+        List<String> lazy = List.of("--spring.main.lazy-initialization=true");
+
+        List<Mode> modes = List.of(
+                new Mode("boot jar, ddl-auto=update", bootLauncher, updateSchema),
+                new Mode("boot jar, migrations", bootLauncher, List.of()),
+                new Mode("boot jar, migrations, lazy", bootLauncher, lazy),
+                new Mode("unpacked, migrations", unpacked, List.of()),
+                new Mode("unpacked + CDS, migrations", cds, List.of()),
+                new Mode("unpacked + CDS, migrations, lazy", cds, lazy),
+                new Mode("unpacked + CDS, migrations, lazy, C1", cdsC1, lazy));
+
+        StringBuilder report = new StringBuilder(String.format("%-40s %8s %8s %8s%n",
+                "mode (time to first request, ms)", "median", "min", "max"));
+        for (Mode mode : modes) {
+            Path modeDirectory = workDirectory.resolve(mode.name().replaceAll("[^A-Za-z0-9]+", "-"));
+            Files.createDirectories(modeDirectory);
+            List<Long> millis = new ArrayList<>();
+            for (int round = 0; round <= rounds; round++) {
+                long nanos = timeToFirstRequest(mode, modeDirectory, applicationArguments);
+                if (round > 0) {
+                    millis.add(TimeUnit.NANOSECONDS.toMillis(nanos));
+                }
+            }
+            millis.sort(null);
+            String line = String.format("%-40s %8d %8d %8d%n", mode.name(), millis.get(millis.size() / 2),
+                    millis.get(0), millis.get(millis.size() - 1));
+            System.out.print(line);
+            report.append(line);
+        }
+        Files.writeString(resultFile, report);
+        System.out.println("Written to " + resultFile);
+    }
+
+    private static long timeToFirstRequest(Mode mode, Path modeDirectory, Map<String, String> overrides)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:file:" + modeDirectory.resolve("lms")
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.profiles.active", "prod");
+        if (overrides.containsKey("spring.datasource.url")) {
+            properties.remove("spring.datasource.driver-class-name");
+        }
+        properties.putAll(overrides);
+        properties.put("server.port", String.valueOf(port));
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.launch());
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+        command.addAll(mode.arguments());
+
+        Path log = modeDirectory.resolve("application.log");
+        URI firstRequest = URI.create("http://localhost:" + port + "/api/employees?limit=1");
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (System.nanoTime() - startedAt < TIMEOUT_NANOS) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (ok(firstRequest)) {
+                    return System.nanoTime() - startedAt;
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode.name() + " did not answer within two minutes, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean ok(URI uri) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(60_000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
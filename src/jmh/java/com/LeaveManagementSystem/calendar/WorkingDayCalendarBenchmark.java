@@ -0,0 +1,71 @@
+package com.LeaveManagementSystem.calendar;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts working days in a range with the precomputed calendar and with the day-by-day loop it
+ * replaces. Ranges start on a rotating set of dates so neither side sees a single constant input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkingDayCalendarBenchmark {
+
+    private static final Set<DayOfWeek> WEEKEND = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    private static final Set<MonthDay> HOLIDAYS = Set.of(MonthDay.of(1, 26), MonthDay.of(8, 15),
+            MonthDay.of(10, 2), MonthDay.of(12, 25));
+
+    @Param({"1", "10", "90", "365"})
+    public int rangeDays;
+
+    private WorkingDayCalendar calendar;
+    private LocalDate[] starts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        calendar = new WorkingDayCalendar("BENCHMARK", WEEKEND, HOLIDAYS, List.of());
+        starts = new LocalDate[1024];
+        LocalDate first = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = first.plusDays(i * 7L % 730);
+        }
+        // Compile every year the ranges touch outside the measurement
+        calendar.countWorkingDays(first, first.plusDays(730 + rangeDays));
+    }
+
+    @Benchmark
+    public int precomputed() {
+        LocalDate start = nextStart();
+        return calendar.countWorkingDays(start, start.plusDays(rangeDays - 1));
+    }
+
+    @Benchmark
+    public int dayByDay() {
+        LocalDate start = nextStart();
+        LocalDate end = start.plusDays(rangeDays - 1);
+        int count = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (!WEEKEND.contains(date.getDayOfWeek()) && !HOLIDAYS.contains(MonthDay.from(date))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private LocalDate nextStart() {
+        next = (next + 1) & (starts.length - 1);
+        return starts[next];
+    }
+}
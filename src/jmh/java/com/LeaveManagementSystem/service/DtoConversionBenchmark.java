@@ -0,0 +1,60 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.benchmark.SeededDatabase;
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestFilter;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion in both services, over detached entities loaded once from the seeded database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoConversionBenchmark {
+
+    private static final int SAMPLE_SIZE = 1000;
+
+    private LeaveService leaveService;
+    private EmployeeService employeeService;
+    private List<LeaveRequest> leaveRequests;
+    private List<Employee> employees;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        // Call the targets directly so proxy advice such as @Timed is not part of the measurement
+        leaveService = AopTestUtils.getUltimateTargetObject(database.getBean(LeaveService.class));
+        employeeService = AopTestUtils.getUltimateTargetObject(database.getBean(EmployeeService.class));
+        leaveRequests = database.getBean(LeaveRequestRepository.class)
+                .findPage(new LeaveRequestFilter(null, null, null, null), null, SAMPLE_SIZE);
+        employees = database.getBean(EmployeeRepository.class).findAll().stream()
+                .limit(SAMPLE_SIZE)
+                .toList();
+    }
+
+    @Benchmark
+    public LeaveRequestDTO convertLeaveRequest() {
+        next = (next + 1) % leaveRequests.size();
+        return leaveService.convertToDTO(leaveRequests.get(next));
+    }
+
+    @Benchmark
+    public EmployeeDTO convertEmployee() {
+        next = (next + 1) % employees.size();
+        return employeeService.convertToDTO(employees.get(next));
+    }
+}
@@ -0,0 +1,29 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.benchmark.SeededDatabase;
+import com.LeaveManagementSystem.dto.LeaveBalanceDTO;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        employeeService = database.getBean(EmployeeService.class);
+    }
+
+    @Benchmark
+    public LeaveBalanceDTO getLeaveBalance(SeededDatabase database) {
+        return employeeService.getLeaveBalance(database.randomEmployeeId());
+    }
+}
@@ -0,0 +1,51 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.benchmark.SeededDatabase;
+import com.LeaveManagementSystem.dto.LeaveAnalyticsDTO;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.repository.RollupTotals;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A utilization report over all seeded history, read from the rollup tables, against the grouped
+ * scan of leave_requests the report would need without them. Seed several years with
+ * {@code -p requestsPerEmployee=200} (one request per employee and week).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveAnalyticsBenchmark {
+
+    private LeaveAnalyticsService leaveAnalyticsService;
+    private LeaveRequestRepository leaveRequestRepository;
+    private YearMonth from;
+    private YearMonth to;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        leaveAnalyticsService = database.getBean(LeaveAnalyticsService.class);
+        leaveRequestRepository = database.getBean(LeaveRequestRepository.class);
+        // Four whole years and the current one so far: the seeded history and then some
+        to = YearMonth.now();
+        from = YearMonth.of(to.getYear() - 4, 1);
+    }
+
+    @Benchmark
+    public LeaveAnalyticsDTO rollups() {
+        return leaveAnalyticsService.getReport(from, to, null, 10);
+    }
+
+    @Benchmark
+    public List<RollupTotals> scan() {
+        leaveRequestRepository.aggregateEmployeeRollupTotals();
+        return leaveRequestRepository.aggregateRollupTotals();
+    }
+}
@@ -0,0 +1,102 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.benchmark.SeededDatabase;
+import com.LeaveManagementSystem.calendar.WorkingDayCalendar;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Approval throughput from eight threads when each thread approves for its own employee, and when all
+ * of them approve for the same one and so queue on one ledger row. The second should stay within a
+ * small factor of the first rather than collapse into optimistic-lock retries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LeaveApprovalContentionBenchmark {
+
+    private LeaveService leaveService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        leaveService = database.getBean(LeaveService.class);
+    }
+
+    @Benchmark
+    public LeaveRequestDTO ownEmployee(OwnEmployee pending) {
+        return leaveService.approveLeave(pending.request.getId());
+    }
+
+    @Benchmark
+    public LeaveRequestDTO sharedEmployee(SharedEmployee pending) {
+        return leaveService.approveLeave(pending.request.getId());
+    }
+
+    @State(Scope.Thread)
+    public static class OwnEmployee extends PendingApproval {
+
+        @Setup(Level.Trial)
+        public void setUp(SeededDatabase database, ThreadParams threads) {
+            // Thread i gets employee i, so no two threads share a ledger row
+            Long employeeId = database.employeeIds(threads.getThreadCount()).get(threads.getThreadIndex());
+            apply(database, employeeId, 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SharedEmployee extends PendingApproval {
+
+        @Setup(Level.Trial)
+        public void setUp(SeededDatabase database, ThreadParams threads) {
+            // One employee, the thread index'th working day so the requests do not overlap
+            Long employeeId = database.employeeIds(1).get(0);
+            apply(database, employeeId, threads.getThreadIndex());
+        }
+    }
+
+    /**
+     * One pending request per thread, put back to PENDING outside the measured time after every
+     * invocation so each call does a full approval.
+     */
+    public abstract static class PendingApproval {
+
+        LeaveRequestDTO request;
+        private JdbcTemplate jdbcTemplate;
+
+        void apply(SeededDatabase database, Long employeeId, int workingDaysAfterNextWeek) {
+            jdbcTemplate = database.getBean(JdbcTemplate.class);
+            WorkingDayCalendar calendar = database.getBean(CalendarService.class).getCalendar(null);
+            LocalDate start = calendar.nextWorkingDay(LocalDate.now().plusDays(7));
+            for (int i = 0; i < workingDaysAfterNextWeek; i++) {
+                start = calendar.nextWorkingDay(start.plusDays(1));
+            }
+            LeaveRequestDTO dto = new LeaveRequestDTO();
+            dto.setEmployeeId(employeeId);
+            dto.setStartDate(start);
+            dto.setEndDate(dto.getStartDate());
+            dto.setReason("Benchmark");
+            request = database.getBean(LeaveService.class).applyForLeave(dto);
+        }
+
+        @TearDown(Level.Invocation)
+        public void revert() {
+            if (jdbcTemplate.update("UPDATE leave_requests SET status = 'PENDING' " +
+                    "WHERE id = ? AND status = 'APPROVED'", request.getId()) == 1) {
+                jdbcTemplate.update("UPDATE leave_ledger SET used_days = used_days - ?, " +
+                                "pending_days = pending_days + ? WHERE employee_id = ? AND ledger_year = ?",
+                        request.getDays(), request.getDays(), request.getEmployeeId(),
+                        request.getStartDate().getYear());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.benchmark.SeededDatabase;
+import com.LeaveManagementSystem.dto.LeaveBalanceDTO;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balances for a dashboard of employeeCount people: one batched call against one call per
+ * employee, which is what the dashboard did before the batched endpoint existed.
+ * The batched side swaps one id for a fresh unknown one per call: H2 hands back the previous
+ * result when a statement repeats with identical parameters, which a real dashboard never gets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveBalanceBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int employeeCount;
+
+    private EmployeeService employeeService;
+    private List<Long> ids;
+    private long unknownId;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        employeeService = database.getBean(EmployeeService.class);
+        ids = new ArrayList<>(database.employeeIds(employeeCount));
+    }
+
+    @Benchmark
+    public List<LeaveBalanceDTO> batched() {
+        ids.set(ids.size() - 1, --unknownId);
+        return employeeService.getLeaveBalances(ids, null);
+    }
+
+    @Benchmark
+    public List<LeaveBalanceDTO> perEmployee() {
+        List<LeaveBalanceDTO> balances = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            balances.add(employeeService.getLeaveBalance(id));
+        }
+        return balances;
+    }
+}
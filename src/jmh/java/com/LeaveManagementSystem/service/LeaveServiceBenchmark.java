@@ -0,0 +1,107 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.benchmark.SeededDatabase;
+import com.LeaveManagementSystem.calendar.WorkingDayCalendar;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveServiceBenchmark {
+
+    private LeaveService leaveService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        leaveService = database.getBean(LeaveService.class);
+    }
+
+    @Benchmark
+    public LeaveRequestDTO applyForLeave(AppliedRequest applied, SeededDatabase database) {
+        LocalDate start = applied.calendar.nextWorkingDay(
+                LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(170)));
+        applied.request = leaveService.applyForLeave(newRequest(database.randomEmployeeId(), start));
+        return applied.request;
+    }
+
+    @Benchmark
+    public LeaveRequestDTO approveLeave(PendingApproval pending) {
+        return leaveService.approveLeave(pending.request.getId());
+    }
+
+    /**
+     * The request applyForLeave just created. It is rejected outside the measured time so later
+     * invocations never run into it as an overlapping pending request.
+     */
+    @State(Scope.Benchmark)
+    public static class AppliedRequest {
+
+        LeaveRequestDTO request;
+        WorkingDayCalendar calendar;
+        private LeaveService leaveService;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededDatabase database) {
+            leaveService = database.getBean(LeaveService.class);
+            calendar = database.getBean(CalendarService.class).getCalendar(null);
+        }
+
+        @TearDown(Level.Invocation)
+        public void reject() {
+            if (request != null) {
+                leaveService.rejectLeave(request.getId());
+                request = null;
+            }
+        }
+    }
+
+    /**
+     * One pending request that approveLeave flips; it is put back to PENDING, outside the measured
+     * time, after every invocation so each call does a full approval.
+     */
+    @State(Scope.Benchmark)
+    public static class PendingApproval {
+
+        LeaveRequestDTO request;
+        private JdbcTemplate jdbcTemplate;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededDatabase database) {
+            jdbcTemplate = database.getBean(JdbcTemplate.class);
+            LocalDate start = database.getBean(CalendarService.class).getCalendar(null)
+                    .nextWorkingDay(LocalDate.now().plusDays(7));
+            request = database.getBean(LeaveService.class)
+                    .applyForLeave(newRequest(database.randomEmployeeId(), start));
+        }
+
+        @TearDown(Level.Invocation)
+        public void revert() {
+            if (jdbcTemplate.update("UPDATE leave_requests SET status = 'PENDING' " +
+                    "WHERE id = ? AND status = 'APPROVED'", request.getId()) == 1) {
+                jdbcTemplate.update("UPDATE leave_ledger SET used_days = used_days - ?, " +
+                                "pending_days = pending_days + ? WHERE employee_id = ? AND ledger_year = ?",
+                        request.getDays(), request.getDays(), request.getEmployeeId(),
+                        request.getStartDate().getYear());
+            }
+        }
+    }
+
+    private static LeaveRequestDTO newRequest(Long employeeId, LocalDate start) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(start);
+        dto.setEndDate(start);
+        dto.setReason("Benchmark");
+        return dto;
+    }
+}
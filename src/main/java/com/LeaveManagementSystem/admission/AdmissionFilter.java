@@ -0,0 +1,220 @@
+package com.LeaveManagementSystem.admission;
+
+import com.LeaveManagementSystem.config.AdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission for /api requests. A request first takes a token from its client's bucket for its endpoint
+ * class and is refused with 429 when there is none; then it needs a slot from the ConcurrencyLimiter and
+ * is refused with 503 when the queue is full or the wait runs out. Both answers carry Retry-After and
+ * return before any database work, so a client looping on an endpoint cannot tie up the connection pool.
+ * The client is the remote address, or the client-header value on requests from a trusted proxy.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(value = "lms.admission.enabled", matchIfMissing = true)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    // Wait for a pooled connection: Hikari's own, and the virtual-thread mode queue in front of it
+    private static final String[] POOL_WAIT_METERS = {"hikaricp.connections.acquire", "lms.datasource.queue.wait"};
+    private static final int MAX_CLIENT_KEY_LENGTH = 64;
+
+    @Autowired
+    private AdmissionProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Cache<String, TokenBucket> buckets;
+    private Set<String> trustedProxies;
+    private ConcurrencyLimiter limiter;
+    private final Map<EndpointClass, Counter> rateLimited = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> overloaded = new EnumMap<>(EndpointClass.class);
+    private final Map<Meter.Id, double[]> lastPoolWaitSamples = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        buckets = Caffeine.newBuilder()
+                .maximumSize((long) properties.getMaxClients() * EndpointClass.values().length)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        limiter = new ConcurrencyLimiter(concurrency.getMinLimit(), concurrency.getMaxLimit(),
+                concurrency.getMaxQueue());
+
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            rateLimited.put(endpoint, Counter.builder("lms.admission.rejected")
+                    .tag("reason", "rate-limited").tag("endpoint", endpoint.tag())
+                    .description("Requests refused before any work").register(meterRegistry));
+            overloaded.put(endpoint, Counter.builder("lms.admission.rejected")
+                    .tag("reason", "overloaded").tag("endpoint", endpoint.tag())
+                    .description("Requests refused before any work").register(meterRegistry));
+        }
+        Gauge.builder("lms.admission.queue", limiter, ConcurrencyLimiter::getQueueLength)
+                .description("Requests waiting for a concurrency slot").register(meterRegistry);
+        Gauge.builder("lms.admission.in-flight", limiter, ConcurrencyLimiter::getInFlight)
+                .description("Requests holding a concurrency slot").register(meterRegistry);
+        Gauge.builder("lms.admission.limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpoint = EndpointClass.of(request.getMethod(), path(request));
+        long tokenWait = takeToken(clientKey(request), endpoint);
+        if (tokenWait > 0) {
+            rateLimited.get(endpoint).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, tokenWait,
+                    "Rate limit for " + endpoint.tag() + " requests exceeded");
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = limiter.tryAcquire(properties.getConcurrency().getQueueTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            overloaded.get(endpoint).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getConcurrency().getRetryAfter().toNanos(),
+                    "Server is at capacity");
+            return;
+        }
+        // Streamed exports give their slot back once the response goes async
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lms.admission.concurrency.adjust-interval-ms:1000}")
+    public void adjustConcurrencyLimit() {
+        limiter.adjust(poolWaitSinceLastAdjustment(), properties.getConcurrency().getTargetWait());
+    }
+
+    public ConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    private long takeToken(String clientKey, EndpointClass endpoint) {
+        AdmissionProperties.Bucket settings = switch (endpoint) {
+            case READ -> properties.getRead();
+            case LIST -> properties.getList();
+            case WRITE -> properties.getWrite();
+        };
+        if (settings.getRate() <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        return buckets.get(endpoint.tag() + ':' + clientKey,
+                key -> new TokenBucket(settings.getRate(), settings.getBurst(), now)).tryTake(now);
+    }
+
+    // Callers choose their own header values, so only a proxy that sets it may name the client
+    private String clientKey(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String header = properties.getClientHeader();
+        if (header == null || header.isBlank() || !trustedProxies.contains(address)) {
+            return address;
+        }
+        String client = request.getHeader(header);
+        if (client == null || client.isBlank()) {
+            return address;
+        }
+        client = client.trim();
+        return client.length() > MAX_CLIENT_KEY_LENGTH ? client.substring(0, MAX_CLIENT_KEY_LENGTH) : client;
+    }
+
+    /**
+     * Mean connection acquire time since the previous call, of the pool that waited longest.
+     */
+    private synchronized Duration poolWaitSinceLastAdjustment() {
+        double longestMeanNanos = 0;
+        for (String name : POOL_WAIT_METERS) {
+            for (Meter meter : meterRegistry.find(name).meters()) {
+                double count;
+                double totalNanos;
+                if (meter instanceof Timer timer) {
+                    count = timer.count();
+                    totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+                } else if (meter instanceof FunctionTimer timer) {
+                    count = timer.count();
+                    totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+                } else {
+                    continue;
+                }
+                double[] last = lastPoolWaitSamples.put(meter.getId(), new double[]{count, totalNanos});
+                if (last != null && count > last[0]) {
+                    longestMeanNanos = Math.max(longestMeanNanos, (totalNanos - last[1]) / (count - last[0]));
+                }
+            }
+        }
+        return Duration.ofNanos((long) longestMeanNanos);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, String message)
+            throws IOException {
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", message);
+
+        response.setStatus(status.value());
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
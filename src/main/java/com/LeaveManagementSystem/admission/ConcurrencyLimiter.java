@@ -0,0 +1,130 @@
+package com.LeaveManagementSystem.admission;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the requests in flight and queues a bounded number more, in arrival order. The cap follows
+ * connection pool wait time (AIMD): it shrinks by a tenth while callers wait longer than the target for
+ * a connection and grows by one each period it was fully used without such waits.
+ */
+public class ConcurrencyLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+
+    private int limit;
+    private int inFlight;
+    private int waiting;
+    private int peakInFlight;
+
+    public ConcurrencyLimiter(int minLimit, int maxLimit, int maxQueue) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Admits the caller, queueing for up to timeout; false when the queue is full or the wait ran out.
+     */
+    public boolean tryAcquire(Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiting == 0 && inFlight < limit) {
+                admit();
+                return true;
+            }
+            if (waiting >= maxQueue) {
+                return false;
+            }
+            waiting++;
+            try {
+                long remaining = timeout.toNanos();
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                admit();
+                return true;
+            } finally {
+                waiting--;
+                // A waiter that gave up may have been the one signalled for a free slot
+                if (inFlight < limit && waiting > 0) {
+                    released.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the limit for one period in which connections took poolWait on average to acquire.
+     */
+    public void adjust(Duration poolWait, Duration targetWait) {
+        lock.lock();
+        try {
+            if (poolWait.compareTo(targetWait) > 0) {
+                limit = Math.max(minLimit, Math.min(limit - 1, (int) (limit * 0.9)));
+            } else if (peakInFlight >= limit && limit < maxLimit) {
+                limit++;
+                released.signal();
+            }
+            peakInFlight = inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit() {
+        inFlight++;
+        peakInFlight = Math.max(peakInFlight, inFlight);
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueLength() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.LeaveManagementSystem.admission;
+
+import java.util.Set;
+
+/**
+ * Cost class of an API request, each with its own token bucket per client: single-resource reads,
+ * lists (pages, exports, batched lookups, aggregates) and writes.
+ */
+public enum EndpointClass {
+    READ,
+    LIST,
+    WRITE;
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final Set<String> LIST_PATHS = Set.of("/api/employees", "/api/employees/leave-balances",
+            "/api/leave-requests");
+    private static final Set<String> LIST_PREFIXES = Set.of("/api/analytics/", "/api/departments/");
+
+    public static EndpointClass of(String method, String path) {
+        if (!SAFE_METHODS.contains(method)) {
+            return WRITE;
+        }
+        if (LIST_PATHS.contains(path) || path.endsWith("/export")) {
+            return LIST;
+        }
+        for (String prefix : LIST_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return LIST;
+            }
+        }
+        return READ;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
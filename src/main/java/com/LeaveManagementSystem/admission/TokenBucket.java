@@ -0,0 +1,32 @@
+package com.LeaveManagementSystem.admission;
+
+/**
+ * Refills at a steady rate up to burst tokens; each admitted request takes one.
+ */
+class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double tokensPerSecond, int burst, long now) {
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.capacity = burst;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes a token and returns 0, or returns the nanoseconds until the next token without taking one.
+     */
+    synchronized long tryTake(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
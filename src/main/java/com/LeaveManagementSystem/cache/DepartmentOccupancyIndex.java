@@ -0,0 +1,380 @@
+package com.LeaveManagementSystem.cache;
+
+import com.LeaveManagementSystem.calendar.WorkingDayCalendar;
+import com.LeaveManagementSystem.config.PrimaryReads;
+import com.LeaveManagementSystem.dto.DayAvailabilityDTO;
+import com.LeaveManagementSystem.dto.DepartmentAvailabilityDTO;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.DepartmentLeave;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.service.CalendarService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Day-bucketed occupancy per department: for each working day, a bitmap of the employees on
+ * approved leave and one of those with a pending request. Reads and the minimum-staffing check
+ * touch one bucket per day in the range, however much history leave_requests holds.
+ * A department is loaded on first use, with the requests that end on or after the archive cutoff
+ * (January 1st, lms.archive.retain-years years ago); days before that window are read from the database.
+ * Callers record a change before writing it, so that load only sees committed rows; additions are
+ * undone on rollback and removals wait for the commit.
+ * Approvals made by other instances sharing the database are not in the index. With
+ * lms.staffing.occupancy-index.enabled=false the staffing check locks the department's employee rows and
+ * counts headcount and approved absences in the database instead, which holds across instances.
+ */
+@Component
+public class DepartmentOccupancyIndex {
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Value("${lms.staffing.occupancy-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lms.archive.retain-years:1}")
+    private int retainYears;
+
+    private final ConcurrentMap<String, DepartmentOccupancy> departments = new ConcurrentHashMap<>();
+
+    public void recordApplied(Employee employee, LeaveRequest leaveRequest) {
+        DepartmentOccupancy occupancy = load(employee.getDepartment());
+        WorkingDayCalendar calendar = calendarService.getCalendar(employee.getDepartment());
+        List<LocalDate> marked = occupancy.mark(occupancy.pending, employee.getId(),
+                leaveRequest.getStartDate(), leaveRequest.getEndDate(), true, calendar);
+        TransactionHooks.onRollback(() -> occupancy.restore(occupancy.pending, employee.getId(), marked, false));
+    }
+
+    public void recordRejected(Employee employee, LeaveRequest leaveRequest) {
+        WorkingDayCalendar calendar = calendarService.getCalendar(employee.getDepartment());
+        TransactionHooks.afterCommit(() -> {
+            DepartmentOccupancy occupancy = departments.get(employee.getDepartment());
+            if (occupancy != null) {
+                occupancy.mark(occupancy.pending, employee.getId(),
+                        leaveRequest.getStartDate(), leaveRequest.getEndDate(), false, calendar);
+            }
+        });
+    }
+
+    /**
+     * Marks the request approved unless that would leave fewer than minPresent employees of the
+     * department at work on one of its working days. Returns the first such day, or null once the
+     * approval has been recorded. Check and update happen under one lock per department.
+     */
+    public LocalDate tryApprove(Employee employee, LeaveRequest leaveRequest, int minPresent) {
+        DepartmentOccupancy occupancy = load(employee.getDepartment());
+        WorkingDayCalendar calendar = calendarService.getCalendar(employee.getDepartment());
+        // Row locks come before the index lock, which a rolled-back approval needs to undo its marks.
+        // The index cannot vouch for days before its window either.
+        boolean indexed = enabled && !leaveRequest.getStartDate().isBefore(occupancy.windowStart());
+        CommittedStaffing committed = indexed || minPresent <= 0 ? null
+                : readCommittedStaffing(employee.getDepartment(), leaveRequest, calendar);
+        synchronized (occupancy) {
+            LocalDate understaffed = committed == null
+                    ? occupancy.firstUnderstaffedDay(employee.getId(), leaveRequest.getStartDate(),
+                            leaveRequest.getEndDate(), minPresent, calendar)
+                    : occupancy.firstUnderstaffedDay(employee.getId(), leaveRequest.getStartDate(),
+                            leaveRequest.getEndDate(), minPresent, calendar, committed);
+            if (understaffed != null) {
+                return understaffed;
+            }
+            List<LocalDate> absent = occupancy.mark(occupancy.absent, employee.getId(),
+                    leaveRequest.getStartDate(), leaveRequest.getEndDate(), true, calendar);
+            List<LocalDate> noLongerPending = occupancy.mark(occupancy.pending, employee.getId(),
+                    leaveRequest.getStartDate(), leaveRequest.getEndDate(), false, calendar);
+            TransactionHooks.onRollback(() -> {
+                occupancy.restore(occupancy.absent, employee.getId(), absent, false);
+                occupancy.restore(occupancy.pending, employee.getId(), noLongerPending, true);
+            });
+            return null;
+        }
+    }
+
+    public void recordEmployeeAdded(String department) {
+        recordEmployeesAdded(department, 1);
+    }
+
+    public void recordEmployeesAdded(String department, int count) {
+        TransactionHooks.afterCommit(() -> {
+            DepartmentOccupancy occupancy = departments.get(department);
+            if (occupancy != null) {
+                occupancy.addEmployees(count);
+            }
+        });
+    }
+
+    /**
+     * Per-day absences for [from, to], or empty if the department has no employees.
+     */
+    public Optional<DepartmentAvailabilityDTO> getAvailability(String department, LocalDate from, LocalDate to,
+                                                               int minPresent) {
+        DepartmentOccupancy occupancy = load(department);
+        if (occupancy.isEmpty()) {
+            // Don't keep an entry for every department name someone asks about
+            departments.remove(department, occupancy);
+            return Optional.empty();
+        }
+        WorkingDayCalendar calendar = calendarService.getCalendar(department);
+        LocalDate windowStart = occupancy.windowStart();
+        Map<LocalDate, Set<Long>> before = Map.of();
+        if (from.isBefore(windowStart)) {
+            LocalDate end = to.isBefore(windowStart) ? to : windowStart.minusDays(1);
+            before = readApprovedAbsences(department, from, end, calendar);
+        }
+        return Optional.of(occupancy.availability(department, from, to, minPresent, calendar, windowStart, before));
+    }
+
+    /**
+     * Moves the window of every loaded department up to the cutoff once the archiver has moved the
+     * requests before it out of leave_requests. Days before it are then read from the database, as
+     * after a restart.
+     */
+    public void forgetAbsencesBefore(LocalDate cutoff) {
+        departments.values().forEach(occupancy -> occupancy.startWindowAt(cutoff));
+    }
+
+    /**
+     * Drops every department so it is reloaded from the database on next use.
+     */
+    public void rebuild() {
+        departments.clear();
+    }
+
+    // Locks the department until commit, so the next approval for it on any instance sees this one
+    private CommittedStaffing readCommittedStaffing(String department, LeaveRequest leaveRequest,
+                                                    WorkingDayCalendar calendar) {
+        long headcount = employeeRepository.lockByDepartment(department).size();
+        return new CommittedStaffing(headcount, readApprovedAbsences(department, leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(), calendar));
+    }
+
+    // Employees on approved leave per working day of [startDate, endDate]
+    private Map<LocalDate, Set<Long>> readApprovedAbsences(String department, LocalDate startDate,
+                                                           LocalDate endDate, WorkingDayCalendar calendar) {
+        Map<LocalDate, Set<Long>> absent = new HashMap<>();
+        for (DepartmentLeave leave : leaveRequestRepository.findApprovedLeavesInDepartment(department,
+                startDate, endDate)) {
+            LocalDate from = leave.startDate().isBefore(startDate) ? startDate : leave.startDate();
+            LocalDate to = leave.endDate().isAfter(endDate) ? endDate : leave.endDate();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (calendar.isWorkingDay(date)) {
+                    absent.computeIfAbsent(date, day -> new HashSet<>()).add(leave.employeeId());
+                }
+            }
+        }
+        return absent;
+    }
+
+    record CommittedStaffing(long headcount, Map<LocalDate, Set<Long>> absent) {
+    }
+
+    private DepartmentOccupancy load(String department) {
+        DepartmentOccupancy occupancy = departments.computeIfAbsent(department, name -> new DepartmentOccupancy());
+        synchronized (occupancy) {
+            if (!occupancy.loaded) {
+                occupancy.headcount = PrimaryReads.call(() -> employeeRepository.countByDepartment(department));
+                WorkingDayCalendar calendar = calendarService.getCalendar(department);
+                LocalDate windowStart = LocalDate.now().withDayOfYear(1).minusYears(retainYears);
+                occupancy.startWindowAt(windowStart);
+                List<DepartmentLeave> leaves = PrimaryReads.call(
+                        () -> leaveRequestRepository.findActiveLeavesInDepartment(department, windowStart));
+                for (DepartmentLeave leave : leaves) {
+                    occupancy.mark(leave.status() == LeaveStatus.APPROVED ? occupancy.absent : occupancy.pending,
+                            leave.employeeId(), leave.startDate(), leave.endDate(), true, calendar);
+                }
+                occupancy.loaded = true;
+            }
+        }
+        return occupancy;
+    }
+
+    /**
+     * One department's buckets. Employees get a dense slot on first appearance, so a day's
+     * bitmap is headcount bits wide; days without anyone away have no bucket at all.
+     */
+    static final class DepartmentOccupancy {
+
+        private final Map<Long, Integer> slotByEmployee = new HashMap<>();
+        private final List<Long> employeeBySlot = new ArrayList<>();
+        final NavigableMap<LocalDate, BitSet> absent = new TreeMap<>();
+        final NavigableMap<LocalDate, BitSet> pending = new TreeMap<>();
+        private long headcount;
+        private boolean loaded;
+        // First day the buckets cover
+        private LocalDate windowStart = LocalDate.MIN;
+
+        // Sets or clears the employee's bit on every working day of the range in the window; returns the
+        // days that changed
+        synchronized List<LocalDate> mark(NavigableMap<LocalDate, BitSet> buckets, Long employeeId,
+                                          LocalDate startDate, LocalDate endDate, boolean value,
+                                          WorkingDayCalendar calendar) {
+            List<LocalDate> changed = new ArrayList<>();
+            int slot = slot(employeeId);
+            LocalDate from = startDate.isBefore(windowStart) ? windowStart : startDate;
+            for (LocalDate date = from; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (calendar.isWorkingDay(date) && set(buckets, date, slot, value)) {
+                    changed.add(date);
+                }
+            }
+            return changed;
+        }
+
+        synchronized void restore(NavigableMap<LocalDate, BitSet> buckets, Long employeeId, List<LocalDate> dates,
+                                  boolean value) {
+            int slot = slot(employeeId);
+            for (LocalDate date : dates) {
+                set(buckets, date, slot, value);
+            }
+        }
+
+        synchronized LocalDate firstUnderstaffedDay(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                                    int minPresent, WorkingDayCalendar calendar) {
+            if (minPresent <= 0) {
+                return null;
+            }
+            int slot = slot(employeeId);
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (!calendar.isWorkingDay(date)) {
+                    continue;
+                }
+                BitSet away = absent.get(date);
+                int awayCount = away == null ? 0 : away.cardinality();
+                if (away == null || !away.get(slot)) {
+                    awayCount++;
+                }
+                if (headcount - awayCount < minPresent) {
+                    return date;
+                }
+            }
+            return null;
+        }
+
+        // Same check against the database's headcount and absences. Absences only marked here so far,
+        // such as earlier approvals of the same batch, still count.
+        synchronized LocalDate firstUnderstaffedDay(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                                    int minPresent, WorkingDayCalendar calendar,
+                                                    CommittedStaffing committed) {
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (!calendar.isWorkingDay(date)) {
+                    continue;
+                }
+                Set<Long> away = new HashSet<>(employeeIds(absent.get(date)));
+                away.addAll(committed.absent().getOrDefault(date, Set.of()));
+                away.add(employeeId);
+                if (committed.headcount() - away.size() < minPresent) {
+                    return date;
+                }
+            }
+            return null;
+        }
+
+        synchronized LocalDate windowStart() {
+            return windowStart;
+        }
+
+        synchronized void startWindowAt(LocalDate date) {
+            if (date.isAfter(windowStart)) {
+                windowStart = date;
+                absent.headMap(date).clear();
+                pending.headMap(date).clear();
+            }
+        }
+
+        synchronized void addEmployees(int count) {
+            headcount += count;
+        }
+
+        synchronized boolean isEmpty() {
+            return headcount == 0;
+        }
+
+        // Days before windowStart take their absences from before and list no pending requests
+        synchronized DepartmentAvailabilityDTO availability(String department, LocalDate from, LocalDate to,
+                                                            int minPresent, WorkingDayCalendar calendar,
+                                                            LocalDate windowStart,
+                                                            Map<LocalDate, Set<Long>> before) {
+            List<DayAvailabilityDTO> days = new ArrayList<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                DayAvailabilityDTO day = new DayAvailabilityDTO(date, calendar.isWorkingDay(date));
+                if (day.isWorkingDay()) {
+                    if (date.isBefore(windowStart)) {
+                        day.setAbsentEmployeeIds(new ArrayList<>(new TreeSet<>(before.getOrDefault(date, Set.of()))));
+                    } else {
+                        day.setAbsentEmployeeIds(employeeIds(absent.get(date)));
+                        day.setPendingEmployeeIds(employeeIds(pending.get(date)));
+                    }
+                    day.setAbsentCount(day.getAbsentEmployeeIds().size());
+                    day.setPresentCount(headcount - day.getAbsentCount());
+                    day.setBelowMinimum(day.getPresentCount() < minPresent);
+                }
+                days.add(day);
+            }
+            return new DepartmentAvailabilityDTO(department, from, to, headcount, minPresent, days);
+        }
+
+        private List<Long> employeeIds(BitSet slots) {
+            List<Long> ids = new ArrayList<>();
+            if (slots != null) {
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    ids.add(employeeBySlot.get(slot));
+                }
+            }
+            return ids;
+        }
+
+        private int slot(Long employeeId) {
+            return slotByEmployee.computeIfAbsent(employeeId, id -> {
+                employeeBySlot.add(id);
+                return employeeBySlot.size() - 1;
+            });
+        }
+
+        private static boolean set(NavigableMap<LocalDate, BitSet> buckets, LocalDate date, int slot, boolean value) {
+            BitSet bucket = buckets.get(date);
+            if (value) {
+                if (bucket == null) {
+                    bucket = new BitSet();
+                    buckets.put(date, bucket);
+                } else if (bucket.get(slot)) {
+                    return false;
+                }
+                bucket.set(slot);
+                return true;
+            }
+            if (bucket == null || !bucket.get(slot)) {
+                return false;
+            }
+            bucket.clear(slot);
+            if (bucket.isEmpty()) {
+                buckets.remove(date);
+            }
+            return true;
+        }
+    }
+}
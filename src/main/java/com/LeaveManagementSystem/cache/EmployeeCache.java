@@ -0,0 +1,116 @@
+package com.LeaveManagementSystem.cache;
+
+import com.LeaveManagementSystem.config.PrimaryReads;
+import com.LeaveManagementSystem.dto.CacheStatsDTO;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, TTL-evicting read-through cache in front of EmployeeRepository.
+ * Only found employees are cached, so a missing id or email always goes to the database.
+ * Returned instances are shared and must be treated as read-only; writers call evict().
+ * Loads read the primary, so a lagging replica never puts an outdated employee in the cache.
+ */
+@Component
+public class EmployeeCache {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Value("${lms.cache.employee.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${lms.cache.employee.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<Long, Employee> employeesById;
+    private Cache<String, Long> idsByEmail;
+
+    @PostConstruct
+    void init() {
+        employeesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        idsByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Employee> findById(Long id) {
+        return Optional.ofNullable(employeesById.get(id,
+                key -> PrimaryReads.call(() -> employeeRepository.findById(key).orElse(null))));
+    }
+
+    public Map<Long, Employee> findAllById(Collection<Long> ids) {
+        return employeesById.getAll(ids, missing -> PrimaryReads.call(() ->
+                employeeRepository.findAllById(new ArrayList<Long>(missing))
+                        .stream()
+                        .collect(Collectors.toMap(Employee::getId, Function.identity()))));
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        Long id = idsByEmail.get(normalizeEmail(email), key -> PrimaryReads.call(() ->
+                employeeRepository.findByEmail(key)
+                        .map(employee -> {
+                            employeesById.put(employee.getId(), employee);
+                            return employee.getId();
+                        })
+                        .orElse(null)));
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    public void evict(Employee employee) {
+        employeesById.invalidate(employee.getId());
+        idsByEmail.invalidate(normalizeEmail(employee.getEmail()));
+    }
+
+    public void evict(Long employeeId) {
+        Employee cached = employeesById.getIfPresent(employeeId);
+        if (cached != null) {
+            evict(cached);
+        }
+    }
+
+    public void evictAll() {
+        employeesById.invalidateAll();
+        idsByEmail.invalidateAll();
+    }
+
+    public CacheStatsDTO getStats() {
+        CacheStats byId = employeesById.stats();
+        CacheStats byEmail = idsByEmail.stats();
+        return new CacheStatsDTO(
+                employeesById.estimatedSize() + idsByEmail.estimatedSize(),
+                byId.hitCount() + byEmail.hitCount(),
+                byId.missCount() + byEmail.missCount(),
+                byId.evictionCount() + byEmail.evictionCount());
+    }
+
+    private String normalizeEmail(String email) {
+        return email.toLowerCase().trim();
+    }
+}
@@ -0,0 +1,53 @@
+package com.LeaveManagementSystem.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory change counter per employee, bumped after every committed change to the employee, their
+ * leave requests or their ledger rows. ETags of the per-employee resources are built from it, so a
+ * conditional GET is answered without a query. The epoch changes on restart and on invalidateAll(),
+ * which makes every ETag handed out before it stale.
+ * Writes on other instances are not seen; turn it off when several instances share the database.
+ */
+@Component
+public class EmployeeVersions {
+
+    @Value("${lms.http.etag.enabled:true}")
+    private boolean enabled;
+
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private volatile String epoch = newEpoch();
+
+    public void recordChange(Long employeeId) {
+        TransactionHooks.afterCommit(() -> versions.merge(employeeId, 1L, Long::sum));
+    }
+
+    public void recordChanges(Collection<Long> employeeIds) {
+        TransactionHooks.afterCommit(() -> employeeIds.forEach(id -> versions.merge(id, 1L, Long::sum)));
+    }
+
+    /**
+     * Strong ETag for one representation of the employee's data, or null when ETags are off.
+     * Read it before loading the data it describes, so the data is never older than the tag.
+     */
+    public String etag(String resource, Long employeeId) {
+        if (!enabled) {
+            return null;
+        }
+        return "\"" + resource + "-" + employeeId + "-" + epoch + "-" + versions.getOrDefault(employeeId, 0L) + "\"";
+    }
+
+    public void invalidateAll() {
+        epoch = newEpoch();
+        versions.clear();
+    }
+
+    private static String newEpoch() {
+        return Long.toString(System.nanoTime(), 36);
+    }
+}
@@ -0,0 +1,134 @@
+package com.LeaveManagementSystem.cache;
+
+import com.LeaveManagementSystem.exception.IdempotencyConflictException;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting store of responses by Idempotency-Key. The first request with a key runs and
+ * its response is kept; a retry, or a duplicate arriving while the first still runs, gets that response
+ * without running again. A key is tied to one operation and body, and reusing it for another is refused.
+ * Failed requests are not kept: their duplicates in flight share the error, later retries run again.
+ * Entries live in this instance only, so retries have to reach the same instance to be recognised.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${lms.idempotency.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${lms.idempotency.ttl:1h}")
+    private Duration ttl;
+
+    @Value("${lms.idempotency.in-flight-wait:30s}")
+    private Duration inFlightWait;
+
+    private Cache<String, Entry> entries;
+    private Counter replayed;
+
+    private record Entry(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        replayed = Counter.builder("lms.idempotency.replayed")
+                .description("Requests answered with the response stored for their Idempotency-Key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs action once per key; without a key it just runs it. operation and request identify what the
+     * key was first used for.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidLeaveRequestException(HEADER + " can be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        Entry mine = new Entry(fingerprint(operation, request), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, mine);
+        if (existing == null) {
+            try {
+                ResponseEntity<T> response = action.get();
+                mine.response().complete(response);
+                return response;
+            } catch (RuntimeException | Error e) {
+                entries.asMap().remove(key, mine);
+                mine.response().completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        if (!existing.fingerprint().equals(mine.fingerprint())) {
+            throw new IdempotencyConflictException(HEADER + " " + key + " was already used for a different request");
+        }
+        ResponseEntity<T> response;
+        try {
+            response = (ResponseEntity<T>) existing.response().get(inFlightWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("The request with " + HEADER + " " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("The request with " + HEADER + " " + key + " is still in progress");
+        }
+        replayed.increment();
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return operation + ':' + HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint the request", e);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.LeaveManagementSystem.cache;
+
+import com.LeaveManagementSystem.config.PrimaryReads;
+import com.LeaveManagementSystem.dto.IntervalIndexStatsDTO;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveInterval;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of PENDING and APPROVED date ranges per employee, answering overlap checks
+ * in O(log n) without a database round-trip. An employee's ranges are loaded on first use.
+ * Additions are visible immediately and undone if their transaction rolls back; removals are
+ * applied after commit, so a range is never free before the change that frees it is durable.
+ * Approvals made by other instances sharing the database are not in the index, so approvals confirm
+ * against the database with findApprovedOverlaps. With lms.leave.overlap-index.enabled=false every
+ * check goes to the database instead, and new requests are confirmed there under the employee's row lock.
+ */
+@Component
+public class LeaveIntervalIndex {
+
+    private static final Set<LeaveStatus> INDEXED_STATUSES = Set.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Value("${lms.leave.overlap-index.enabled:true}")
+    private boolean enabled;
+
+    private final ConcurrentMap<Long, EmployeeIntervals> intervalsByEmployee = new ConcurrentHashMap<>();
+
+    /**
+     * True if a range in one of the given statuses, other than the excluded request, overlaps
+     * [startDate, endDate]. Callers check before writing, so the first check for an employee
+     * loads their committed ranges before this transaction adds any of its own.
+     */
+    public boolean overlaps(Long employeeId, LocalDate startDate, LocalDate endDate,
+                            Set<LeaveStatus> statuses, Long excludedId) {
+        if (!enabled) {
+            // The excluded request is still PENDING, so it can only match a check that includes PENDING,
+            // which callers only make before the request is inserted
+            return leaveRequestRepository.existsOverlapping(employeeId, statuses, startDate, endDate);
+        }
+        return load(employeeId).overlaps(startDate, endDate, statuses, excludedId);
+    }
+
+    /**
+     * The given requests, being approved in the current transaction, that overlap an APPROVED request
+     * in the database, such as one approved on another instance. Callers hold the ledger rows of these
+     * employees, so under READ COMMITTED this sees every approval committed before theirs. Employees
+     * with a hit have their ranges reloaded on next use.
+     */
+    public Set<Long> findApprovedOverlaps(Collection<LeaveRequest> leaveRequests) {
+        Map<Long, Long> employeeIdsByRequest = new HashMap<>();
+        leaveRequests.forEach(leaveRequest -> employeeIdsByRequest.put(leaveRequest.getId(),
+                leaveRequest.getEmployeeId()));
+        if (employeeIdsByRequest.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> overlapping = Set.copyOf(leaveRequestRepository.findOverlappingApproved(employeeIdsByRequest.keySet()));
+        overlapping.forEach(id -> intervalsByEmployee.remove(employeeIdsByRequest.get(id)));
+        return overlapping;
+    }
+
+    /**
+     * Records that the request is about to move to the given status in the current transaction.
+     */
+    public void record(LeaveRequest leaveRequest, LeaveStatus status) {
+        if (!enabled) {
+            return;
+        }
+        Interval interval = new Interval(leaveRequest.getId(), leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(), status);
+        if (!INDEXED_STATUSES.contains(status)) {
+            // Looked up at commit time: ranges loaded before then still contain this request
+            TransactionHooks.afterCommit(() -> {
+                EmployeeIntervals intervals = intervalsByEmployee.get(leaveRequest.getEmployeeId());
+                if (intervals != null) {
+                    intervals.remove(interval.id());
+                }
+            });
+            return;
+        }
+        EmployeeIntervals intervals = load(leaveRequest.getEmployeeId());
+        Interval previous = intervals.put(interval);
+        TransactionHooks.onRollback(() -> {
+            if (previous == null) {
+                intervals.remove(interval.id());
+            } else {
+                intervals.put(previous);
+            }
+        });
+    }
+
+    /**
+     * Records new PENDING requests, each unless it overlaps a PENDING or APPROVED range of the same
+     * employee. The check and the addition happen under one lock per employee, so of two concurrent
+     * overlapping applications only one is recorded; the earlier overlaps() check alone cannot tell.
+     * Returns the ids of the requests that were not recorded. With the index disabled, as when several
+     * instances share the database, the employees' rows are locked instead and the requests, already
+     * saved in this transaction, are checked against every other request in the database.
+     */
+    public Set<Long> reserveAll(Collection<LeaveRequest> leaveRequests) {
+        if (!enabled) {
+            return findActiveOverlaps(leaveRequests);
+        }
+        Set<Long> overlapping = new HashSet<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            Interval interval = new Interval(leaveRequest.getId(), leaveRequest.getStartDate(),
+                    leaveRequest.getEndDate(), LeaveStatus.PENDING);
+            EmployeeIntervals intervals = load(leaveRequest.getEmployeeId());
+            if (!intervals.putIfFree(interval, INDEXED_STATUSES)) {
+                overlapping.add(interval.id());
+                continue;
+            }
+            TransactionHooks.onRollback(() -> intervals.remove(interval.id()));
+        }
+        return overlapping;
+    }
+
+    // Under the employee row locks, READ COMMITTED sees every request committed by an earlier holder
+    private Set<Long> findActiveOverlaps(Collection<LeaveRequest> leaveRequests) {
+        if (leaveRequests.isEmpty()) {
+            return Set.of();
+        }
+        employeeRepository.lockAllById(leaveRequests.stream().map(LeaveRequest::getEmployeeId)
+                .collect(Collectors.toSet()));
+        return Set.copyOf(leaveRequestRepository.findOverlappingActive(leaveRequests.stream()
+                .map(LeaveRequest::getId).collect(Collectors.toList())));
+    }
+
+    public void recordAll(Collection<LeaveRequest> leaveRequests, LeaveStatus status) {
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            record(leaveRequest, status);
+        }
+    }
+
+    /**
+     * Drops approved ranges that ended before the cutoff, once the archiver has committed their move out
+     * of leave_requests. Loads from then on no longer return them either.
+     */
+    public void forgetApprovedBefore(LocalDate cutoff) {
+        intervalsByEmployee.values().forEach(intervals -> intervals.removeApprovedBefore(cutoff));
+    }
+
+    /**
+     * Drops every employee's ranges so they are reloaded from the database on next use.
+     * Ranges written by transactions still in flight are picked up by the following rebuild.
+     */
+    public IntervalIndexStatsDTO rebuild() {
+        intervalsByEmployee.clear();
+        return getStats();
+    }
+
+    public IntervalIndexStatsDTO getStats() {
+        long intervals = intervalsByEmployee.values().stream().mapToLong(EmployeeIntervals::size).sum();
+        return new IntervalIndexStatsDTO(enabled, intervalsByEmployee.size(), intervals);
+    }
+
+    private EmployeeIntervals load(Long employeeId) {
+        EmployeeIntervals intervals = intervalsByEmployee.computeIfAbsent(employeeId, id -> new EmployeeIntervals());
+        intervals.loadIfNeeded(() -> PrimaryReads.call(() -> leaveRequestRepository.findActiveIntervals(employeeId)));
+        return intervals;
+    }
+
+    record Interval(Long id, LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+    }
+
+    /**
+     * One employee's ranges ordered by start date. Ranges created through the API never overlap,
+     * but older data may, so a lookup scans back from the query end by the longest range seen
+     * rather than assuming the closest preceding range is the only candidate.
+     */
+    static final class EmployeeIntervals {
+
+        private static final Comparator<Interval> BY_START =
+                Comparator.comparing(Interval::startDate).thenComparing(Interval::id);
+
+        private final NavigableSet<Interval> byStart = new TreeSet<>(BY_START);
+        private final Map<Long, Interval> byId = new HashMap<>();
+        private long longestSpanDays;
+        private boolean loaded;
+
+        synchronized void loadIfNeeded(Supplier<List<LeaveInterval>> loader) {
+            if (loaded) {
+                return;
+            }
+            for (LeaveInterval row : loader.get()) {
+                put(new Interval(row.id(), row.startDate(), row.endDate(), row.status()));
+            }
+            loaded = true;
+        }
+
+        synchronized boolean overlaps(LocalDate startDate, LocalDate endDate, Set<LeaveStatus> statuses,
+                                      Long excludedId) {
+            Interval from = new Interval(Long.MIN_VALUE, startDate.minusDays(longestSpanDays), null, null);
+            Interval to = new Interval(Long.MAX_VALUE, endDate, null, null);
+            for (Interval interval : byStart.subSet(from, true, to, true)) {
+                if (!interval.endDate().isBefore(startDate) && statuses.contains(interval.status())
+                        && !interval.id().equals(excludedId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // The interval's own id is skipped: a reload after its row was flushed already contains it
+        synchronized boolean putIfFree(Interval interval, Set<LeaveStatus> statuses) {
+            if (overlaps(interval.startDate(), interval.endDate(), statuses, interval.id())) {
+                return false;
+            }
+            put(interval);
+            return true;
+        }
+
+        synchronized Interval put(Interval interval) {
+            Interval previous = byId.put(interval.id(), interval);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(interval);
+            longestSpanDays = Math.max(longestSpanDays,
+                    ChronoUnit.DAYS.between(interval.startDate(), interval.endDate()));
+            return previous;
+        }
+
+        synchronized void remove(Long id) {
+            Interval removed = byId.remove(id);
+            if (removed != null) {
+                byStart.remove(removed);
+            }
+        }
+
+        synchronized void removeApprovedBefore(LocalDate cutoff) {
+            // Ranges ending before the cutoff also start before it
+            Interval to = new Interval(Long.MAX_VALUE, cutoff, null, null);
+            for (Iterator<Interval> it = byStart.headSet(to, false).iterator(); it.hasNext(); ) {
+                Interval interval = it.next();
+                if (interval.status() == LeaveStatus.APPROVED && interval.endDate().isBefore(cutoff)) {
+                    it.remove();
+                    byId.remove(interval.id());
+                }
+            }
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.LeaveManagementSystem.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Immutable working-day calendar: weekend days plus holidays that either recur every year or
+ * fall on a single date. Each year is compiled once into a bitset of working days and a prefix
+ * sum of them, so isWorkingDay and countWorkingDays are O(1) and allocate nothing.
+ */
+public final class WorkingDayCalendar {
+
+    // Years in this window are compiled once and kept; anything outside is compiled per call
+    private static final int FIRST_CACHED_YEAR = 1900;
+    private static final int LAST_CACHED_YEAR = 2199;
+
+    private final String name;
+    private final Set<DayOfWeek> weekend;
+    private final Set<MonthDay> annualHolidays;
+    private final Set<LocalDate> holidays;
+    private final YearTable[] years = new YearTable[LAST_CACHED_YEAR - FIRST_CACHED_YEAR + 1];
+
+    public WorkingDayCalendar(String name, Collection<DayOfWeek> weekend, Collection<MonthDay> annualHolidays,
+                              Collection<LocalDate> holidays) {
+        if (weekend.size() >= DayOfWeek.values().length) {
+            throw new IllegalArgumentException("Calendar " + name + " has no working days in a week");
+        }
+        this.name = name;
+        this.weekend = weekend.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekend);
+        this.annualHolidays = Set.copyOf(annualHolidays);
+        this.holidays = Set.copyOf(holidays);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return year(date.getYear()).isWorkingDay(date.getDayOfYear());
+    }
+
+    /**
+     * Working days in [startDate, endDate], both inclusive; 0 when startDate is after endDate.
+     */
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return 0;
+        }
+        int startYear = startDate.getYear();
+        int endYear = endDate.getYear();
+        YearTable first = year(startYear);
+        if (startYear == endYear) {
+            return first.countThrough(endDate.getDayOfYear()) - first.countThrough(startDate.getDayOfYear() - 1);
+        }
+        int count = first.total() - first.countThrough(startDate.getDayOfYear() - 1);
+        for (int year = startYear + 1; year < endYear; year++) {
+            count += year(year).total();
+        }
+        return count + year(endYear).countThrough(endDate.getDayOfYear());
+    }
+
+    /**
+     * The first working day on or after the given date.
+     */
+    public LocalDate nextWorkingDay(LocalDate date) {
+        LocalDate candidate = date;
+        while (!isWorkingDay(candidate)) {
+            candidate = candidate.plusDays(1);
+        }
+        return candidate;
+    }
+
+    private YearTable year(int year) {
+        if (year < FIRST_CACHED_YEAR || year > LAST_CACHED_YEAR) {
+            return compile(year);
+        }
+        YearTable table = years[year - FIRST_CACHED_YEAR];
+        if (table == null) {
+            // Racing threads compile identical immutable tables, so either write may win
+            table = compile(year);
+            years[year - FIRST_CACHED_YEAR] = table;
+        }
+        return table;
+    }
+
+    private YearTable compile(int year) {
+        int length = Year.isLeap(year) ? 366 : 365;
+        long[] workingDays = new long[(length + 63) / 64];
+        short[] workingThrough = new short[length + 1];
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int day = 1; day <= length; day++, date = date.plusDays(1)) {
+            boolean working = !weekend.contains(date.getDayOfWeek())
+                    && !annualHolidays.contains(MonthDay.from(date))
+                    && !holidays.contains(date);
+            if (working) {
+                workingDays[(day - 1) >>> 6] |= 1L << ((day - 1) & 63);
+            }
+            workingThrough[day] = (short) (workingThrough[day - 1] + (working ? 1 : 0));
+        }
+        return new YearTable(workingDays, workingThrough);
+    }
+
+    private static final class YearTable {
+
+        // Bit (dayOfYear - 1) is set for a working day
+        private final long[] workingDays;
+        // workingThrough[d] is the number of working days among days 1..d of the year
+        private final short[] workingThrough;
+
+        YearTable(long[] workingDays, short[] workingThrough) {
+            this.workingDays = workingDays;
+            this.workingThrough = workingThrough;
+        }
+
+        boolean isWorkingDay(int dayOfYear) {
+            return (workingDays[(dayOfYear - 1) >>> 6] & (1L << ((dayOfYear - 1) & 63))) != 0;
+        }
+
+        int countThrough(int dayOfYear) {
+            return workingThrough[dayOfYear];
+        }
+
+        int total() {
+            return workingThrough[workingThrough.length - 1];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.LeaveManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request admission under lms.admission: a token bucket per client and endpoint class (rate per
+ * second, burst), then a concurrency limit between min-limit and max-limit that follows connection
+ * pool wait time, with up to max-queue requests waiting queue-timeout for a slot. A client is its remote
+ * address; client-header names it instead only on requests from one of the trusted-proxies.
+ */
+@Component
+@ConfigurationProperties(prefix = "lms.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private String clientHeader = "X-Client-Id";
+    private List<String> trustedProxies = new ArrayList<>();
+    private int maxClients = 10000;
+    private Bucket read = new Bucket(50, 100);
+    private Bucket list = new Bucket(5, 20);
+    private Bucket write = new Bucket(10, 20);
+    private Concurrency concurrency = new Concurrency();
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getClientHeader() { return clientHeader; }
+    public void setClientHeader(String clientHeader) { this.clientHeader = clientHeader; }
+
+    public List<String> getTrustedProxies() { return trustedProxies; }
+    public void setTrustedProxies(List<String> trustedProxies) { this.trustedProxies = trustedProxies; }
+
+    public int getMaxClients() { return maxClients; }
+    public void setMaxClients(int maxClients) { this.maxClients = maxClients; }
+
+    public Bucket getRead() { return read; }
+    public void setRead(Bucket read) { this.read = read; }
+
+    public Bucket getList() { return list; }
+    public void setList(Bucket list) { this.list = list; }
+
+    public Bucket getWrite() { return write; }
+    public void setWrite(Bucket write) { this.write = write; }
+
+    public Concurrency getConcurrency() { return concurrency; }
+    public void setConcurrency(Concurrency concurrency) { this.concurrency = concurrency; }
+
+    public static class Bucket {
+        private double rate;
+        private int burst;
+
+        public Bucket() {
+        }
+
+        public Bucket(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+
+        // Getters and Setters
+        public double getRate() { return rate; }
+        public void setRate(double rate) { this.rate = rate; }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+    }
+
+    public static class Concurrency {
+        private int minLimit = 4;
+        private int maxLimit = 64;
+        private int maxQueue = 200;
+        private Duration queueTimeout = Duration.ofSeconds(2);
+        private Duration targetWait = Duration.ofMillis(20);
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        // Getters and Setters
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        public int getMaxQueue() { return maxQueue; }
+        public void setMaxQueue(int maxQueue) { this.maxQueue = maxQueue; }
+
+        public Duration getQueueTimeout() { return queueTimeout; }
+        public void setQueueTimeout(Duration queueTimeout) { this.queueTimeout = queueTimeout; }
+
+        public Duration getTargetWait() { return targetWait; }
+        public void setTargetWait(Duration targetWait) { this.targetWait = targetWait; }
+
+        public Duration getRetryAfter() { return retryAfter; }
+        public void setRetryAfter(Duration retryAfter) { this.retryAfter = retryAfter; }
+    }
+}
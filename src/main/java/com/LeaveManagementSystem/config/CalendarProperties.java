@@ -0,0 +1,48 @@
+package com.LeaveManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Working-day calendars under lms.calendar. Holidays are written as MM-dd for a date that recurs
+ * every year or yyyy-MM-dd for a single date. A department inherits the company holidays and
+ * weekend, adds its own holidays and may replace the weekend.
+ */
+@Component
+@ConfigurationProperties(prefix = "lms.calendar")
+public class CalendarProperties {
+
+    private Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    private List<String> holidays = new ArrayList<>();
+    private Map<String, Department> departments = new HashMap<>();
+
+    // Getters and Setters
+    public Set<DayOfWeek> getWeekend() { return weekend; }
+    public void setWeekend(Set<DayOfWeek> weekend) { this.weekend = weekend; }
+
+    public List<String> getHolidays() { return holidays; }
+    public void setHolidays(List<String> holidays) { this.holidays = holidays; }
+
+    public Map<String, Department> getDepartments() { return departments; }
+    public void setDepartments(Map<String, Department> departments) { this.departments = departments; }
+
+    public static class Department {
+        private Set<DayOfWeek> weekend;
+        private List<String> holidays = new ArrayList<>();
+
+        // Getters and Setters
+        public Set<DayOfWeek> getWeekend() { return weekend; }
+        public void setWeekend(Set<DayOfWeek> weekend) { this.weekend = weekend; }
+
+        public List<String> getHolidays() { return holidays; }
+        public void setHolidays(List<String> holidays) { this.holidays = holidays; }
+    }
+}
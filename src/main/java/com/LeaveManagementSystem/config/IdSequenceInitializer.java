@@ -0,0 +1,76 @@
+package com.LeaveManagementSystem.config;
+
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveRequest;
+
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Moves table-backed id sequences past ids already present in their entity table, right after each
+ * Flyway migrate and before Hibernate hands out an id. Rows inserted while the table used IDENTITY ids,
+ * or with explicit ids like the dev sample data, would otherwise collide with generated ids.
+ */
+@Component
+public class IdSequenceInitializer implements Callback {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        Connection connection = context.getConnection();
+        try {
+            align(connection, "employees_seq", "employees", Employee.ID_ALLOCATION_SIZE);
+            // Archived requests keep their ids, so those must not be handed out again either
+            align(connection, "leave_requests_seq", "leave_requests", LeaveRequest.ID_ALLOCATION_SIZE);
+            align(connection, "leave_requests_seq", "leave_requests_archive", LeaveRequest.ID_ALLOCATION_SIZE);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not align id sequences", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "idSequenceInitializer";
+    }
+
+    private void align(Connection connection, String sequenceTable, String entityTable, int allocationSize)
+            throws SQLException {
+        long maxId;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT COALESCE(MAX(id), 0) FROM " + entityTable);
+             ResultSet result = select.executeQuery()) {
+            result.next();
+            maxId = result.getLong(1);
+        }
+        // Hibernate's pooled optimizer hands out (next_val - allocationSize, next_val]
+        long minimumNextValue = maxId + allocationSize + 1;
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE " + sequenceTable + " SET next_val = ? WHERE next_val < ?")) {
+            update.setLong(1, minimumNextValue);
+            update.setLong(2, minimumNextValue);
+            if (update.executeUpdate() > 0) {
+                log.info("Advanced {} to {} to clear existing {} ids", sequenceTable, minimumNextValue, entityTable);
+            }
+        }
+    }
+}
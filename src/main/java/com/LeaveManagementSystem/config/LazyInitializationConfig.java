@@ -0,0 +1,20 @@
+package com.LeaveManagementSystem.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the migrations eager under spring.main.lazy-initialization=true, so a failed or checksum-mismatched
+ * migration still stops the instance before Tomcat takes traffic. Beans with @Scheduled methods are kept
+ * eager by Spring Boot itself.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerMigrations() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class);
+    }
+}
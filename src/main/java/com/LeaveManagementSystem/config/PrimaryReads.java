@@ -0,0 +1,51 @@
+package com.LeaveManagementSystem.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks work on the current thread whose reads must see the primary even inside a read-only
+ * transaction: loads into long-lived caches and indexes, the outbox dispatcher, and requests from a
+ * client that has just written. Has no effect unless a read replica is configured.
+ * Routing is decided when a transaction first touches the database, so the scope has to be entered
+ * before that; inside a transaction that already read from the replica it changes nothing.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        enter();
+        try {
+            return work.get();
+        } finally {
+            exit();
+        }
+    }
+
+    public static void run(Runnable work) {
+        enter();
+        try {
+            work.run();
+        } finally {
+            exit();
+        }
+    }
+
+    public static boolean isActive() {
+        return DEPTH.get()[0] > 0;
+    }
+
+    static void enter() {
+        DEPTH.get()[0]++;
+    }
+
+    static void exit() {
+        int[] depth = DEPTH.get();
+        if (--depth[0] == 0) {
+            DEPTH.remove();
+        }
+    }
+}
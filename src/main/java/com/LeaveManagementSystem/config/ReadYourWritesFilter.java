@@ -0,0 +1,74 @@
+package com.LeaveManagementSystem.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a client on the primary right after it writes, so it never reads its own change back from a
+ * replica that has not caught up. A write request hands out a cookie valid for
+ * lms.datasource.replica.read-your-writes, which should exceed the usual replication lag; requests
+ * carrying it run in PrimaryReads.
+ */
+@Component
+@ConditionalOnProperty("lms.datasource.replica.url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "lms-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Value("${lms.datasource.replica.read-your-writes:5s}")
+    private Duration window;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (!write && !recentlyWrote(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (write) {
+            // Added up front, before the body commits the response; a failed write just costs a few primary reads
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(window.toSeconds(), 1));
+            response.addCookie(cookie);
+        }
+        PrimaryReads.enter();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryReads.exit();
+        }
+    }
+
+    private static boolean recentlyWrote(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package com.LeaveManagementSystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Records how many rows each LeaveRequestRepository method returned (or changed, for @Modifying queries)
+ * as {@code lms.repository.rows}. Timings per method are Actuator's {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+public class RepositoryRowCountAspect {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("this(com.LeaveManagementSystem.repository.LeaveRequestRepository)")
+    public Object countRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        DistributionSummary rows = DistributionSummary.builder("lms.repository.rows")
+                .description("Rows returned or modified per repository call")
+                .tag("repository", "LeaveRequestRepository")
+                .tag("method", signature.getName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        if (result instanceof Stream<?> stream) {
+            // Streamed results are counted as they are consumed and recorded when the stream closes
+            AtomicLong consumed = new AtomicLong();
+            return stream.peek(row -> consumed.incrementAndGet())
+                    .onClose(() -> rows.record(consumed.get()));
+        }
+        rows.record(rowCount(result, signature.getMethod().isAnnotationPresent(Modifying.class)));
+        return result;
+    }
+
+    private long rowCount(Object result, boolean modifying) {
+        if (result == null) {
+            return 0;
+        }
+        if (modifying && result instanceof Number affectedRows) {
+            return affectedRows.longValue();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        // A single entity or aggregate value
+        return 1;
+    }
+}
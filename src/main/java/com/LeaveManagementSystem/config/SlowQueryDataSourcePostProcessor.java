@@ -0,0 +1,39 @@
+package com.LeaveManagementSystem.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application's DataSource so every statement passes through SlowQueryListener.
+ * With a read replica, the primary and replica pools are wrapped and the routing DataSource in front
+ * of them is not, so each statement is logged once under the name of the pool that ran it.
+ */
+@Component
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Value("${lms.slow-query-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lms.slow-query-log.threshold:200ms}")
+    private Duration threshold;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                || bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new SlowQueryListener(threshold))
+                .build();
+    }
+}
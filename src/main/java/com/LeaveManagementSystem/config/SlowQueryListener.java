@@ -0,0 +1,77 @@
+package com.LeaveManagementSystem.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements that took longer than the threshold, with their bind parameters and the first
+ * application frame that issued them. Everything else costs one comparison per statement.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    static final String LOGGER_NAME = "lms.slow-query";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final String APPLICATION_PACKAGE = "com.LeaveManagementSystem.";
+    private static final int MAX_LOGGED_BATCH_ENTRIES = 10;
+
+    private final long thresholdMillis;
+
+    public SlowQueryListener(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+        log.warn("Slow query took {} ms (threshold {} ms) at {}: {}", execInfo.getElapsedTime(), thresholdMillis,
+                callSite(), queryInfoList.stream().map(this::describe).collect(Collectors.joining("; ")));
+    }
+
+    private String describe(QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+        if (parameters.isEmpty()) {
+            return queryInfo.getQuery();
+        }
+        String bound = parameters.stream()
+                .limit(MAX_LOGGED_BATCH_ENTRIES)
+                .map(this::describeParameters)
+                .collect(Collectors.joining(", "));
+        if (parameters.size() > MAX_LOGGED_BATCH_ENTRIES) {
+            bound += ", ... " + (parameters.size() - MAX_LOGGED_BATCH_ENTRIES) + " more";
+        }
+        return queryInfo.getQuery() + " " + bound;
+    }
+
+    private String describeParameters(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .map(operation -> operation.getArgs()[0] + "=" +
+                        (ParameterSetOperation.isSetNullParameterOperation(operation) ? "null" : operation.getArgs()[1]))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().equals(SlowQueryListener.class.getName())
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() +
+                        "(" + frame.getFileName() + ":" + frame.getLineNumber() + ")")
+                .orElse("unknown"));
+    }
+}
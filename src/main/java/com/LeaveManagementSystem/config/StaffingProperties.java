@@ -0,0 +1,26 @@
+package com.LeaveManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimum number of employees that must be at work on every working day, under lms.staffing.
+ * min-present applies to every department; departments.<NAME> overrides it. 0 disables the rule.
+ */
+@Component
+@ConfigurationProperties(prefix = "lms.staffing")
+public class StaffingProperties {
+
+    private int minPresent = 0;
+    private Map<String, Integer> departments = new HashMap<>();
+
+    // Getters and Setters
+    public int getMinPresent() { return minPresent; }
+    public void setMinPresent(int minPresent) { this.minPresent = minPresent; }
+
+    public Map<String, Integer> getDepartments() { return departments; }
+    public void setDepartments(Map<String, Integer> departments) { this.departments = departments; }
+}
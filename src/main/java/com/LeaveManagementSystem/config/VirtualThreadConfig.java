@@ -0,0 +1,84 @@
+package com.LeaveManagementSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true): Tomcat, @Scheduled and @Async run on
+ * virtual threads, and each connection pool gets a ConnectionQueueingDataSource sized to it.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static ConnectionQueueingPostProcessor connectionQueueingPostProcessor(Environment environment,
+                                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConnectionQueueingPostProcessor(
+                environment.getProperty("lms.datasource.queue.max-wait", Duration.class, Duration.ofSeconds(60)),
+                meterRegistry);
+    }
+
+    /**
+     * Wraps every Hikari pool before SlowQueryDataSourcePostProcessor wraps the result, so statements are
+     * still logged under the pool's bean name.
+     */
+    static class ConnectionQueueingPostProcessor implements BeanPostProcessor, Ordered, SmartInitializingSingleton {
+
+        private final Duration maxWait;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Map<String, ConnectionQueueingDataSource> queues = new LinkedHashMap<>();
+
+        ConnectionQueueingPostProcessor(Duration maxWait, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.maxWait = maxWait;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource pool)) {
+                return bean;
+            }
+            ConnectionQueueingDataSource queue = new ConnectionQueueingDataSource(pool, pool.getMaximumPoolSize(),
+                    maxWait);
+            queues.put(beanName, queue);
+            return queue;
+        }
+
+        @Override
+        public void afterSingletonsInstantiated() {
+            meterRegistry.ifAvailable(registry -> queues.forEach((name, queue) -> {
+                Gauge.builder("lms.datasource.queue", queue, ConnectionQueueingDataSource::getQueueLength)
+                        .tag("pool", name)
+                        .description("Callers waiting for a database connection")
+                        .register(registry);
+                FunctionTimer.builder("lms.datasource.queue.wait", queue, ConnectionQueueingDataSource::getAcquisitions,
+                                ConnectionQueueingDataSource::getWaitNanos, TimeUnit.NANOSECONDS)
+                        .tag("pool", name)
+                        .description("Time spent waiting for a database connection")
+                        .register(registry);
+            }));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.LeaveManagementSystem.controller;
+
+
+import com.LeaveManagementSystem.cache.DepartmentOccupancyIndex;
+import com.LeaveManagementSystem.cache.EmployeeCache;
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.cache.LeaveIntervalIndex;
+import com.LeaveManagementSystem.dto.AccrualRunDTO;
+import com.LeaveManagementSystem.dto.AnalyticsRecomputeReportDTO;
+import com.LeaveManagementSystem.dto.ArchiveReportDTO;
+import com.LeaveManagementSystem.dto.CacheStatsDTO;
+import com.LeaveManagementSystem.dto.IntervalIndexStatsDTO;
+import com.LeaveManagementSystem.dto.LedgerReconciliationReportDTO;
+import com.LeaveManagementSystem.service.AccrualService;
+import com.LeaveManagementSystem.service.LeaveAnalyticsService;
+import com.LeaveManagementSystem.service.LeaveArchiveService;
+import com.LeaveManagementSystem.service.LeaveLedgerService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+
+    @Autowired
+    private AccrualService accrualService;
+
+    @Autowired
+    private LeaveArchiveService leaveArchiveService;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private DepartmentOccupancyIndex departmentOccupancyIndex;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @PostMapping("/leave-ledger/reconcile")
+    public ResponseEntity<LedgerReconciliationReportDTO> reconcileLeaveLedger() {
+        LedgerReconciliationReportDTO report = leaveLedgerService.reconcile();
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @PostMapping("/analytics/recompute")
+    public ResponseEntity<AnalyticsRecomputeReportDTO> recomputeAnalytics() {
+        AnalyticsRecomputeReportDTO report = leaveAnalyticsService.recompute();
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    /**
+     * Starts accruing entitlements for the year through the given month (default: the whole current year)
+     * in the background, or resumes the unfinished run for that period. Poll the returned run for progress.
+     */
+    @PostMapping("/accrual/runs")
+    public ResponseEntity<AccrualRunDTO> startAccrual(@RequestParam(required = false) Integer year,
+                                                      @RequestParam(defaultValue = "12") int throughMonth) {
+        AccrualRunDTO run = accrualService.start(year == null ? LocalDate.now().getYear() : year, throughMonth);
+        return new ResponseEntity<>(run, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/accrual/runs/{id}")
+    public ResponseEntity<AccrualRunDTO> getAccrualRun(@PathVariable Long id) {
+        return new ResponseEntity<>(accrualService.getRun(id), HttpStatus.OK);
+    }
+
+    @PostMapping("/leave-requests/archive")
+    public ResponseEntity<ArchiveReportDTO> archiveLeaveRequests() {
+        ArchiveReportDTO report = leaveArchiveService.archive();
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping("/caches/employees")
+    public ResponseEntity<CacheStatsDTO> getEmployeeCacheStats() {
+        return new ResponseEntity<>(employeeCache.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/leave-index")
+    public ResponseEntity<IntervalIndexStatsDTO> getLeaveIndexStats() {
+        return new ResponseEntity<>(leaveIntervalIndex.getStats(), HttpStatus.OK);
+    }
+
+    @PostMapping("/leave-index/rebuild")
+    public ResponseEntity<IntervalIndexStatsDTO> rebuildLeaveIndex() {
+        // Both in-memory indexes are derived from leave_requests, so they are rebuilt together; ETags
+        // handed out so far may describe rows changed behind the application's back, so they go too
+        departmentOccupancyIndex.rebuild();
+        employeeVersions.invalidateAll();
+        return new ResponseEntity<>(leaveIntervalIndex.rebuild(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,32 @@
+package com.LeaveManagementSystem.controller;
+
+
+import com.LeaveManagementSystem.dto.LeaveAnalyticsDTO;
+import com.LeaveManagementSystem.service.LeaveAnalyticsService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+
+    @GetMapping("/leave")
+    public ResponseEntity<LeaveAnalyticsDTO> getLeaveAnalytics(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "10") int top) {
+        LeaveAnalyticsDTO analytics = leaveAnalyticsService.getReport(from, to, department, top);
+        return new ResponseEntity<>(analytics, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,53 @@
+package com.LeaveManagementSystem.controller;
+
+import com.LeaveManagementSystem.config.PrimaryReads;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GETs for the per-employee resources the portal polls: a matching If-None-Match is
+ * answered with 304 before the body is loaded.
+ */
+final class ConditionalResponses {
+
+    // Clients may keep the response but must revalidate on every poll
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        // A lagging replica could pair the current version with older data
+        T value = PrimaryReads.call(body);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(value);
+    }
+
+    // If-None-Match compares weakly, and gzip compression may have turned the tag into W/"..."
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.LeaveManagementSystem.controller;
+
+
+import com.LeaveManagementSystem.dto.DepartmentAvailabilityDTO;
+import com.LeaveManagementSystem.service.AvailabilityService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/departments")
+@CrossOrigin(origins = "*")
+public class DepartmentController {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @GetMapping("/{department}/availability")
+    public ResponseEntity<DepartmentAvailabilityDTO> getAvailability(
+            @PathVariable String department,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        DepartmentAvailabilityDTO availability = availabilityService.getAvailability(department, from, to);
+        return new ResponseEntity<>(availability, HttpStatus.OK);
+    }
+}
@@ -1,15 +1,29 @@
 package com.LeaveManagementSystem.controller;
 
 
+import com.LeaveManagementSystem.cache.EmployeeVersions;
 import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.EmployeeImportResultDTO;
+import com.LeaveManagementSystem.dto.KeysetPageDTO;
 import com.LeaveManagementSystem.dto.LeaveBalanceDTO;
 import com.LeaveManagementSystem.service.EmployeeService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,28 +34,67 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Value("${lms.http.list-max-age:5s}")
+    private Duration listMaxAge;
+
     @PostMapping
     public ResponseEntity<EmployeeDTO> addEmployee(@Valid @RequestBody EmployeeDTO employeeDTO) {
         EmployeeDTO createdEmployee = employeeService.addEmployee(employeeDTO);
         return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
     }
 
+    // The body is read as it arrives rather than bound up front, so imports of any size take flat memory
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<EmployeeImportResultDTO> importEmployeesCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(employeeService.importEmployeesCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<EmployeeImportResultDTO> importEmployeesNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(employeeService.importEmployeesNdjson(body));
+    }
+
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        List<EmployeeDTO> employees = employeeService.getAllEmployees();
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+    public ResponseEntity<KeysetPageDTO<EmployeeDTO>> getEmployees(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String department) {
+        KeysetPageDTO<EmployeeDTO> page = employeeService.getEmployeesPage(department, after, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(listMaxAge).cachePrivate()).body(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(required = false) String department) {
+        return NdjsonResponses.<EmployeeDTO>stream(objectMapper,
+                sink -> employeeService.exportEmployees(department, sink));
+    }
+
+    @GetMapping("/leave-balances")
+    public ResponseEntity<List<LeaveBalanceDTO>> getLeaveBalances(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String department) {
+        List<LeaveBalanceDTO> leaveBalances = employeeService.getLeaveBalances(ids, department);
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(listMaxAge).cachePrivate()).body(leaveBalances);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
-        EmployeeDTO employee = employeeService.getEmployeeById(id);
-        return new ResponseEntity<>(employee, HttpStatus.OK);
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ok(request, employeeVersions.etag("employee", id),
+                () -> employeeService.getEmployeeById(id));
     }
 
     @GetMapping("/{id}/leave-balance")
-    public ResponseEntity<LeaveBalanceDTO> getLeaveBalance(@PathVariable Long id) {
-        LeaveBalanceDTO leaveBalance = employeeService.getLeaveBalance(id);
-        return new ResponseEntity<>(leaveBalance, HttpStatus.OK);
+    public ResponseEntity<LeaveBalanceDTO> getLeaveBalance(@PathVariable Long id, WebRequest request) {
+        // The balance is for the current year, so the tag changes on New Year's Day as well
+        return ConditionalResponses.ok(request, employeeVersions.etag("balance" + LocalDate.now().getYear(), id),
+                () -> employeeService.getLeaveBalance(id));
     }
 }
 
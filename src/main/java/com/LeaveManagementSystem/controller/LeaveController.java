@@ -1,14 +1,31 @@
 package com.LeaveManagementSystem.controller;
 
 
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.cache.IdempotencyStore;
+import com.LeaveManagementSystem.dto.BulkDecisionRequestDTO;
+import com.LeaveManagementSystem.dto.BulkDecisionResultDTO;
+import com.LeaveManagementSystem.dto.KeysetPageDTO;
+import com.LeaveManagementSystem.dto.LeaveBatchResultDTO;
 import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.LeaveRequestFilter;
 import com.LeaveManagementSystem.service.LeaveService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,33 +36,111 @@ public class LeaveController {
     @Autowired
     private LeaveService leaveService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Value("${lms.http.list-max-age:5s}")
+    private Duration listMaxAge;
+
+    // Writes accept an Idempotency-Key; a retry with the same key gets the first response back
     @PostMapping
-    public ResponseEntity<LeaveRequestDTO> applyForLeave(@Valid @RequestBody LeaveRequestDTO leaveRequestDTO) {
-        LeaveRequestDTO createdRequest = leaveService.applyForLeave(leaveRequestDTO);
-        return new ResponseEntity<>(createdRequest, HttpStatus.CREATED);
+    public ResponseEntity<LeaveRequestDTO> applyForLeave(
+            @Valid @RequestBody LeaveRequestDTO leaveRequestDTO,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "apply", leaveRequestDTO, () -> {
+            LeaveRequestDTO createdRequest = leaveService.applyForLeave(leaveRequestDTO);
+            return new ResponseEntity<>(createdRequest, HttpStatus.CREATED);
+        });
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<LeaveBatchResultDTO> applyForLeaveBatch(
+            @RequestBody List<LeaveRequestDTO> leaveRequestDTOs,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "apply-batch", leaveRequestDTOs, () -> {
+            LeaveBatchResultDTO result = leaveService.applyForLeaveBatch(leaveRequestDTOs);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        });
+    }
+
+    @PutMapping("/approve")
+    public ResponseEntity<BulkDecisionResultDTO> approveLeaves(
+            @RequestBody BulkDecisionRequestDTO bulkDecisionRequestDTO,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "approve-bulk", bulkDecisionRequestDTO, () -> {
+            BulkDecisionResultDTO result = leaveService.approveLeaves(bulkDecisionRequestDTO);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        });
+    }
+
+    @PutMapping("/reject")
+    public ResponseEntity<BulkDecisionResultDTO> rejectLeaves(
+            @RequestBody BulkDecisionRequestDTO bulkDecisionRequestDTO,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "reject-bulk", bulkDecisionRequestDTO, () -> {
+            BulkDecisionResultDTO result = leaveService.rejectLeaves(bulkDecisionRequestDTO);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        });
     }
 
     @PutMapping("/{id}/approve")
-    public ResponseEntity<LeaveRequestDTO> approveLeave(@PathVariable Long id) {
-        LeaveRequestDTO approvedRequest = leaveService.approveLeave(id);
-        return new ResponseEntity<>(approvedRequest, HttpStatus.OK);
+    public ResponseEntity<LeaveRequestDTO> approveLeave(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "approve", id, () -> {
+            LeaveRequestDTO approvedRequest = leaveService.approveLeave(id);
+            return new ResponseEntity<>(approvedRequest, HttpStatus.OK);
+        });
     }
 
     @PutMapping("/{id}/reject")
-    public ResponseEntity<LeaveRequestDTO> rejectLeave(@PathVariable Long id) {
-        LeaveRequestDTO rejectedRequest = leaveService.rejectLeave(id);
-        return new ResponseEntity<>(rejectedRequest, HttpStatus.OK);
+    public ResponseEntity<LeaveRequestDTO> rejectLeave(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "reject", id, () -> {
+            LeaveRequestDTO rejectedRequest = leaveService.rejectLeave(id);
+            return new ResponseEntity<>(rejectedRequest, HttpStatus.OK);
+        });
     }
 
     @GetMapping
-    public ResponseEntity<List<LeaveRequestDTO>> getAllLeaveRequests() {
-        List<LeaveRequestDTO> requests = leaveService.getAllLeaveRequests();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+    public ResponseEntity<KeysetPageDTO<LeaveRequestDTO>> getLeaveRequests(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) LeaveStatus status,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LeaveRequestFilter filter = new LeaveRequestFilter(status, department, from, to);
+        KeysetPageDTO<LeaveRequestDTO> page = leaveService.getLeaveRequestsPage(filter, after, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(listMaxAge).cachePrivate()).body(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequests(
+            @RequestParam(required = false) LeaveStatus status,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LeaveRequestFilter filter = new LeaveRequestFilter(status, department, from, to);
+        return NdjsonResponses.<LeaveRequestDTO>stream(objectMapper,
+                sink -> leaveService.exportLeaveRequests(filter, sink));
     }
 
+    // history=true adds the requests archived from closed years
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<LeaveRequestDTO>> getLeaveRequestsByEmployee(@PathVariable Long employeeId) {
-        List<LeaveRequestDTO> requests = leaveService.getLeaveRequestsByEmployee(employeeId);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+    public ResponseEntity<List<LeaveRequestDTO>> getLeaveRequestsByEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam(defaultValue = "false") boolean history,
+            WebRequest request) {
+        return ConditionalResponses.ok(request,
+                employeeVersions.etag(history ? "leave-request-history" : "leave-requests", employeeId),
+                () -> leaveService.getLeaveRequestsByEmployee(employeeId, history));
     }
 }
@@ -0,0 +1,31 @@
+package com.LeaveManagementSystem.dto;
+
+public class AbsenteeDTO {
+    private Long employeeId;
+    private String employeeName;
+    private String department;
+    private long approvedDays;
+
+    // Constructors
+    public AbsenteeDTO() {}
+
+    public AbsenteeDTO(Long employeeId, String employeeName, String department, long approvedDays) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.department = department;
+        this.approvedDays = approvedDays;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmployeeName() { return employeeName; }
+    public void setEmployeeName(String employeeName) { this.employeeName = employeeName; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public long getApprovedDays() { return approvedDays; }
+    public void setApprovedDays(long approvedDays) { this.approvedDays = approvedDays; }
+}
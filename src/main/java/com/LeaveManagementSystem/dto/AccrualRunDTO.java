@@ -0,0 +1,61 @@
+package com.LeaveManagementSystem.dto;
+
+
+import com.LeaveManagementSystem.model.AccrualRunStatus;
+
+import java.time.LocalDateTime;
+
+public class AccrualRunDTO {
+    private Long id;
+    private int year;
+    private int throughMonth;
+    private AccrualRunStatus status;
+    private long totalEmployees;
+    private long processedEmployees;
+    private int partitions;
+    private int partitionsDone;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private double employeesPerSecond;
+    private String lastError;
+
+    // Constructors
+    public AccrualRunDTO() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+
+    public int getThroughMonth() { return throughMonth; }
+    public void setThroughMonth(int throughMonth) { this.throughMonth = throughMonth; }
+
+    public AccrualRunStatus getStatus() { return status; }
+    public void setStatus(AccrualRunStatus status) { this.status = status; }
+
+    public long getTotalEmployees() { return totalEmployees; }
+    public void setTotalEmployees(long totalEmployees) { this.totalEmployees = totalEmployees; }
+
+    public long getProcessedEmployees() { return processedEmployees; }
+    public void setProcessedEmployees(long processedEmployees) { this.processedEmployees = processedEmployees; }
+
+    public int getPartitions() { return partitions; }
+    public void setPartitions(int partitions) { this.partitions = partitions; }
+
+    public int getPartitionsDone() { return partitionsDone; }
+    public void setPartitionsDone(int partitionsDone) { this.partitionsDone = partitionsDone; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public double getEmployeesPerSecond() { return employeesPerSecond; }
+    public void setEmployeesPerSecond(double employeesPerSecond) { this.employeesPerSecond = employeesPerSecond; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,24 @@
+package com.LeaveManagementSystem.dto;
+
+
+import java.time.LocalDateTime;
+
+public class AnalyticsRecomputeReportDTO {
+    private LocalDateTime completedAt;
+    private int rollupRows;
+    private int employeeRollupRows;
+    private long elapsedMillis;
+
+    // Getters and Setters
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public int getRollupRows() { return rollupRows; }
+    public void setRollupRows(int rollupRows) { this.rollupRows = rollupRows; }
+
+    public int getEmployeeRollupRows() { return employeeRollupRows; }
+    public void setEmployeeRollupRows(int employeeRollupRows) { this.employeeRollupRows = employeeRollupRows; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
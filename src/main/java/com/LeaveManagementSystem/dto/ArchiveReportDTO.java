@@ -0,0 +1,29 @@
+package com.LeaveManagementSystem.dto;
+
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ArchiveReportDTO {
+    private LocalDate cutoff;
+    private LocalDateTime completedAt;
+    private int archivedRequests;
+    private int chunks;
+    private long elapsedMillis;
+
+    // Getters and Setters
+    public LocalDate getCutoff() { return cutoff; }
+    public void setCutoff(LocalDate cutoff) { this.cutoff = cutoff; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public int getArchivedRequests() { return archivedRequests; }
+    public void setArchivedRequests(int archivedRequests) { this.archivedRequests = archivedRequests; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
@@ -0,0 +1,32 @@
+package com.LeaveManagementSystem.dto;
+
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class BulkDecisionRequestDTO {
+    private List<Long> ids;
+    private String department;
+    private LocalDate from;
+    private LocalDate to;
+
+    // Constructors
+    public BulkDecisionRequestDTO() {}
+
+    public BulkDecisionRequestDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+}
@@ -0,0 +1,42 @@
+package com.LeaveManagementSystem.dto;
+
+
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkDecisionResultDTO {
+    private LeaveStatus decision;
+    private int matched;
+    private List<Long> processedIds = new ArrayList<>();
+    private List<SkippedLeaveRequestDTO> skipped = new ArrayList<>();
+    private long elapsedMillis;
+    private double requestsPerSecond;
+
+    // Constructors
+    public BulkDecisionResultDTO() {}
+
+    public BulkDecisionResultDTO(LeaveStatus decision) {
+        this.decision = decision;
+    }
+
+    // Getters and Setters
+    public LeaveStatus getDecision() { return decision; }
+    public void setDecision(LeaveStatus decision) { this.decision = decision; }
+
+    public int getMatched() { return matched; }
+    public void setMatched(int matched) { this.matched = matched; }
+
+    public List<Long> getProcessedIds() { return processedIds; }
+    public void setProcessedIds(List<Long> processedIds) { this.processedIds = processedIds; }
+
+    public List<SkippedLeaveRequestDTO> getSkipped() { return skipped; }
+    public void setSkipped(List<SkippedLeaveRequestDTO> skipped) { this.skipped = skipped; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public double getRequestsPerSecond() { return requestsPerSecond; }
+    public void setRequestsPerSecond(double requestsPerSecond) { this.requestsPerSecond = requestsPerSecond; }
+}
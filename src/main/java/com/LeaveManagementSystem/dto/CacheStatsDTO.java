@@ -0,0 +1,37 @@
+package com.LeaveManagementSystem.dto;
+
+
+public class CacheStatsDTO {
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // Constructors
+    public CacheStatsDTO() {}
+
+    public CacheStatsDTO(long size, long hits, long misses, long evictions) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    // Getters and Setters
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
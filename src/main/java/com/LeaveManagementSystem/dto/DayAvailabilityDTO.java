@@ -0,0 +1,45 @@
+package com.LeaveManagementSystem.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DayAvailabilityDTO {
+    private LocalDate date;
+    private boolean workingDay;
+    private int absentCount;
+    private long presentCount;
+    private boolean belowMinimum;
+    private List<Long> absentEmployeeIds = new ArrayList<>();
+    private List<Long> pendingEmployeeIds = new ArrayList<>();
+
+    // Constructors
+    public DayAvailabilityDTO() {}
+
+    public DayAvailabilityDTO(LocalDate date, boolean workingDay) {
+        this.date = date;
+        this.workingDay = workingDay;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public boolean isWorkingDay() { return workingDay; }
+    public void setWorkingDay(boolean workingDay) { this.workingDay = workingDay; }
+
+    public int getAbsentCount() { return absentCount; }
+    public void setAbsentCount(int absentCount) { this.absentCount = absentCount; }
+
+    public long getPresentCount() { return presentCount; }
+    public void setPresentCount(long presentCount) { this.presentCount = presentCount; }
+
+    public boolean isBelowMinimum() { return belowMinimum; }
+    public void setBelowMinimum(boolean belowMinimum) { this.belowMinimum = belowMinimum; }
+
+    public List<Long> getAbsentEmployeeIds() { return absentEmployeeIds; }
+    public void setAbsentEmployeeIds(List<Long> absentEmployeeIds) { this.absentEmployeeIds = absentEmployeeIds; }
+
+    public List<Long> getPendingEmployeeIds() { return pendingEmployeeIds; }
+    public void setPendingEmployeeIds(List<Long> pendingEmployeeIds) { this.pendingEmployeeIds = pendingEmployeeIds; }
+}
@@ -0,0 +1,45 @@
+package com.LeaveManagementSystem.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class DepartmentAvailabilityDTO {
+    private String department;
+    private LocalDate from;
+    private LocalDate to;
+    private long headcount;
+    private int minPresent;
+    private List<DayAvailabilityDTO> days;
+
+    // Constructors
+    public DepartmentAvailabilityDTO() {}
+
+    public DepartmentAvailabilityDTO(String department, LocalDate from, LocalDate to, long headcount,
+                                     int minPresent, List<DayAvailabilityDTO> days) {
+        this.department = department;
+        this.from = from;
+        this.to = to;
+        this.headcount = headcount;
+        this.minPresent = minPresent;
+        this.days = days;
+    }
+
+    // Getters and Setters
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public long getHeadcount() { return headcount; }
+    public void setHeadcount(long headcount) { this.headcount = headcount; }
+
+    public int getMinPresent() { return minPresent; }
+    public void setMinPresent(int minPresent) { this.minPresent = minPresent; }
+
+    public List<DayAvailabilityDTO> getDays() { return days; }
+    public void setDays(List<DayAvailabilityDTO> days) { this.days = days; }
+}
@@ -0,0 +1,27 @@
+package com.LeaveManagementSystem.dto;
+
+
+public class EmployeeImportErrorDTO {
+    private long line;
+    private String email;
+    private String error;
+
+    // Constructors
+    public EmployeeImportErrorDTO() {}
+
+    public EmployeeImportErrorDTO(long line, String email, String error) {
+        this.line = line;
+        this.email = email;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,41 @@
+package com.LeaveManagementSystem.dto;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployeeImportResultDTO {
+    private long rows;
+    private long imported;
+    private long failed;
+    // Only the first errors are listed; failed counts all of them
+    private List<EmployeeImportErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // Constructors
+    public EmployeeImportResultDTO() {}
+
+    // Getters and Setters
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<EmployeeImportErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<EmployeeImportErrorDTO> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+}
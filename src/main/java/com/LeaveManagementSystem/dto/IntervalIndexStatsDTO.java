@@ -0,0 +1,27 @@
+package com.LeaveManagementSystem.dto;
+
+
+public class IntervalIndexStatsDTO {
+    private boolean enabled;
+    private long employees;
+    private long intervals;
+
+    // Constructors
+    public IntervalIndexStatsDTO() {}
+
+    public IntervalIndexStatsDTO(boolean enabled, long employees, long intervals) {
+        this.enabled = enabled;
+        this.employees = employees;
+        this.intervals = intervals;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getEmployees() { return employees; }
+    public void setEmployees(long employees) { this.employees = employees; }
+
+    public long getIntervals() { return intervals; }
+    public void setIntervals(long intervals) { this.intervals = intervals; }
+}
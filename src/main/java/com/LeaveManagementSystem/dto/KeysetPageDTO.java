@@ -0,0 +1,29 @@
+package com.LeaveManagementSystem.dto;
+
+
+import java.util.List;
+
+public class KeysetPageDTO<T> {
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public KeysetPageDTO() {}
+
+    public KeysetPageDTO(List<T> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,40 @@
+package com.LeaveManagementSystem.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public class LeaveAnalyticsDTO {
+    private YearMonth from;
+    private YearMonth to;
+    private String department;
+    private List<MonthlyLeaveStatsDTO> months;
+    private List<AbsenteeDTO> topAbsentees;
+
+    // Constructors
+    public LeaveAnalyticsDTO() {}
+
+    public LeaveAnalyticsDTO(YearMonth from, YearMonth to, String department, List<MonthlyLeaveStatsDTO> months,
+                             List<AbsenteeDTO> topAbsentees) {
+        this.from = from;
+        this.to = to;
+        this.department = department;
+        this.months = months;
+        this.topAbsentees = topAbsentees;
+    }
+
+    // Getters and Setters
+    public YearMonth getFrom() { return from; }
+    public void setFrom(YearMonth from) { this.from = from; }
+
+    public YearMonth getTo() { return to; }
+    public void setTo(YearMonth to) { this.to = to; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public List<MonthlyLeaveStatsDTO> getMonths() { return months; }
+    public void setMonths(List<MonthlyLeaveStatsDTO> months) { this.months = months; }
+
+    public List<AbsenteeDTO> getTopAbsentees() { return topAbsentees; }
+    public void setTopAbsentees(List<AbsenteeDTO> topAbsentees) { this.topAbsentees = topAbsentees; }
+}
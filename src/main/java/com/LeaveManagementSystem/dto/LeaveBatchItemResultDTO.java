@@ -0,0 +1,41 @@
+package com.LeaveManagementSystem.dto;
+
+
+public class LeaveBatchItemResultDTO {
+    private int index;
+    private boolean success;
+    private LeaveRequestDTO leaveRequest;
+    private String error;
+
+    // Constructors
+    public LeaveBatchItemResultDTO() {}
+
+    public static LeaveBatchItemResultDTO succeeded(int index, LeaveRequestDTO leaveRequest) {
+        LeaveBatchItemResultDTO result = new LeaveBatchItemResultDTO();
+        result.index = index;
+        result.success = true;
+        result.leaveRequest = leaveRequest;
+        return result;
+    }
+
+    public static LeaveBatchItemResultDTO failed(int index, String error) {
+        LeaveBatchItemResultDTO result = new LeaveBatchItemResultDTO();
+        result.index = index;
+        result.success = false;
+        result.error = error;
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public LeaveRequestDTO getLeaveRequest() { return leaveRequest; }
+    public void setLeaveRequest(LeaveRequestDTO leaveRequest) { this.leaveRequest = leaveRequest; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
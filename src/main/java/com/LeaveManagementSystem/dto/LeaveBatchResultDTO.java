@@ -0,0 +1,34 @@
+package com.LeaveManagementSystem.dto;
+
+
+import java.util.List;
+
+public class LeaveBatchResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<LeaveBatchItemResultDTO> results;
+
+    // Constructors
+    public LeaveBatchResultDTO() {}
+
+    public LeaveBatchResultDTO(List<LeaveBatchItemResultDTO> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(LeaveBatchItemResultDTO::isSuccess).count();
+        this.failed = total - succeeded;
+    }
+
+    // Getters and Setters
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<LeaveBatchItemResultDTO> getResults() { return results; }
+    public void setResults(List<LeaveBatchItemResultDTO> results) { this.results = results; }
+}
@@ -0,0 +1,67 @@
+package com.LeaveManagementSystem.dto;
+
+import com.LeaveManagementSystem.model.LeaveEventType;
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Payload of an outbox event, as published to the sinks.
+ */
+public class LeaveEventDTO {
+    private LeaveEventType type;
+    private Long leaveRequestId;
+    private Long employeeId;
+    private String department;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer days;
+    private LeaveStatus status;
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public LeaveEventDTO() {}
+
+    public LeaveEventDTO(LeaveEventType type, Long leaveRequestId, Long employeeId, String department,
+                         LocalDate startDate, LocalDate endDate, Integer days, LeaveStatus status,
+                         LocalDateTime occurredAt) {
+        this.type = type;
+        this.leaveRequestId = leaveRequestId;
+        this.employeeId = employeeId;
+        this.department = department;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.days = days;
+        this.status = status;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters and Setters
+    public LeaveEventType getType() { return type; }
+    public void setType(LeaveEventType type) { this.type = type; }
+
+    public Long getLeaveRequestId() { return leaveRequestId; }
+    public void setLeaveRequestId(Long leaveRequestId) { this.leaveRequestId = leaveRequestId; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Integer getDays() { return days; }
+    public void setDays(Integer days) { this.days = days; }
+
+    public LeaveStatus getStatus() { return status; }
+    public void setStatus(LeaveStatus status) { this.status = status; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
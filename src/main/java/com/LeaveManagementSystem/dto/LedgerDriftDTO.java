@@ -0,0 +1,43 @@
+package com.LeaveManagementSystem.dto;
+
+
+public class LedgerDriftDTO {
+    private Long employeeId;
+    private Integer year;
+    private Integer ledgerUsedDays;
+    private Integer actualUsedDays;
+    private Integer ledgerPendingDays;
+    private Integer actualPendingDays;
+
+    // Constructors
+    public LedgerDriftDTO() {}
+
+    public LedgerDriftDTO(Long employeeId, Integer year, Integer ledgerUsedDays, Integer actualUsedDays,
+                          Integer ledgerPendingDays, Integer actualPendingDays) {
+        this.employeeId = employeeId;
+        this.year = year;
+        this.ledgerUsedDays = ledgerUsedDays;
+        this.actualUsedDays = actualUsedDays;
+        this.ledgerPendingDays = ledgerPendingDays;
+        this.actualPendingDays = actualPendingDays;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getLedgerUsedDays() { return ledgerUsedDays; }
+    public void setLedgerUsedDays(Integer ledgerUsedDays) { this.ledgerUsedDays = ledgerUsedDays; }
+
+    public Integer getActualUsedDays() { return actualUsedDays; }
+    public void setActualUsedDays(Integer actualUsedDays) { this.actualUsedDays = actualUsedDays; }
+
+    public Integer getLedgerPendingDays() { return ledgerPendingDays; }
+    public void setLedgerPendingDays(Integer ledgerPendingDays) { this.ledgerPendingDays = ledgerPendingDays; }
+
+    public Integer getActualPendingDays() { return actualPendingDays; }
+    public void setActualPendingDays(Integer actualPendingDays) { this.actualPendingDays = actualPendingDays; }
+}
@@ -0,0 +1,26 @@
+package com.LeaveManagementSystem.dto;
+
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LedgerReconciliationReportDTO {
+    private LocalDateTime completedAt;
+    private int ledgerRowsChecked;
+    private int driftedRows;
+    private List<LedgerDriftDTO> drifts = new ArrayList<>();
+
+    // Getters and Setters
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public int getLedgerRowsChecked() { return ledgerRowsChecked; }
+    public void setLedgerRowsChecked(int ledgerRowsChecked) { this.ledgerRowsChecked = ledgerRowsChecked; }
+
+    public int getDriftedRows() { return driftedRows; }
+    public void setDriftedRows(int driftedRows) { this.driftedRows = driftedRows; }
+
+    public List<LedgerDriftDTO> getDrifts() { return drifts; }
+    public void setDrifts(List<LedgerDriftDTO> drifts) { this.drifts = drifts; }
+}
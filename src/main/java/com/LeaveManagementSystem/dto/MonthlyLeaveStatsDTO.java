@@ -0,0 +1,54 @@
+package com.LeaveManagementSystem.dto;
+
+import java.time.YearMonth;
+
+public class MonthlyLeaveStatsDTO {
+    private String department;
+    private YearMonth month;
+    private long approvedRequests;
+    private long approvedDays;
+    private long pendingRequests;
+    private long pendingDays;
+    private long rejectedRequests;
+    private long rejectedDays;
+    // Mean hours from submission to decision over approved and rejected requests; null if none was decided
+    private Double averageTurnaroundHours;
+
+    // Constructors
+    public MonthlyLeaveStatsDTO() {}
+
+    public MonthlyLeaveStatsDTO(String department, YearMonth month) {
+        this.department = department;
+        this.month = month;
+    }
+
+    // Getters and Setters
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public YearMonth getMonth() { return month; }
+    public void setMonth(YearMonth month) { this.month = month; }
+
+    public long getApprovedRequests() { return approvedRequests; }
+    public void setApprovedRequests(long approvedRequests) { this.approvedRequests = approvedRequests; }
+
+    public long getApprovedDays() { return approvedDays; }
+    public void setApprovedDays(long approvedDays) { this.approvedDays = approvedDays; }
+
+    public long getPendingRequests() { return pendingRequests; }
+    public void setPendingRequests(long pendingRequests) { this.pendingRequests = pendingRequests; }
+
+    public long getPendingDays() { return pendingDays; }
+    public void setPendingDays(long pendingDays) { this.pendingDays = pendingDays; }
+
+    public long getRejectedRequests() { return rejectedRequests; }
+    public void setRejectedRequests(long rejectedRequests) { this.rejectedRequests = rejectedRequests; }
+
+    public long getRejectedDays() { return rejectedDays; }
+    public void setRejectedDays(long rejectedDays) { this.rejectedDays = rejectedDays; }
+
+    public Double getAverageTurnaroundHours() { return averageTurnaroundHours; }
+    public void setAverageTurnaroundHours(Double averageTurnaroundHours) {
+        this.averageTurnaroundHours = averageTurnaroundHours;
+    }
+}
@@ -0,0 +1,22 @@
+package com.LeaveManagementSystem.dto;
+
+
+public class SkippedLeaveRequestDTO {
+    private Long id;
+    private String reason;
+
+    // Constructors
+    public SkippedLeaveRequestDTO() {}
+
+    public SkippedLeaveRequestDTO(Long id, String reason) {
+        this.id = id;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
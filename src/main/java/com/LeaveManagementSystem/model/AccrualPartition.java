@@ -0,0 +1,60 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Employees with ids in (fromId, toId] of an accrual run. checkpointId is the last employee id whose
+ * chunk committed, so a resumed run carries on after it.
+ */
+@Entity
+@Table(name = "accrual_partitions", indexes = {
+        @Index(name = "idx_accrual_partition_run", columnList = "run_id")
+})
+public class AccrualPartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    private long fromId;
+    private long toId;
+    private long checkpointId;
+
+    private long processed;
+
+    private boolean done;
+
+    // Constructors
+    public AccrualPartition() {}
+
+    public AccrualPartition(Long runId, long fromId, long toId) {
+        this.runId = runId;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.checkpointId = fromId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public long getFromId() { return fromId; }
+    public void setFromId(long fromId) { this.fromId = fromId; }
+
+    public long getToId() { return toId; }
+    public void setToId(long toId) { this.toId = toId; }
+
+    public long getCheckpointId() { return checkpointId; }
+    public void setCheckpointId(long checkpointId) { this.checkpointId = checkpointId; }
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+
+    public boolean isDone() { return done; }
+    public void setDone(boolean done) { this.done = done; }
+}
@@ -0,0 +1,73 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One accrual of entitlements for a year, through a month of that year. Its work is split into
+ * AccrualPartition rows, which carry the checkpoints a failed or interrupted run resumes from.
+ */
+@Entity
+@Table(name = "accrual_runs", indexes = {
+        @Index(name = "idx_accrual_run_period", columnList = "accrual_year, through_month")
+})
+public class AccrualRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "accrual_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "through_month", nullable = false)
+    private Integer throughMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AccrualRunStatus status = AccrualRunStatus.RUNNING;
+
+    // Employees in the partitioned id range when the run was created
+    private long totalEmployees;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Constructors
+    public AccrualRun() {}
+
+    public AccrualRun(Integer year, Integer throughMonth, long totalEmployees, LocalDateTime startedAt) {
+        this.year = year;
+        this.throughMonth = throughMonth;
+        this.totalEmployees = totalEmployees;
+        this.startedAt = startedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getThroughMonth() { return throughMonth; }
+    public void setThroughMonth(Integer throughMonth) { this.throughMonth = throughMonth; }
+
+    public AccrualRunStatus getStatus() { return status; }
+    public void setStatus(AccrualRunStatus status) { this.status = status; }
+
+    public long getTotalEmployees() { return totalEmployees; }
+    public void setTotalEmployees(long totalEmployees) { this.totalEmployees = totalEmployees; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
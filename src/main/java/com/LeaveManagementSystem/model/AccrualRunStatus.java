@@ -0,0 +1,8 @@
+package com.LeaveManagementSystem.model;
+
+public enum AccrualRunStatus {
+    RUNNING,
+    COMPLETED,
+    // A partition failed; starting the same year and month again resumes from the checkpoints
+    FAILED
+}
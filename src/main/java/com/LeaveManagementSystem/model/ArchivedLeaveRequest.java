@@ -0,0 +1,58 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A decided leave request of a closed year, moved out of leave_requests by LeaveArchiveService with its
+ * id and columns unchanged. Read-only: nothing updates a request once it is archived.
+ */
+@Entity
+@Table(name = "leave_requests_archive", indexes = {
+        @Index(name = "idx_leave_archive_emp_start", columnList = "employee_id, start_date")
+})
+public class ArchivedLeaveRequest {
+    @Id
+    private Long id;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    private Integer days;
+
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    private LeaveStatus status;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private Long version;
+
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    public ArchivedLeaveRequest() {}
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getEmployeeId() { return employeeId; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public Integer getDays() { return days; }
+    public String getReason() { return reason; }
+    public LeaveStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -9,10 +9,16 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employee_department", columnList = "department")
+})
 public class Employee {
+    // Sequence ids so the bulk import can batch its inserts, as for LeaveRequest
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_id")
+    @SequenceGenerator(name = "employee_id", sequenceName = "employees_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -0,0 +1,48 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Approved leave days per employee and month (of the leave start date), for absentee rankings.
+ */
+@Entity
+@Table(name = "employee_leave_rollups", indexes = {
+        @Index(name = "idx_employee_rollup_month", columnList = "rollup_month, department")
+})
+@IdClass(EmployeeLeaveRollupId.class)
+public class EmployeeLeaveRollup {
+    @Id
+    private Long employeeId;
+
+    // First day of the month
+    @Id
+    @Column(name = "rollup_month")
+    private LocalDate month;
+
+    private String department;
+
+    private long approvedDays;
+
+    @Version
+    private Long version;
+
+    public EmployeeLeaveRollup() {}
+
+    public EmployeeLeaveRollup(Long employeeId, LocalDate month, String department) {
+        this.employeeId = employeeId;
+        this.month = month;
+        this.department = department;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() { return employeeId; }
+    public LocalDate getMonth() { return month; }
+    public String getDepartment() { return department; }
+
+    public long getApprovedDays() { return approvedDays; }
+    public void setApprovedDays(long approvedDays) { this.approvedDays = approvedDays; }
+
+    public Long getVersion() { return version; }
+}
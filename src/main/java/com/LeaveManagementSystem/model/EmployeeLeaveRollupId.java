@@ -0,0 +1,33 @@
+package com.LeaveManagementSystem.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class EmployeeLeaveRollupId implements Serializable {
+    private Long employeeId;
+    private LocalDate month;
+
+    public EmployeeLeaveRollupId() {}
+
+    public EmployeeLeaveRollupId(Long employeeId, LocalDate month) {
+        this.employeeId = employeeId;
+        this.month = month;
+    }
+
+    public Long getEmployeeId() { return employeeId; }
+    public LocalDate getMonth() { return month; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EmployeeLeaveRollupId)) return false;
+        EmployeeLeaveRollupId that = (EmployeeLeaveRollupId) o;
+        return Objects.equals(employeeId, that.employeeId) && Objects.equals(month, that.month);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, month);
+    }
+}
@@ -0,0 +1,62 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Leave days an employee is entitled to in a calendar year: days accrued in the year, prorated from
+ * the joining date, plus days carried over from the year before. Written by AccrualService; the
+ * current year's total is also copied to Employee.annualLeaveBalance, which balance checks read.
+ */
+@Entity
+@Table(name = "leave_entitlements")
+@IdClass(LeaveLedgerId.class)
+public class LeaveEntitlement {
+    @Id
+    private Long employeeId;
+
+    @Id
+    @Column(name = "entitlement_year")
+    private Integer year;
+
+    private int accruedDays;
+    private int carriedOverDays;
+
+    // Last month of the year included in accruedDays
+    private int throughMonth;
+
+    private LocalDateTime computedAt;
+
+    @Version
+    private Long version;
+
+    public LeaveEntitlement() {}
+
+    public LeaveEntitlement(Long employeeId, Integer year) {
+        this.employeeId = employeeId;
+        this.year = year;
+    }
+
+    public int getTotalDays() {
+        return accruedDays + carriedOverDays;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() { return employeeId; }
+    public Integer getYear() { return year; }
+
+    public int getAccruedDays() { return accruedDays; }
+    public void setAccruedDays(int accruedDays) { this.accruedDays = accruedDays; }
+
+    public int getCarriedOverDays() { return carriedOverDays; }
+    public void setCarriedOverDays(int carriedOverDays) { this.carriedOverDays = carriedOverDays; }
+
+    public int getThroughMonth() { return throughMonth; }
+    public void setThroughMonth(int throughMonth) { this.throughMonth = throughMonth; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+
+    public Long getVersion() { return version; }
+}
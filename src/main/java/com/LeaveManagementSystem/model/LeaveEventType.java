@@ -0,0 +1,7 @@
+package com.LeaveManagementSystem.model;
+
+public enum LeaveEventType {
+    LEAVE_APPLIED,
+    LEAVE_APPROVED,
+    LEAVE_REJECTED
+}
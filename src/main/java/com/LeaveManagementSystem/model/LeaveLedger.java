@@ -0,0 +1,44 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Running totals of leave days per employee and calendar year (year of the leave start date).
+ * Kept in step with leave_requests by LeaveService so balance checks are a primary-key read.
+ */
+@Entity
+@Table(name = "leave_ledger")
+@IdClass(LeaveLedgerId.class)
+public class LeaveLedger {
+    @Id
+    private Long employeeId;
+
+    @Id
+    @Column(name = "ledger_year")
+    private Integer year;
+
+    private int usedDays;
+    private int pendingDays;
+
+    @Version
+    private Long version;
+
+    public LeaveLedger() {}
+
+    public LeaveLedger(Long employeeId, Integer year) {
+        this.employeeId = employeeId;
+        this.year = year;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() { return employeeId; }
+    public Integer getYear() { return year; }
+
+    public int getUsedDays() { return usedDays; }
+    public void setUsedDays(int usedDays) { this.usedDays = usedDays; }
+
+    public int getPendingDays() { return pendingDays; }
+    public void setPendingDays(int pendingDays) { this.pendingDays = pendingDays; }
+
+    public Long getVersion() { return version; }
+}
@@ -0,0 +1,32 @@
+package com.LeaveManagementSystem.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class LeaveLedgerId implements Serializable {
+    private Long employeeId;
+    private Integer year;
+
+    public LeaveLedgerId() {}
+
+    public LeaveLedgerId(Long employeeId, Integer year) {
+        this.employeeId = employeeId;
+        this.year = year;
+    }
+
+    public Long getEmployeeId() { return employeeId; }
+    public Integer getYear() { return year; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeaveLedgerId)) return false;
+        LeaveLedgerId that = (LeaveLedgerId) o;
+        return Objects.equals(employeeId, that.employeeId) && Objects.equals(year, that.year);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, year);
+    }
+}
@@ -9,19 +9,30 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        @Index(name = "idx_leave_emp_status_dates", columnList = "employee_id, status, start_date, end_date"),
+        @Index(name = "idx_leave_status", columnList = "status")
+})
 public class LeaveRequest {
+    // Sequence-style ids (a table on MySQL) let Hibernate batch inserts; IDENTITY disables batching
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_request_id")
+    @SequenceGenerator(name = "leave_request_id", sequenceName = "leave_requests_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "Employee ID is required")
+    @Column(name = "employee_id")
     private Long employeeId;
 
     @NotNull(message = "Start date is required")
+    @Column(name = "start_date")
     private LocalDate startDate;
 
     @NotNull(message = "End date is required")
+    @Column(name = "end_date")
     private LocalDate endDate;
 
     @Positive(message = "Days must be positive")
@@ -35,6 +46,12 @@ public class LeaveRequest {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Concurrent approve/reject of the same request fails on flush instead of silently overwriting.
+    // The column default covers existing rows and plain SQL inserts such as data.sql.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -82,4 +99,6 @@ public class LeaveRequest {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public Long getVersion() { return version; }
 }
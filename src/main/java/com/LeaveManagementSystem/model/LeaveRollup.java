@@ -0,0 +1,58 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Request counts and days per department, month (of the leave start date) and status, plus the
+ * summed decision turnaround of approved and rejected requests. Kept in step with leave_requests
+ * by LeaveService and recomputed in full by LeaveAnalyticsService.
+ */
+@Entity
+@Table(name = "leave_rollups")
+@IdClass(LeaveRollupId.class)
+public class LeaveRollup {
+    @Id
+    private String department;
+
+    // First day of the month
+    @Id
+    @Column(name = "rollup_month")
+    private LocalDate month;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private LeaveStatus status;
+
+    private long requestCount;
+    private long totalDays;
+    private long turnaroundSeconds;
+
+    @Version
+    private Long version;
+
+    public LeaveRollup() {}
+
+    public LeaveRollup(String department, LocalDate month, LeaveStatus status) {
+        this.department = department;
+        this.month = month;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public String getDepartment() { return department; }
+    public LocalDate getMonth() { return month; }
+    public LeaveStatus getStatus() { return status; }
+
+    public long getRequestCount() { return requestCount; }
+    public void setRequestCount(long requestCount) { this.requestCount = requestCount; }
+
+    public long getTotalDays() { return totalDays; }
+    public void setTotalDays(long totalDays) { this.totalDays = totalDays; }
+
+    public long getTurnaroundSeconds() { return turnaroundSeconds; }
+    public void setTurnaroundSeconds(long turnaroundSeconds) { this.turnaroundSeconds = turnaroundSeconds; }
+
+    public Long getVersion() { return version; }
+}
@@ -0,0 +1,37 @@
+package com.LeaveManagementSystem.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class LeaveRollupId implements Serializable {
+    private String department;
+    private LocalDate month;
+    private LeaveStatus status;
+
+    public LeaveRollupId() {}
+
+    public LeaveRollupId(String department, LocalDate month, LeaveStatus status) {
+        this.department = department;
+        this.month = month;
+        this.status = status;
+    }
+
+    public String getDepartment() { return department; }
+    public LocalDate getMonth() { return month; }
+    public LeaveStatus getStatus() { return status; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeaveRollupId)) return false;
+        LeaveRollupId that = (LeaveRollupId) o;
+        return Objects.equals(department, that.department) && Objects.equals(month, that.month)
+                && status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(department, month, status);
+    }
+}
@@ -0,0 +1,97 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A leave status change waiting to be published. Written in the same transaction as the change
+ * itself, so an event exists exactly when the change committed; OutboxDispatcher delivers it later.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_id", columnList = "status, id")
+})
+public class OutboxEvent {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Ids grow in commit order per employee, which is the order events are delivered in
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_id")
+    @SequenceGenerator(name = "outbox_event_id", sequenceName = "outbox_events_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "leave_request_id", nullable = false)
+    private Long leaveRequestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private LeaveEventType eventType;
+
+    // JSON document handed to the sinks as is
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    private int attempts;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime dispatchedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Constructors
+    public OutboxEvent() {}
+
+    public OutboxEvent(Long employeeId, Long leaveRequestId, LeaveEventType eventType, String payload,
+                       LocalDateTime createdAt) {
+        this.employeeId = employeeId;
+        this.leaveRequestId = leaveRequestId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public Long getLeaveRequestId() { return leaveRequestId; }
+    public void setLeaveRequestId(Long leaveRequestId) { this.leaveRequestId = leaveRequestId; }
+
+    public LeaveEventType getEventType() { return eventType; }
+    public void setEventType(LeaveEventType eventType) { this.eventType = eventType; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public OutboxStatus getStatus() { return status; }
+    public void setStatus(OutboxStatus status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getDispatchedAt() { return dispatchedAt; }
+    public void setDispatchedAt(LocalDateTime dispatchedAt) { this.dispatchedAt = dispatchedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,8 @@
+package com.LeaveManagementSystem.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    // Gave up after lms.outbox.max-attempts; left in the table for inspection
+    DEAD
+}
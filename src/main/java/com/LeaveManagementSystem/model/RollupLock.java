@@ -0,0 +1,24 @@
+package com.LeaveManagementSystem.model;
+
+import jakarta.persistence.*;
+
+/**
+ * The single row incremental rollup writers lock in share mode and the full recompute locks
+ * exclusively, so a recompute never replaces the rollups around a delta it did not count.
+ */
+@Entity
+@Table(name = "rollup_locks")
+public class RollupLock {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    public RollupLock() {}
+
+    public RollupLock(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getId() { return id; }
+}
@@ -0,0 +1,61 @@
+package com.LeaveManagementSystem.outbox;
+
+import com.LeaveManagementSystem.model.OutboxEvent;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each event as one NDJSON line to lms.outbox.file.path, for local testing without a broker.
+ * Lines are written through a buffer that is flushed once per dispatcher batch.
+ */
+@Component
+public class FileOutboxSink implements OutboxSink {
+
+    @Value("${lms.outbox.file.path:${java.io.tmpdir}/lms-outbox-events.ndjson}")
+    private Path path;
+
+    private Writer writer;
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(OutboxEvent event) throws IOException {
+        if (writer == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        // The payload is already JSON, so it is embedded rather than encoded again
+        writer.write("{\"eventId\":" + event.getId() + ",\"type\":\"" + event.getEventType() +
+                "\",\"event\":" + event.getPayload() + "}\n");
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
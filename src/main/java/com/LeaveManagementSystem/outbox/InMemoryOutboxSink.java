@@ -0,0 +1,44 @@
+package com.LeaveManagementSystem.outbox;
+
+import com.LeaveManagementSystem.model.OutboxEvent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent lms.outbox.memory.capacity events in process, for tests and local runs.
+ */
+@Component
+public class InMemoryOutboxSink implements OutboxSink {
+
+    @Value("${lms.outbox.memory.capacity:10000}")
+    private int capacity;
+
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void publish(OutboxEvent event) {
+        if (events.size() == capacity) {
+            events.removeFirst();
+        }
+        events.addLast(event);
+    }
+
+    public synchronized List<OutboxEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
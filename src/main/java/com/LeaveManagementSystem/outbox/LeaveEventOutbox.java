@@ -0,0 +1,65 @@
+package com.LeaveManagementSystem.outbox;
+
+import com.LeaveManagementSystem.dto.LeaveEventDTO;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveEventType;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.model.OutboxEvent;
+import com.LeaveManagementSystem.repository.OutboxEventRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes leave status changes to the outbox. Callers are inside the transaction that makes the change,
+ * so the event commits or rolls back with it; nothing is sent from the request thread.
+ */
+@Component
+public class LeaveEventOutbox {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void record(LeaveEventType type, Employee employee, LeaveRequest leaveRequest, LeaveStatus status,
+                       LocalDateTime occurredAt) {
+        outboxEventRepository.save(event(type, employee, leaveRequest, status, occurredAt));
+    }
+
+    /**
+     * Same as record for many requests; the inserts go out in JDBC batches on flush.
+     * Employees may be missing from the map, in which case the event carries no department.
+     */
+    public void recordAll(LeaveEventType type, Map<Long, Employee> employees, List<LeaveRequest> leaveRequests,
+                          LeaveStatus status, LocalDateTime occurredAt) {
+        List<OutboxEvent> events = new ArrayList<>(leaveRequests.size());
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            events.add(event(type, employees.get(leaveRequest.getEmployeeId()), leaveRequest, status, occurredAt));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    private OutboxEvent event(LeaveEventType type, Employee employee, LeaveRequest leaveRequest, LeaveStatus status,
+                              LocalDateTime occurredAt) {
+        LeaveEventDTO payload = new LeaveEventDTO(type, leaveRequest.getId(), leaveRequest.getEmployeeId(),
+                employee == null ? null : employee.getDepartment(), leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(), leaveRequest.getDays(), status, occurredAt);
+        try {
+            return new OutboxEvent(leaveRequest.getEmployeeId(), leaveRequest.getId(), type,
+                    objectMapper.writeValueAsString(payload), occurredAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event for leave request " +
+                    leaveRequest.getId(), e);
+        }
+    }
+}
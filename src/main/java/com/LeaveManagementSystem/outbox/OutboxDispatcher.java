@@ -0,0 +1,255 @@
+package com.LeaveManagementSystem.outbox;
+
+import com.LeaveManagementSystem.config.PrimaryReads;
+import com.LeaveManagementSystem.model.OutboxEvent;
+import com.LeaveManagementSystem.model.OutboxStatus;
+import com.LeaveManagementSystem.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains outbox_events to the configured sinks in id order, one batch per poll until the queue is empty.
+ * Events of one employee are delivered in the order they were written: once an employee's event fails
+ * or is waiting out its backoff, the rest of that employee's events wait too. Other employees are not
+ * held up. A single instance is expected to run the dispatcher (lms.outbox.dispatcher.enabled).
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    // Keeps IN lists of the status UPDATE well below driver and optimizer limits
+    private static final int MARK_SENT_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private List<OutboxSink> availableSinks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${lms.outbox.dispatcher.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lms.outbox.sinks:file}")
+    private List<String> sinkNames;
+
+    @Value("${lms.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${lms.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${lms.outbox.backoff:1s}")
+    private Duration backoff;
+
+    @Value("${lms.outbox.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${lms.outbox.retention:7d}")
+    private Duration retention;
+
+    private List<OutboxSink> sinks;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    private Counter sent;
+    private Counter failed;
+    private Counter dead;
+    private Timer batchTimer;
+    private Timer deliveryLag;
+
+    @PostConstruct
+    void init() {
+        Map<String, OutboxSink> byName = availableSinks.stream()
+                .collect(Collectors.toMap(OutboxSink::getName, Function.identity()));
+        sinks = new ArrayList<>();
+        for (String name : sinkNames) {
+            OutboxSink sink = byName.get(name.trim());
+            if (sink == null) {
+                throw new IllegalStateException("Unknown outbox sink '" + name + "', available: " + byName.keySet());
+            }
+            sinks.add(sink);
+        }
+
+        sent = Counter.builder("lms.outbox.events").tag("outcome", "sent")
+                .description("Outbox events delivered to every sink").register(meterRegistry);
+        failed = Counter.builder("lms.outbox.events").tag("outcome", "failed")
+                .description("Outbox deliveries that failed and will be retried").register(meterRegistry);
+        dead = Counter.builder("lms.outbox.events").tag("outcome", "dead")
+                .description("Outbox events given up on after lms.outbox.max-attempts").register(meterRegistry);
+        batchTimer = Timer.builder("lms.outbox.dispatch")
+                .description("Time to fetch, publish and mark one batch").register(meterRegistry);
+        deliveryLag = Timer.builder("lms.outbox.delivery.lag")
+                .description("Time from the status change to delivery")
+                .publishPercentileHistogram().register(meterRegistry);
+        Gauge.builder("lms.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet delivered").register(meterRegistry);
+        TimeGauge.builder("lms.outbox.lag", oldestPendingMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${lms.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // A replica could still show events as pending after they were marked sent
+            PrimaryReads.call(this::drain);
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+
+    /**
+     * Dispatches batches until one comes back short, then refreshes the backlog gauges.
+     * Returns the number of events delivered.
+     */
+    public int drain() {
+        int delivered = 0;
+        int fetched;
+        do {
+            BatchResult result = dispatchBatch();
+            delivered += result.delivered();
+            fetched = result.fetched();
+            // A full batch that delivered nothing is blocked on retries; wait for the next poll
+            if (result.delivered() == 0) {
+                break;
+            }
+        } while (fetched == batchSize);
+        refreshGauges();
+        return delivered;
+    }
+
+    BatchResult dispatchBatch() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING,
+                PageRequest.of(0, batchSize));
+
+        Set<Long> blockedEmployees = new HashSet<>();
+        List<OutboxEvent> published = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (blockedEmployees.contains(event.getEmployeeId())) {
+                continue;
+            }
+            if (event.getNextAttemptAt() != null && event.getNextAttemptAt().isAfter(now)) {
+                blockedEmployees.add(event.getEmployeeId());
+                continue;
+            }
+            try {
+                for (OutboxSink sink : sinks) {
+                    sink.publish(event);
+                }
+                published.add(event);
+            } catch (Exception e) {
+                if (!fail(event, e, now)) {
+                    blockedEmployees.add(event.getEmployeeId());
+                }
+            }
+        }
+
+        int delivered = 0;
+        if (!published.isEmpty()) {
+            try {
+                for (OutboxSink sink : sinks) {
+                    sink.flush();
+                }
+                delivered = markSent(published);
+            } catch (Exception e) {
+                // Nothing of this batch is known to be delivered; all of it is retried
+                for (OutboxEvent event : published) {
+                    fail(event, e, now);
+                }
+            }
+        }
+        sample.stop(batchTimer);
+        return new BatchResult(events.size(), delivered);
+    }
+
+    @Scheduled(cron = "${lms.outbox.purge-cron:0 45 3 * * *}")
+    public void purgeDelivered() {
+        int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} delivered outbox events older than {}", deleted, retention);
+        }
+    }
+
+    private int markSent(List<OutboxEvent> published) {
+        LocalDateTime dispatchedAt = LocalDateTime.now();
+        List<Long> ids = published.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += MARK_SENT_CHUNK_SIZE) {
+            updated += outboxEventRepository.markSent(
+                    ids.subList(from, Math.min(from + MARK_SENT_CHUNK_SIZE, ids.size())), dispatchedAt);
+        }
+        sent.increment(updated);
+        for (OutboxEvent event : published) {
+            deliveryLag.record(Duration.between(event.getCreatedAt(), dispatchedAt));
+        }
+        return updated;
+    }
+
+    // Schedules the next attempt with exponential backoff; returns true if the event was given up on
+    private boolean fail(OutboxEvent event, Exception cause, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        String error = String.valueOf(cause.getMessage());
+        if (error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.markFailed(event.getId(), OutboxStatus.DEAD, attempts, null, error);
+            dead.increment();
+            log.error("Giving up on outbox event {} ({} for employee {}) after {} attempts, later events of the " +
+                    "employee are delivered without it", event.getId(), event.getEventType(),
+                    event.getEmployeeId(), attempts, cause);
+            return true;
+        }
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        outboxEventRepository.markFailed(event.getId(), OutboxStatus.PENDING, attempts, now.plus(delay), error);
+        failed.increment();
+        log.warn("Outbox event {} failed (attempt {}), retrying in {}: {}", event.getId(), attempts, delay, error);
+        return false;
+    }
+
+    private void refreshGauges() {
+        pending.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+        oldestPendingMillis.set(outboxEventRepository.findFirstByStatusOrderByIdAsc(OutboxStatus.PENDING)
+                .map(event -> Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+
+    record BatchResult(int fetched, int delivered) {
+    }
+}
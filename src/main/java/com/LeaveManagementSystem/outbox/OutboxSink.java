@@ -0,0 +1,24 @@
+package com.LeaveManagementSystem.outbox;
+
+import com.LeaveManagementSystem.model.OutboxEvent;
+
+/**
+ * Destination for outbox events, selected by name in lms.outbox.sinks. Delivery is at least once:
+ * an event is sent again if the dispatcher fails before recording it as sent, so receivers should
+ * deduplicate on the event id.
+ */
+public interface OutboxSink {
+
+    String getName();
+
+    /**
+     * Throws to have the event retried with backoff.
+     */
+    void publish(OutboxEvent event) throws Exception;
+
+    /**
+     * Called once after every batch, before its events are marked sent.
+     */
+    default void flush() throws Exception {
+    }
+}
@@ -0,0 +1,7 @@
+package com.LeaveManagementSystem.repository;
+
+/**
+ * Approved leave days of one employee summed over a range of months.
+ */
+public record AbsenteeTotal(Long employeeId, String department, Long approvedDays) {
+}
@@ -0,0 +1,31 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.AccrualPartition;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Repository
+public interface AccrualPartitionRepository extends JpaRepository<AccrualPartition, Long> {
+
+    List<AccrualPartition> findByRunIdOrderByIdAsc(Long runId);
+
+    // Runs in the transaction of the chunk it records, so the checkpoint and the chunk commit together
+    @Modifying
+    @Query("UPDATE AccrualPartition p SET p.checkpointId = :checkpointId, p.processed = p.processed + :processed " +
+            "WHERE p.id = :id")
+    int advance(@Param("id") Long id, @Param("checkpointId") long checkpointId, @Param("processed") long processed);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccrualPartition p SET p.done = true WHERE p.id = :id")
+    int markDone(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(SUM(p.processed), 0) FROM AccrualPartition p WHERE p.runId = :runId")
+    long sumProcessed(@Param("runId") Long runId);
+}
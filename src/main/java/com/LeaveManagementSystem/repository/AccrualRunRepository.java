@@ -0,0 +1,17 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.AccrualRun;
+import com.LeaveManagementSystem.model.AccrualRunStatus;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccrualRunRepository extends JpaRepository<AccrualRun, Long> {
+
+    Optional<AccrualRun> findFirstByYearAndThroughMonthOrderByIdDesc(Integer year, Integer throughMonth);
+
+    List<AccrualRun> findByStatusOrderByIdAsc(AccrualRunStatus status);
+}
@@ -0,0 +1,9 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+/**
+ * Id, owner and status of a leave request the archiver looks at, read by constructor expression.
+ */
+public record ArchivableLeave(Long id, Long employeeId, LeaveStatus status) {
+}
@@ -0,0 +1,35 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.ArchivedLeaveRequest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedLeaveRequestRepository extends JpaRepository<ArchivedLeaveRequest, Long>,
+        ArchivedLeaveRequestRepositoryCustom {
+
+    List<ArchivedLeaveRequest> findByEmployeeIdOrderByIdAsc(Long employeeId);
+
+    // Copies decided rows as they are; the caller deletes the same ids from leave_requests in its transaction
+    @Modifying
+    @Query(value = "INSERT INTO leave_requests_archive (id, employee_id, start_date, end_date, days, reason, " +
+            "status, created_at, updated_at, version, archived_at) " +
+            "SELECT id, employee_id, start_date, end_date, days, reason, status, created_at, updated_at, " +
+            "version, :archivedAt FROM leave_requests WHERE id IN (:ids) AND status <> 'PENDING'",
+            nativeQuery = true)
+    int copyFromLeaveRequests(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Only decided requests are archived, so there are no pending totals
+    @Query("SELECT lr.employeeId AS employeeId, YEAR(lr.startDate) AS year, lr.status AS status, " +
+            "SUM(lr.days) AS totalDays FROM ArchivedLeaveRequest lr " +
+            "WHERE lr.status = 'APPROVED' " +
+            "GROUP BY lr.employeeId, YEAR(lr.startDate), lr.status")
+    List<LeaveRequestRepository.LedgerTotals> aggregateLedgerTotals();
+}
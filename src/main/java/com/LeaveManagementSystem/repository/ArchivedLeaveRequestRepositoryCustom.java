@@ -0,0 +1,10 @@
+package com.LeaveManagementSystem.repository;
+
+import java.util.List;
+
+public interface ArchivedLeaveRequestRepositoryCustom {
+
+    List<RollupTotals> aggregateRollupTotals();
+
+    List<EmployeeRollupTotals> aggregateEmployeeRollupTotals();
+}
@@ -0,0 +1,25 @@
+package com.LeaveManagementSystem.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+public class ArchivedLeaveRequestRepositoryImpl implements ArchivedLeaveRequestRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RollupTotals> aggregateRollupTotals() {
+        return entityManager.createQuery(LeaveRequestRepositoryImpl.rollupTotalsQuery("ArchivedLeaveRequest"),
+                RollupTotals.class).getResultList();
+    }
+
+    @Override
+    public List<EmployeeRollupTotals> aggregateEmployeeRollupTotals() {
+        return entityManager.createQuery(
+                LeaveRequestRepositoryImpl.employeeRollupTotalsQuery("ArchivedLeaveRequest"),
+                EmployeeRollupTotals.class).getResultList();
+    }
+}
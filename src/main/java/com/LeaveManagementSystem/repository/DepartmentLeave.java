@@ -0,0 +1,11 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Date range of one employee's leave request, read by constructor expression to load a department's occupancy.
+ */
+public record DepartmentLeave(Long employeeId, LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+}
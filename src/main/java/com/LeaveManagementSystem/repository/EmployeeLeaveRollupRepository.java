@@ -0,0 +1,31 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.EmployeeLeaveRollup;
+import com.LeaveManagementSystem.model.EmployeeLeaveRollupId;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EmployeeLeaveRollupRepository extends JpaRepository<EmployeeLeaveRollup, EmployeeLeaveRollupId> {
+
+    @Modifying
+    @Query("UPDATE EmployeeLeaveRollup r SET r.approvedDays = r.approvedDays + :days, r.version = r.version + 1 " +
+            "WHERE r.employeeId = :employeeId AND r.month = :month")
+    int addApprovedDays(@Param("employeeId") Long employeeId,
+                        @Param("month") LocalDate month,
+                        @Param("days") long days);
+
+    @Query("SELECT new com.LeaveManagementSystem.repository.AbsenteeTotal(r.employeeId, r.department, " +
+            "SUM(r.approvedDays)) FROM EmployeeLeaveRollup r " +
+            "WHERE r.month BETWEEN :from AND :to AND (:department IS NULL OR r.department = :department) " +
+            "GROUP BY r.employeeId, r.department")
+    List<AbsenteeTotal> sumApprovedDays(@Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("department") String department);
+}
@@ -2,12 +2,56 @@ package com.LeaveManagementSystem.repository;
 
 import com.LeaveManagementSystem.model.Employee;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    long countByDepartment(String department);
+
+    // Row locks on the whole department, held until commit: staffing checks for it run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.department = :department ORDER BY e.id")
+    List<Employee> lockByDepartment(@Param("department") String department);
+
+    // Row locks on the given employees, taken in id order, held until commit: their applications run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.id IN :ids ORDER BY e.id")
+    List<Employee> lockAllById(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages: callers pass an unsorted Pageable of size limit, ordering is fixed on id
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<Employee> findByDepartmentAndIdGreaterThanOrderByIdAsc(String department, Long afterId, Pageable pageable);
+
+    // Next chunk of an accrual partition, which covers ids in (afterId, lastId]
+    List<Employee> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long lastId, Pageable pageable);
+
+    @Query("SELECT MIN(e.id) FROM Employee e")
+    Long findMinId();
+
+    @Query("SELECT MAX(e.id) FROM Employee e")
+    Long findMaxId();
+
+    @Query("SELECT e FROM Employee e WHERE (:department IS NULL OR e.department = :department) ORDER BY e.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Employee> streamByDepartment(@Param("department") String department);
 }
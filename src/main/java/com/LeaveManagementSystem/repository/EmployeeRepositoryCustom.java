@@ -0,0 +1,20 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.dto.LeaveBalanceDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lookups over many employees at once. Leave balances are one join of employees to the year's
+ * ledger row instead of a lookup per employee, ordered by employee id.
+ */
+public interface EmployeeRepositoryCustom {
+
+    List<LeaveBalanceDTO> findLeaveBalances(Collection<Long> ids, int year);
+
+    List<LeaveBalanceDTO> findLeaveBalancesByDepartment(String department, int year);
+
+    // Which of the given emails already belong to an employee
+    List<String> findExistingEmails(Collection<String> emails);
+}
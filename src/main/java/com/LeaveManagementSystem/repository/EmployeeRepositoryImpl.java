@@ -0,0 +1,49 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.dto.LeaveBalanceDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain SQL rather than JPQL: Hibernate translates a query with a list parameter again for every
+ * list size it sees, which cost several times the query itself at a thousand ids.
+ */
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    private static final String SELECT_BALANCES =
+            "SELECT e.id, e.name, e.annual_leave_balance, COALESCE(l.used_days, 0) AS used_days " +
+            "FROM employees e LEFT JOIN leave_ledger l ON l.employee_id = e.id AND l.ledger_year = :year ";
+
+    private static final RowMapper<LeaveBalanceDTO> BALANCE_MAPPER = (rs, rowNum) -> {
+        int allowed = rs.getInt("annual_leave_balance");
+        int used = rs.getInt("used_days");
+        return new LeaveBalanceDTO(rs.getLong("id"), rs.getString("name"), allowed, used, allowed - used);
+    };
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<LeaveBalanceDTO> findLeaveBalances(Collection<Long> ids, int year) {
+        return jdbcTemplate.query(SELECT_BALANCES + "WHERE e.id IN (:ids) ORDER BY e.id",
+                new MapSqlParameterSource("ids", ids).addValue("year", year), BALANCE_MAPPER);
+    }
+
+    @Override
+    public List<LeaveBalanceDTO> findLeaveBalancesByDepartment(String department, int year) {
+        return jdbcTemplate.query(SELECT_BALANCES + "WHERE e.department = :department ORDER BY e.id",
+                new MapSqlParameterSource("department", department).addValue("year", year), BALANCE_MAPPER);
+    }
+
+    @Override
+    public List<String> findExistingEmails(Collection<String> emails) {
+        return jdbcTemplate.queryForList("SELECT email FROM employees WHERE email IN (:emails)",
+                new MapSqlParameterSource("emails", emails), String.class);
+    }
+}
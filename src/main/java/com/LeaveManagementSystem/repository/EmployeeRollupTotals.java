@@ -0,0 +1,8 @@
+package com.LeaveManagementSystem.repository;
+
+/**
+ * Approved leave days of one employee in one month, aggregated straight from leave_requests.
+ */
+public record EmployeeRollupTotals(Long employeeId, String department, Integer year, Integer month,
+                                   Long approvedDays) {
+}
@@ -0,0 +1,22 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveEntitlement;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface LeaveEntitlementRepository extends JpaRepository<LeaveEntitlement, LeaveLedgerId> {
+
+    // Rows of [fromYear, toYear] for the employee ids in (afterId, lastId], the key range of an accrual chunk
+    @Query("SELECT e FROM LeaveEntitlement e WHERE e.year BETWEEN :fromYear AND :toYear " +
+            "AND e.employeeId > :afterId AND e.employeeId <= :lastId")
+    List<LeaveEntitlement> findInIdRange(@Param("fromYear") Integer fromYear,
+                                         @Param("toYear") Integer toYear,
+                                         @Param("afterId") Long afterId,
+                                         @Param("lastId") Long lastId);
+}
@@ -0,0 +1,11 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Date range of one leave request, read by constructor expression to load the in-memory indexes.
+ */
+public record LeaveInterval(Long id, LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+}
@@ -0,0 +1,52 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveLedger;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedger, LeaveLedgerId> {
+
+    List<LeaveLedger> findByEmployeeIdInAndYearIn(Collection<Long> employeeIds, Collection<Integer> years);
+
+    // Rows of one year for the employee ids in (afterId, lastId], the key range of an accrual chunk
+    @Query("SELECT l FROM LeaveLedger l WHERE l.year = :year AND l.employeeId > :afterId AND l.employeeId <= :lastId")
+    List<LeaveLedger> findByYearInIdRange(@Param("year") Integer year,
+                                          @Param("afterId") Long afterId,
+                                          @Param("lastId") Long lastId);
+
+    // Approved days per employee over whole years, for absentee rankings that would otherwise sum months
+    @Query("SELECT new com.LeaveManagementSystem.repository.AbsenteeTotal(l.employeeId, e.department, " +
+            "SUM(l.usedDays)) FROM LeaveLedger l JOIN Employee e ON e.id = l.employeeId " +
+            "WHERE l.year BETWEEN :fromYear AND :toYear AND (:department IS NULL OR e.department = :department) " +
+            "GROUP BY l.employeeId, e.department")
+    List<AbsenteeTotal> sumUsedDays(@Param("fromYear") int fromYear,
+                                    @Param("toYear") int toYear,
+                                    @Param("department") String department);
+
+    // Single-row deltas are applied in SQL so concurrent writers queue on the row lock instead of
+    // failing a version check; the version is still bumped for entity-based writers.
+    @Modifying
+    @Query("UPDATE LeaveLedger l SET l.pendingDays = l.pendingDays + :days, l.version = l.version + 1 " +
+            "WHERE l.employeeId = :employeeId AND l.year = :year")
+    int addPendingDays(@Param("employeeId") Long employeeId,
+                       @Param("year") Integer year,
+                       @Param("days") int days);
+
+    // Balance check and update in one statement: matches no row when the approval would overdraw
+    @Modifying
+    @Query("UPDATE LeaveLedger l SET l.pendingDays = l.pendingDays - :days, l.usedDays = l.usedDays + :days, " +
+            "l.version = l.version + 1 " +
+            "WHERE l.employeeId = :employeeId AND l.year = :year AND l.usedDays + :days <= :allowance")
+    int movePendingToUsed(@Param("employeeId") Long employeeId,
+                          @Param("year") Integer year,
+                          @Param("days") int days,
+                          @Param("allowance") int allowance);
+}
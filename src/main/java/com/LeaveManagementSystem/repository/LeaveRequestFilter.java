@@ -0,0 +1,30 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria for listing leave requests; null fields are not applied.
+ * from/to select requests whose date range overlaps [from, to].
+ */
+public class LeaveRequestFilter {
+    private LeaveStatus status;
+    private String department;
+    private LocalDate from;
+    private LocalDate to;
+
+    public LeaveRequestFilter() {}
+
+    public LeaveRequestFilter(LeaveStatus status, String department, LocalDate from, LocalDate to) {
+        this.status = status;
+        this.department = department;
+        this.from = from;
+        this.to = to;
+    }
+
+    public LeaveStatus getStatus() { return status; }
+    public String getDepartment() { return department; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+}
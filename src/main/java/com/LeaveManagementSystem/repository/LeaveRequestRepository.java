@@ -4,33 +4,115 @@ package com.LeaveManagementSystem.repository;
 import com.LeaveManagementSystem.model.LeaveRequest;
 import com.LeaveManagementSystem.model.LeaveStatus;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long>, LeaveRequestRepositoryCustom {
 
     List<LeaveRequest> findByEmployeeId(Long employeeId);
 
     List<LeaveRequest> findByEmployeeIdAndStatus(Long employeeId, LeaveStatus status);
 
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employeeId = :employeeId " +
-            "AND lr.status = 'APPROVED' " +
-            "AND ((lr.startDate <= :endDate AND lr.endDate >= :startDate))")
-    List<LeaveRequest> findOverlappingApprovedLeaves(
-            @Param("employeeId") Long employeeId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
+    boolean existsByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            Long employeeId, Collection<LeaveStatus> statuses, LocalDate endDate, LocalDate startDate);
+
+    // Existence check only: the query stops at the first overlapping row instead of loading entities
+    default boolean existsOverlapping(Long employeeId, Collection<LeaveStatus> statuses,
+                                      LocalDate startDate, LocalDate endDate) {
+        return existsByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                employeeId, statuses, endDate, startDate);
+    }
+
+    // Ids among the given requests whose dates overlap another APPROVED request of the same employee
+    @Query("SELECT DISTINCT lr.id FROM LeaveRequest lr, LeaveRequest other WHERE lr.id IN :ids " +
+            "AND other.employeeId = lr.employeeId AND other.id <> lr.id AND other.status = 'APPROVED' " +
+            "AND other.startDate <= lr.endDate AND other.endDate >= lr.startDate")
+    List<Long> findOverlappingApproved(@Param("ids") Collection<Long> ids);
+
+    // Ids among the given requests whose dates overlap another PENDING or APPROVED request of the same employee
+    @Query("SELECT DISTINCT lr.id FROM LeaveRequest lr, LeaveRequest other WHERE lr.id IN :ids " +
+            "AND other.employeeId = lr.employeeId AND other.id <> lr.id " +
+            "AND other.status IN ('PENDING', 'APPROVED') " +
+            "AND other.startDate <= lr.endDate AND other.endDate >= lr.startDate")
+    List<Long> findOverlappingActive(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.LeaveManagementSystem.repository.LeaveInterval(lr.id, lr.startDate, lr.endDate, " +
+            "lr.status) FROM LeaveRequest lr WHERE lr.employeeId = :employeeId " +
+            "AND lr.status IN ('PENDING', 'APPROVED')")
+    List<LeaveInterval> findActiveIntervals(@Param("employeeId") Long employeeId);
+
+    // Requests still running on or after :from; the end date is compared bare so it is read from the index
+    @Query("SELECT new com.LeaveManagementSystem.repository.DepartmentLeave(lr.employeeId, lr.startDate, " +
+            "lr.endDate, lr.status) FROM LeaveRequest lr " +
+            "WHERE lr.employeeId IN (SELECT e.id FROM Employee e WHERE e.department = :department) " +
+            "AND lr.status IN ('PENDING', 'APPROVED') AND lr.endDate >= :from")
+    List<DepartmentLeave> findActiveLeavesInDepartment(@Param("department") String department,
+                                                       @Param("from") LocalDate from);
+
+    @Query("SELECT new com.LeaveManagementSystem.repository.DepartmentLeave(lr.employeeId, lr.startDate, " +
+            "lr.endDate, lr.status) FROM LeaveRequest lr " +
+            "WHERE lr.employeeId IN (SELECT e.id FROM Employee e WHERE e.department = :department) " +
+            "AND lr.status = 'APPROVED' AND lr.startDate <= :endDate AND lr.endDate >= :startDate")
+    List<DepartmentLeave> findApprovedLeavesInDepartment(@Param("department") String department,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
 
     @Query("SELECT SUM(lr.days) FROM LeaveRequest lr WHERE lr.employeeId = :employeeId " +
             "AND lr.status = 'APPROVED' " +
-            "AND YEAR(lr.startDate) = :year")
-    Integer getTotalApprovedLeaveDaysForYear(@Param("employeeId") Long employeeId,
-                                             @Param("year") int year);
+            "AND lr.startDate >= :fromDate AND lr.startDate < :toDate")
+    Integer getTotalApprovedLeaveDaysStartingBetween(@Param("employeeId") Long employeeId,
+                                                     @Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate);
+
+    // Range predicate instead of YEAR(start_date) so idx_leave_emp_status_dates can be used
+    default Integer getTotalApprovedLeaveDaysForYear(Long employeeId, int year) {
+        return getTotalApprovedLeaveDaysStartingBetween(employeeId,
+                LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+
+    // Only rows that are still PENDING flip, so a concurrent decision shows up as a lower update count.
+    // The persistence context is deliberately not cleared: ledger rows read for the balance check keep
+    // their version, so a ledger write that raced the check fails on flush.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.status = :status, lr.updatedAt = :updatedAt, " +
+            "lr.version = lr.version + 1 " +
+            "WHERE lr.id IN :ids AND lr.status = 'PENDING'")
+    int decidePending(@Param("ids") Collection<Long> ids,
+                      @Param("status") LeaveStatus status,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Requests that ended before the cutoff, in id order after the archiver's last chunk. No status
+    // predicate: with one the optimizer prefers idx_leave_status and sorts every decided row per chunk,
+    // without one it walks the primary key from afterId.
+    @Query("SELECT new com.LeaveManagementSystem.repository.ArchivableLeave(lr.id, lr.employeeId, lr.status) " +
+            "FROM LeaveRequest lr WHERE lr.id > :afterId AND lr.endDate < :cutoff ORDER BY lr.id")
+    List<ArchivableLeave> findEndedBefore(@Param("cutoff") LocalDate cutoff, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM LeaveRequest lr WHERE lr.id IN :ids AND lr.status <> 'PENDING'")
+    int deleteDecided(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT lr.employeeId AS employeeId, YEAR(lr.startDate) AS year, lr.status AS status, " +
+            "SUM(lr.days) AS totalDays FROM LeaveRequest lr " +
+            "WHERE lr.status IN ('PENDING', 'APPROVED') " +
+            "GROUP BY lr.employeeId, YEAR(lr.startDate), lr.status")
+    List<LedgerTotals> aggregateLedgerTotals();
+
+    interface LedgerTotals {
+        Long getEmployeeId();
+        Integer getYear();
+        LeaveStatus getStatus();
+        Long getTotalDays();
+    }
 }
 
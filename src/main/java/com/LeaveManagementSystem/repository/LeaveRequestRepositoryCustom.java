@@ -0,0 +1,17 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveRequest;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface LeaveRequestRepositoryCustom {
+
+    List<LeaveRequest> findPage(LeaveRequestFilter filter, Long afterId, int limit);
+
+    Stream<LeaveRequest> streamAll(LeaveRequestFilter filter);
+
+    List<RollupTotals> aggregateRollupTotals();
+
+    List<EmployeeRollupTotals> aggregateEmployeeRollupTotals();
+}
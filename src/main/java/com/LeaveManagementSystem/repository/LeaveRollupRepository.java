@@ -0,0 +1,34 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveRollup;
+import com.LeaveManagementSystem.model.LeaveRollupId;
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LeaveRollupRepository extends JpaRepository<LeaveRollup, LeaveRollupId> {
+
+    List<LeaveRollup> findByMonthBetweenOrderByDepartmentAscMonthAsc(LocalDate from, LocalDate to);
+
+    List<LeaveRollup> findByDepartmentAndMonthBetweenOrderByMonthAsc(String department, LocalDate from, LocalDate to);
+
+    // Deltas are applied in SQL, like the ledger's, so concurrent decisions queue on the row lock
+    @Modifying
+    @Query("UPDATE LeaveRollup r SET r.requestCount = r.requestCount + :requests, " +
+            "r.totalDays = r.totalDays + :days, r.turnaroundSeconds = r.turnaroundSeconds + :turnaroundSeconds, " +
+            "r.version = r.version + 1 " +
+            "WHERE r.department = :department AND r.month = :month AND r.status = :status")
+    int add(@Param("department") String department,
+            @Param("month") LocalDate month,
+            @Param("status") LeaveStatus status,
+            @Param("requests") long requests,
+            @Param("days") long days,
+            @Param("turnaroundSeconds") long turnaroundSeconds);
+}
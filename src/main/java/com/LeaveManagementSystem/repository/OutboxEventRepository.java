@@ -0,0 +1,52 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.OutboxEvent;
+import com.LeaveManagementSystem.model.OutboxStatus;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Served by idx_outbox_status_id, so a poll reads the head of the queue and nothing else
+    List<OutboxEvent> findByStatusOrderByIdAsc(OutboxStatus status, Pageable pageable);
+
+    Optional<OutboxEvent> findFirstByStatusOrderByIdAsc(OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    // The dispatcher runs outside any service transaction, so each status change commits on its own
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'SENT', e.attempts = e.attempts + 1, " +
+            "e.dispatchedAt = :dispatchedAt, e.lastError = null " +
+            "WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = :attempts, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError " +
+            "WHERE e.id = :id AND e.status = 'PENDING'")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") OutboxStatus status,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'SENT' AND e.dispatchedAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,25 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.RollupLock;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface RollupLockRepository extends JpaRepository<RollupLock, Integer> {
+
+    // Taken by every rollup delta; shared locks do not block each other
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT l FROM RollupLock l WHERE l.id = :id")
+    Optional<RollupLock> lockShared(@Param("id") Integer id);
+
+    // Taken by the full recompute, which waits for deltas in flight and holds off new ones until it commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM RollupLock l WHERE l.id = :id")
+    Optional<RollupLock> lockExclusive(@Param("id") Integer id);
+}
@@ -0,0 +1,10 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+/**
+ * One department, month and status aggregated straight from leave_requests.
+ */
+public record RollupTotals(String department, Integer year, Integer month, LeaveStatus status,
+                           Long requestCount, Long totalDays, Long turnaroundSeconds) {
+}
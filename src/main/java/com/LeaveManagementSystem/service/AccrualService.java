@@ -0,0 +1,434 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.cache.EmployeeCache;
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.config.PrimaryReads;
+import com.LeaveManagementSystem.dto.AccrualRunDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.AccrualPartition;
+import com.LeaveManagementSystem.model.AccrualRun;
+import com.LeaveManagementSystem.model.AccrualRunStatus;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveEntitlement;
+import com.LeaveManagementSystem.model.LeaveLedger;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
+import com.LeaveManagementSystem.repository.AccrualPartitionRepository;
+import com.LeaveManagementSystem.repository.AccrualRunRepository;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveEntitlementRepository;
+import com.LeaveManagementSystem.repository.LeaveLedgerRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Accrues leave entitlements for every employee: days earned in the year, prorated by whole months
+ * from the joining date (a month counts if the employee joined by its 15th), plus unused days of the
+ * previous year up to lms.accrual.carry-over-cap. Results are the same however often a run repeats.
+ * <p>
+ * A run splits the employee id range into partitions, works through them on a pool of
+ * lms.accrual.workers threads and commits each chunk together with its partition's checkpoint, so
+ * an interrupted or failed run resumes where it stopped. One run at a time per instance; a single
+ * instance is expected to run the scheduler (lms.accrual.scheduler.enabled).
+ */
+@Service
+public class AccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccrualService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private LeaveEntitlementRepository leaveEntitlementRepository;
+
+    @Autowired
+    private AccrualRunRepository accrualRunRepository;
+
+    @Autowired
+    private AccrualPartitionRepository accrualPartitionRepository;
+
+    @Autowired
+    private TransactionRetrier transactionRetrier;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${lms.accrual.scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+
+    // Credit the year's days month by month instead of all at once in January
+    @Value("${lms.accrual.monthly:false}")
+    private boolean monthly;
+
+    @Value("${lms.accrual.annual-days:30}")
+    private int annualDays;
+
+    @Value("${lms.accrual.carry-over-cap:5}")
+    private int carryOverCap;
+
+    @Value("${lms.accrual.partitions:16}")
+    private int partitionCount;
+
+    @Value("${lms.accrual.workers:4}")
+    private int workers;
+
+    @Value("${lms.accrual.chunk-size:1000}")
+    private int chunkSize;
+
+    // Id of the run in progress, -1 while one is being prepared
+    private final AtomicReference<Long> activeRun = new AtomicReference<>();
+    private final AtomicLong runTotal = new AtomicLong();
+    private final AtomicLong runProcessed = new AtomicLong();
+
+    private ExecutorService coordinator;
+    private Counter accrued;
+    private Timer chunkTimer;
+
+    @PostConstruct
+    void init() {
+        coordinator = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("accrual-run-"));
+        accrued = Counter.builder("lms.accrual.employees")
+                .description("Employees whose entitlement was accrued").register(meterRegistry);
+        chunkTimer = Timer.builder("lms.accrual.chunk")
+                .description("Time to accrue and commit one chunk of employees").register(meterRegistry);
+        Gauge.builder("lms.accrual.progress", this, service -> service.runTotal.get() == 0 ? 0
+                        : (double) service.runProcessed.get() / service.runTotal.get())
+                .description("Share of employees done in the current or last accrual run").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Workers stop between chunks; the next start resumes from the committed checkpoints
+        coordinator.shutdownNow();
+    }
+
+    /**
+     * Days accrued in the year up to and including throughMonth, before carry-over.
+     */
+    public int accruedDays(LocalDate joiningDate, int year, int throughMonth) {
+        YearMonth firstMonth = YearMonth.from(joiningDate);
+        if (joiningDate.getDayOfMonth() > 15) {
+            firstMonth = firstMonth.plusMonths(1);
+        }
+        if (firstMonth.getYear() < year) {
+            firstMonth = YearMonth.of(year, 1);
+        }
+        YearMonth lastMonth = YearMonth.of(year, throughMonth);
+        if (firstMonth.isAfter(lastMonth)) {
+            return 0;
+        }
+        long months = ChronoUnit.MONTHS.between(firstMonth, lastMonth) + 1;
+        return (int) Math.round(annualDays * months / 12.0);
+    }
+
+    /**
+     * Allowance of an employee added today, so new joiners do not wait for the next run to be prorated.
+     */
+    public int openingAllowance(LocalDate joiningDate) {
+        LocalDate today = LocalDate.now();
+        return accruedDays(joiningDate, today.getYear(), monthly ? today.getMonthValue() : 12);
+    }
+
+    /**
+     * Starts a run in the background, or resumes the unfinished one for the same year and month.
+     */
+    public AccrualRunDTO start(int year, int throughMonth) {
+        AccrualRun run = prepare(year, throughMonth);
+        coordinator.submit(() -> execute(run));
+        return toDTO(run, PrimaryReads.call(() -> accrualPartitionRepository.findByRunIdOrderByIdAsc(run.getId())));
+    }
+
+    /**
+     * Like start(), but returns once the run has finished.
+     */
+    public AccrualRunDTO run(int year, int throughMonth) {
+        AccrualRun run = prepare(year, throughMonth);
+        execute(run);
+        return getRun(run.getId());
+    }
+
+    public AccrualRunDTO getRun(Long runId) {
+        return PrimaryReads.call(() -> {
+            AccrualRun run = accrualRunRepository.findById(runId)
+                    .orElseThrow(() -> new InvalidLeaveRequestException("Accrual run not found with ID: " + runId));
+            return toDTO(run, accrualPartitionRepository.findByRunIdOrderByIdAsc(runId));
+        });
+    }
+
+    @Scheduled(cron = "${lms.accrual.cron:0 0 1 1 * *}")
+    public void scheduledAccrual() {
+        LocalDate today = LocalDate.now();
+        if (!schedulerEnabled || (!monthly && today.getMonthValue() != 1)) {
+            return;
+        }
+        int throughMonth = monthly ? today.getMonthValue() : 12;
+        boolean done = PrimaryReads.call(() -> accrualRunRepository
+                .findFirstByYearAndThroughMonthOrderByIdDesc(today.getYear(), throughMonth)
+                .filter(run -> run.getStatus() == AccrualRunStatus.COMPLETED)
+                .isPresent());
+        if (!done) {
+            run(today.getYear(), throughMonth);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!schedulerEnabled) {
+            return;
+        }
+        // A run still marked RUNNING was cut short by a shutdown
+        PrimaryReads.call(() -> accrualRunRepository.findByStatusOrderByIdAsc(AccrualRunStatus.RUNNING))
+                .stream()
+                .findFirst()
+                .ifPresent(run -> {
+                    log.info("Resuming accrual run {} for {}-{}", run.getId(), run.getYear(), run.getThroughMonth());
+                    start(run.getYear(), run.getThroughMonth());
+                });
+    }
+
+    private AccrualRun prepare(int year, int throughMonth) {
+        if (throughMonth < 1 || throughMonth > 12) {
+            throw new InvalidLeaveRequestException("Month must be between 1 and 12");
+        }
+        if (year < 1970 || year > LocalDate.now().getYear() + 1) {
+            throw new InvalidLeaveRequestException("Accrual year " + year + " is out of range");
+        }
+        if (!activeRun.compareAndSet(null, -1L)) {
+            throw new InvalidLeaveRequestException("An accrual run is already in progress");
+        }
+        try {
+            AccrualRun run = PrimaryReads.call(() -> accrualRunRepository
+                    .findFirstByYearAndThroughMonthOrderByIdDesc(year, throughMonth))
+                    .filter(existing -> existing.getStatus() != AccrualRunStatus.COMPLETED)
+                    .orElseGet(() -> createRun(year, throughMonth));
+            activeRun.set(run.getId());
+            return run;
+        } catch (RuntimeException e) {
+            activeRun.set(null);
+            throw e;
+        }
+    }
+
+    // Package-private so tests can interrupt a run between chunks
+    AccrualRun createRun(int year, int throughMonth) {
+        return transactionRetrier.execute(() -> {
+            Long minId = employeeRepository.findMinId();
+            Long maxId = employeeRepository.findMaxId();
+            AccrualRun run = accrualRunRepository.save(new AccrualRun(year, throughMonth,
+                    employeeRepository.count(), LocalDateTime.now()));
+            if (minId != null) {
+                // Equal-width id ranges; ids are dense enough that partitions come out similar in size
+                long width = Math.max(1, (maxId - minId + partitionCount) / partitionCount);
+                for (long from = minId - 1; from < maxId; from += width) {
+                    accrualPartitionRepository.save(new AccrualPartition(run.getId(), from,
+                            Math.min(from + width, maxId)));
+                }
+            }
+            return run;
+        });
+    }
+
+    private void execute(AccrualRun run) {
+        long startedAt = System.nanoTime();
+        String error = null;
+        boolean interrupted = false;
+        try {
+            run.setStatus(AccrualRunStatus.RUNNING);
+            run.setLastError(null);
+            accrualRunRepository.save(run);
+            List<AccrualPartition> pending = PrimaryReads.call(() ->
+                    accrualPartitionRepository.findByRunIdOrderByIdAsc(run.getId())).stream()
+                    .filter(partition -> !partition.isDone())
+                    .collect(Collectors.toList());
+            runTotal.set(run.getTotalEmployees());
+            runProcessed.set(PrimaryReads.call(() -> accrualPartitionRepository.sumProcessed(run.getId())));
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, pending.size())),
+                    new CustomizableThreadFactory("accrual-worker-"));
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (AccrualPartition partition : pending) {
+                    futures.add(pool.submit(() -> processPartition(run, partition)));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        // The other partitions carry on; this one resumes from its checkpoint next time
+                        log.error("Accrual run {} partition failed", run.getId(), e.getCause());
+                        error = String.valueOf(e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            } finally {
+                pool.shutdownNow();
+            }
+        } catch (RuntimeException e) {
+            log.error("Accrual run {} failed", run.getId(), e);
+            error = String.valueOf(e);
+        } finally {
+            // A shutdown leaves the run RUNNING, so the next startup resumes it
+            if (!interrupted) {
+                finish(run, error);
+            }
+            if (run.getYear() == LocalDate.now().getYear()) {
+                // Balance ETags were built from the allowances just replaced
+                employeeVersions.invalidateAll();
+            }
+            activeRun.set(null);
+        }
+        log.info("Accrual run {} for {}-{} {} after {} ms", run.getId(), run.getYear(), run.getThroughMonth(),
+                interrupted ? "interrupted" : run.getStatus(), Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    private void finish(AccrualRun run, String error) {
+        if (error != null && error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+        run.setStatus(error == null ? AccrualRunStatus.COMPLETED : AccrualRunStatus.FAILED);
+        run.setLastError(error);
+        run.setFinishedAt(LocalDateTime.now());
+        accrualRunRepository.save(run);
+    }
+
+    private void processPartition(AccrualRun run, AccrualPartition partition) {
+        // Only the current year's entitlement is what balance checks read from the employee row
+        boolean updateEmployees = run.getYear() == LocalDate.now().getYear();
+        long checkpoint = partition.getCheckpointId();
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Accrual interrupted");
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            long afterId = checkpoint;
+            AccruedChunk chunk = transactionRetrier.execute(() ->
+                    accrueChunk(run, partition, afterId, updateEmployees));
+            sample.stop(chunkTimer);
+            if (updateEmployees) {
+                chunk.employeeIds().forEach(employeeCache::evict);
+            }
+            accrued.increment(chunk.employeeIds().size());
+            runProcessed.addAndGet(chunk.employeeIds().size());
+            if (chunk.employeeIds().size() < chunkSize) {
+                accrualPartitionRepository.markDone(partition.getId());
+                return;
+            }
+            checkpoint = chunk.employeeIds().get(chunk.employeeIds().size() - 1);
+        }
+    }
+
+    AccruedChunk accrueChunk(AccrualRun run, AccrualPartition partition, long afterId, boolean updateEmployees) {
+        int year = run.getYear();
+        List<Employee> employees = employeeRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                afterId, partition.getToId(), PageRequest.ofSize(chunkSize));
+        if (employees.isEmpty()) {
+            return new AccruedChunk(List.of());
+        }
+        long lastId = employees.get(employees.size() - 1).getId();
+        Map<Long, Integer> usedLastYear = new HashMap<>();
+        for (LeaveLedger ledger : leaveLedgerRepository.findByYearInIdRange(year - 1, afterId, lastId)) {
+            usedLastYear.put(ledger.getEmployeeId(), ledger.getUsedDays());
+        }
+        Map<LeaveLedgerId, LeaveEntitlement> entitlements = leaveEntitlementRepository
+                .findInIdRange(year - 1, year, afterId, lastId).stream()
+                .collect(Collectors.toMap(e -> new LeaveLedgerId(e.getEmployeeId(), e.getYear()), e -> e));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> employeeIds = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            LeaveEntitlement previous = entitlements.get(new LeaveLedgerId(employee.getId(), year - 1));
+            // Years before the first run are taken as fully accrued with nothing carried into them
+            int previousTotal = previous != null ? previous.getTotalDays()
+                    : accruedDays(employee.getJoiningDate(), year - 1, 12);
+            int unused = previousTotal - usedLastYear.getOrDefault(employee.getId(), 0);
+
+            LeaveEntitlement entitlement = entitlements.get(new LeaveLedgerId(employee.getId(), year));
+            if (entitlement == null) {
+                entitlement = new LeaveEntitlement(employee.getId(), year);
+                entityManager.persist(entitlement);
+            }
+            entitlement.setAccruedDays(accruedDays(employee.getJoiningDate(), year, run.getThroughMonth()));
+            entitlement.setCarriedOverDays(Math.max(0, Math.min(carryOverCap, unused)));
+            entitlement.setThroughMonth(run.getThroughMonth());
+            entitlement.setComputedAt(now);
+            if (updateEmployees) {
+                employee.setAnnualLeaveBalance(entitlement.getTotalDays());
+            }
+            employeeIds.add(employee.getId());
+        }
+        accrualPartitionRepository.advance(partition.getId(), lastId, employees.size());
+        entityManager.flush();
+        entityManager.clear();
+        return new AccruedChunk(employeeIds);
+    }
+
+    private AccrualRunDTO toDTO(AccrualRun run, List<AccrualPartition> partitions) {
+        AccrualRunDTO dto = new AccrualRunDTO();
+        dto.setId(run.getId());
+        dto.setYear(run.getYear());
+        dto.setThroughMonth(run.getThroughMonth());
+        dto.setStatus(run.getStatus());
+        dto.setTotalEmployees(run.getTotalEmployees());
+        dto.setProcessedEmployees(partitions.stream().mapToLong(AccrualPartition::getProcessed).sum());
+        dto.setPartitions(partitions.size());
+        dto.setPartitionsDone((int) partitions.stream().filter(AccrualPartition::isDone).count());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setFinishedAt(run.getFinishedAt());
+        LocalDateTime end = run.getFinishedAt() != null ? run.getFinishedAt() : LocalDateTime.now();
+        long elapsedMillis = Duration.between(run.getStartedAt(), end).toMillis();
+        dto.setEmployeesPerSecond(elapsedMillis == 0 ? 0 : dto.getProcessedEmployees() * 1000.0 / elapsedMillis);
+        dto.setLastError(run.getLastError());
+        return dto;
+    }
+
+    record AccruedChunk(List<Long> employeeIds) {
+    }
+}
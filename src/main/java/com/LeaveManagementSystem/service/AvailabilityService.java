@@ -0,0 +1,58 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.cache.DepartmentOccupancyIndex;
+import com.LeaveManagementSystem.config.StaffingProperties;
+import com.LeaveManagementSystem.dto.DepartmentAvailabilityDTO;
+import com.LeaveManagementSystem.exception.EmployeeNotFoundException;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class AvailabilityService {
+
+    @Autowired
+    private DepartmentOccupancyIndex departmentOccupancyIndex;
+
+    @Autowired
+    private StaffingProperties staffingProperties;
+
+    @Value("${lms.availability.max-days:366}")
+    private int maxDays;
+
+    private Map<String, Integer> minPresentByDepartment;
+
+    @PostConstruct
+    void init() {
+        Map<String, Integer> normalized = new HashMap<>();
+        staffingProperties.getDepartments().forEach((department, minPresent) ->
+                normalized.put(department.toUpperCase().trim(), minPresent));
+        minPresentByDepartment = Map.copyOf(normalized);
+    }
+
+    public DepartmentAvailabilityDTO getAvailability(String department, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidLeaveRequestException("From date cannot be after to date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new InvalidLeaveRequestException("Availability can cover at most " + maxDays + " days");
+        }
+        String normalizedDepartment = department.toUpperCase().trim();
+        return departmentOccupancyIndex.getAvailability(normalizedDepartment, from, to,
+                        getMinPresent(normalizedDepartment))
+                .orElseThrow(() -> new EmployeeNotFoundException("No employees found in department: " +
+                        normalizedDepartment));
+    }
+
+    public int getMinPresent(String department) {
+        return minPresentByDepartment.getOrDefault(department, staffingProperties.getMinPresent());
+    }
+}
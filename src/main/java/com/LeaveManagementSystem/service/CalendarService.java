@@ -0,0 +1,82 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.calendar.WorkingDayCalendar;
+import com.LeaveManagementSystem.config.CalendarProperties;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the working-day calendar of a department, falling back to the company calendar.
+ * Calendars are built once from lms.calendar at startup.
+ */
+@Service
+public class CalendarService {
+
+    public static final String DEFAULT_CALENDAR = "DEFAULT";
+
+    @Autowired
+    private CalendarProperties calendarProperties;
+
+    private WorkingDayCalendar defaultCalendar;
+    private Map<String, WorkingDayCalendar> departmentCalendars;
+
+    @PostConstruct
+    void init() {
+        defaultCalendar = build(DEFAULT_CALENDAR, calendarProperties.getWeekend(),
+                calendarProperties.getHolidays(), List.of());
+
+        Map<String, WorkingDayCalendar> calendars = new HashMap<>();
+        calendarProperties.getDepartments().forEach((department, settings) -> {
+            String name = department.toUpperCase().trim();
+            Set<DayOfWeek> weekend = settings.getWeekend() != null
+                    ? settings.getWeekend() : calendarProperties.getWeekend();
+            calendars.put(name, build(name, weekend, calendarProperties.getHolidays(), settings.getHolidays()));
+        });
+        departmentCalendars = Map.copyOf(calendars);
+    }
+
+    public WorkingDayCalendar getCalendar(String department) {
+        if (department == null) {
+            return defaultCalendar;
+        }
+        return departmentCalendars.getOrDefault(department.toUpperCase().trim(), defaultCalendar);
+    }
+
+    public int countWorkingDays(String department, LocalDate startDate, LocalDate endDate) {
+        return getCalendar(department).countWorkingDays(startDate, endDate);
+    }
+
+    private static WorkingDayCalendar build(String name, Set<DayOfWeek> weekend, List<String> companyHolidays,
+                                            List<String> ownHolidays) {
+        List<MonthDay> annualHolidays = new ArrayList<>();
+        List<LocalDate> holidays = new ArrayList<>();
+        List<String> specs = new ArrayList<>(companyHolidays);
+        specs.addAll(ownHolidays);
+        for (String spec : specs) {
+            String value = spec.trim();
+            try {
+                if (value.length() == 5) {
+                    annualHolidays.add(MonthDay.parse("--" + value));
+                } else {
+                    holidays.add(LocalDate.parse(value));
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalStateException("Invalid holiday '" + value + "' in calendar " + name +
+                        ", expected MM-dd or yyyy-MM-dd", e);
+            }
+        }
+        return new WorkingDayCalendar(name, weekend, annualHolidays, holidays);
+    }
+}
@@ -0,0 +1,164 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an employee import one line at a time, so the body is never held in memory.
+ * CSV starts with a header naming the name, email, department and joiningDate columns in any order;
+ * fields may be quoted ("" for a quote) but must not span lines. NDJSON has one employee object per
+ * line. Blank lines are skipped. Line numbers count from 1, including the CSV header.
+ */
+class EmployeeImportReader {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "email", "department", "joiningdate");
+
+    record Row(long line, EmployeeDTO employee, String error) {
+    }
+
+    private final BufferedReader reader;
+    // Null for CSV
+    private final ObjectReader employeeReader;
+    private long lineNumber;
+    private Map<String, Integer> csvColumns;
+    private int csvFieldCount;
+
+    private EmployeeImportReader(InputStream body, ObjectReader employeeReader) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.employeeReader = employeeReader;
+    }
+
+    static EmployeeImportReader csv(InputStream body) throws IOException {
+        EmployeeImportReader importReader = new EmployeeImportReader(body, null);
+        importReader.readCsvHeader();
+        return importReader;
+    }
+
+    static EmployeeImportReader ndjson(InputStream body, ObjectReader employeeReader) {
+        return new EmployeeImportReader(body, employeeReader);
+    }
+
+    /**
+     * The next non-blank line as a row, or null at the end of the body.
+     */
+    Row next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        return employeeReader == null ? parseCsv(line) : parseJson(line);
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+        }
+        return line;
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header = readLine();
+        List<String> names = header == null ? null : splitCsv(header);
+        csvColumns = new HashMap<>();
+        if (names != null) {
+            csvFieldCount = names.size();
+            for (int i = 0; i < names.size(); i++) {
+                csvColumns.putIfAbsent(names.get(i).toLowerCase().replaceAll("[_\\s]", ""), i);
+            }
+        }
+        if (!csvColumns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new InvalidLeaveRequestException("CSV header must name the columns name, email, department " +
+                    "and joiningDate");
+        }
+    }
+
+    private Row parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields == null) {
+            return new Row(lineNumber, null, "Unterminated quoted field");
+        }
+        if (fields.size() != csvFieldCount) {
+            return new Row(lineNumber, null, "Expected " + csvFieldCount + " fields but found " + fields.size());
+        }
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setName(fields.get(csvColumns.get("name")));
+        employee.setEmail(fields.get(csvColumns.get("email")));
+        employee.setDepartment(fields.get(csvColumns.get("department")));
+        String joiningDate = fields.get(csvColumns.get("joiningdate")).trim();
+        if (!joiningDate.isEmpty()) {
+            try {
+                employee.setJoiningDate(LocalDate.parse(joiningDate));
+            } catch (DateTimeParseException e) {
+                return new Row(lineNumber, employee, "Invalid joining date '" + joiningDate +
+                        "', expected yyyy-MM-dd");
+            }
+        }
+        return new Row(lineNumber, employee, null);
+    }
+
+    private Row parseJson(String line) {
+        try {
+            EmployeeDTO employee = employeeReader.readValue(line);
+            if (employee == null) {
+                return new Row(lineNumber, null, "Expected an employee object");
+            }
+            return new Row(lineNumber, employee, null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // Splits one CSV record; returns null when a quoted field is not closed on the same line
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -2,32 +2,102 @@ package com.LeaveManagementSystem.service;
 
 
 
+import com.LeaveManagementSystem.cache.DepartmentOccupancyIndex;
+import com.LeaveManagementSystem.cache.EmployeeCache;
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.dto.EmployeeImportErrorDTO;
+import com.LeaveManagementSystem.dto.EmployeeImportResultDTO;
+import com.LeaveManagementSystem.dto.KeysetPageDTO;
 import com.LeaveManagementSystem.dto.LeaveBalanceDTO;
 import com.LeaveManagementSystem.exception.EmployeeNotFoundException;
 import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
 import com.LeaveManagementSystem.model.Employee;
 import com.LeaveManagementSystem.repository.EmployeeRepository;
-import com.LeaveManagementSystem.repository.LeaveRequestRepository;
 import com.LeaveManagementSystem.dto.EmployeeDTO;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "lms.service", histogram = true)
 public class EmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Keeps IN lists of the balance query well below driver and optimizer limits
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private LeaveRequestRepository leaveRequestRepository;
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private DepartmentOccupancyIndex departmentOccupancyIndex;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Autowired
+    private TransactionRetrier transactionRetrier;
+
+    @Autowired
+    private AccrualService accrualService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${lms.employee.balances.max-ids:5000}")
+    private int maxBalanceIds;
+
+    @Value("${lms.employee.import.chunk-size:1000}")
+    private int importChunkSize;
+
+    @Value("${lms.employee.import.max-errors:1000}")
+    private int maxImportErrors;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public EmployeeDTO addEmployee(EmployeeDTO employeeDTO) {
         // Validate if email already exists
-        if (employeeRepository.existsByEmail(employeeDTO.getEmail())) {
+        if (employeeCache.existsByEmail(employeeDTO.getEmail())) {
             throw new InvalidLeaveRequestException("Employee with email " +
                     employeeDTO.getEmail() + " already exists");
         }
@@ -43,34 +113,183 @@ public class EmployeeService {
                 employeeDTO.getDepartment().toUpperCase().trim(),
                 employeeDTO.getJoiningDate()
         );
+        employee.setAnnualLeaveBalance(accrualService.openingAllowance(employee.getJoiningDate()));
 
         Employee savedEmployee = employeeRepository.save(employee);
+        employeeCache.evict(savedEmployee);
+        departmentOccupancyIndex.recordEmployeeAdded(savedEmployee.getDepartment());
+        employeeVersions.recordChange(savedEmployee.getId());
         return convertToDTO(savedEmployee);
     }
 
-    public List<EmployeeDTO> getAllEmployees() {
-        return employeeRepository.findAll()
-                .stream()
+    public EmployeeImportResultDTO importEmployeesCsv(InputStream body) throws IOException {
+        return importEmployees(EmployeeImportReader.csv(body));
+    }
+
+    public EmployeeImportResultDTO importEmployeesNdjson(InputStream body) throws IOException {
+        return importEmployees(EmployeeImportReader.ndjson(body, objectMapper.readerFor(EmployeeDTO.class)));
+    }
+
+    /**
+     * Reads the body a chunk of rows at a time. Each chunk is checked with the rules of addEmployee,
+     * looks up taken emails with one query and is inserted in its own transaction, so memory stays flat
+     * however long the body is and rows of earlier chunks stay imported when a later chunk fails.
+     */
+    private EmployeeImportResultDTO importEmployees(EmployeeImportReader reader) throws IOException {
+        long startedAt = System.nanoTime();
+        EmployeeImportResultDTO result = new EmployeeImportResultDTO();
+        List<EmployeeImportReader.Row> chunk = new ArrayList<>(importChunkSize);
+        for (EmployeeImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+            chunk.add(row);
+            if (chunk.size() == importChunkSize) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getRows() * 1e9 / elapsedNanos);
+        return result;
+    }
+
+    private void importChunk(List<EmployeeImportReader.Row> rows, EmployeeImportResultDTO result) {
+        // Retried as a whole if a concurrent addEmployee takes one of the emails before the insert
+        ImportedChunk imported = transactionRetrier.execute(() -> insertChunk(rows));
+        result.setRows(result.getRows() + rows.size());
+        result.setImported(result.getImported() + imported.inserted());
+        result.setFailed(result.getFailed() + imported.errors().size());
+        for (EmployeeImportErrorDTO error : imported.errors()) {
+            if (result.getErrors().size() < maxImportErrors) {
+                result.getErrors().add(error);
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    private ImportedChunk insertChunk(List<EmployeeImportReader.Row> rows) {
+        List<EmployeeImportErrorDTO> errors = new ArrayList<>();
+        Map<String, Long> linesByEmail = new HashMap<>();
+        List<Employee> candidates = new ArrayList<>();
+        List<Long> candidateLines = new ArrayList<>();
+        for (EmployeeImportReader.Row row : rows) {
+            EmployeeDTO dto = row.employee();
+            String email = dto == null ? null : dto.getEmail();
+            String error = row.error() != null ? row.error() : validateImported(dto);
+            if (error == null) {
+                email = email.toLowerCase().trim();
+                Long firstLine = linesByEmail.putIfAbsent(email, row.line());
+                if (firstLine != null) {
+                    error = "Duplicate of line " + firstLine + " in this import";
+                }
+            }
+            if (error != null) {
+                errors.add(new EmployeeImportErrorDTO(row.line(), email, error));
+                continue;
+            }
+            Employee employee = new Employee(dto.getName(), email, dto.getDepartment().toUpperCase().trim(),
+                    dto.getJoiningDate());
+            employee.setAnnualLeaveBalance(accrualService.openingAllowance(dto.getJoiningDate()));
+            candidates.add(employee);
+            candidateLines.add(row.line());
+        }
+
+        Set<String> taken = new HashSet<>();
+        if (!linesByEmail.isEmpty()) {
+            employeeRepository.findExistingEmails(linesByEmail.keySet())
+                    .forEach(email -> taken.add(email.toLowerCase()));
+        }
+        List<Employee> accepted = new ArrayList<>(candidates.size());
+        Map<String, Integer> addedByDepartment = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Employee employee = candidates.get(i);
+            if (taken.contains(employee.getEmail())) {
+                errors.add(new EmployeeImportErrorDTO(candidateLines.get(i), employee.getEmail(),
+                        "Employee with email " + employee.getEmail() + " already exists"));
+            } else {
+                accepted.add(employee);
+                addedByDepartment.merge(employee.getDepartment(), 1, Integer::sum);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += jdbcBatchSize) {
+            employeeRepository.saveAll(accepted.subList(from, Math.min(from + jdbcBatchSize, accepted.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        // New ids have no cached entries or handed-out ETags, so only the headcounts need updating
+        addedByDepartment.forEach(departmentOccupancyIndex::recordEmployeesAdded);
+
+        errors.sort(Comparator.comparingLong(EmployeeImportErrorDTO::getLine));
+        return new ImportedChunk(accepted.size(), errors);
+    }
+
+    // The first violation of the EmployeeDTO constraints or of the joining date rule, or null
+    private String validateImported(EmployeeDTO dto) {
+        Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .findFirst()
+                    .orElseThrow();
+        }
+        if (dto.getJoiningDate().isAfter(LocalDate.now())) {
+            return "Joining date cannot be in future";
+        }
+        return null;
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<EmployeeDTO> getEmployeesPage(String department, Long afterId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long cursor = afterId == null ? 0L : afterId;
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable firstRows = PageRequest.ofSize(pageSize + 1);
+        List<Employee> rows = department == null
+                ? employeeRepository.findByIdGreaterThanOrderByIdAsc(cursor, firstRows)
+                : employeeRepository.findByDepartmentAndIdGreaterThanOrderByIdAsc(
+                        department.toUpperCase().trim(), cursor, firstRows);
+        boolean hasMore = rows.size() > pageSize;
+
+        List<EmployeeDTO> items = rows.stream()
+                .limit(pageSize)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new KeysetPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportEmployees(String department, Consumer<EmployeeDTO> sink) {
+        String normalizedDepartment = department == null ? null : department.toUpperCase().trim();
+        try (Stream<Employee> employees = employeeRepository.streamByDepartment(normalizedDepartment)) {
+            employees.forEach(employee -> {
+                sink.accept(convertToDTO(employee));
+                // Keep the persistence context empty so the export runs in constant memory
+                entityManager.detach(employee);
+            });
+        }
     }
 
+    @Transactional(readOnly = true)
     public EmployeeDTO getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeCache.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " + id));
         return convertToDTO(employee);
     }
 
+    @Transactional(readOnly = true)
     public LeaveBalanceDTO getLeaveBalance(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
+        Employee employee = employeeCache.findById(employeeId)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " + employeeId));
 
         int currentYear = LocalDate.now().getYear();
-        Integer usedLeaves = leaveRequestRepository.getTotalApprovedLeaveDaysForYear(employeeId, currentYear);
-
-        if (usedLeaves == null) {
-            usedLeaves = 0;
-        }
+        int usedLeaves = leaveLedgerService.getUsedDays(employeeId, currentYear);
 
         int remainingBalance = employee.getAnnualLeaveBalance() - usedLeaves;
 
@@ -83,7 +302,41 @@ public class EmployeeService {
         );
     }
 
-    private EmployeeDTO convertToDTO(Employee employee) {
+    /**
+     * Current-year balances for the given employees or for a whole department, ordered by id.
+     * Ids that match no employee are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<LeaveBalanceDTO> getLeaveBalances(List<Long> ids, String department) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (byIds == (department != null)) {
+            throw new InvalidLeaveRequestException("Provide either employee ids or a department");
+        }
+
+        int currentYear = LocalDate.now().getYear();
+        List<LeaveBalanceDTO> balances = new ArrayList<>();
+        if (byIds) {
+            List<Long> uniqueIds = new ArrayList<>(new TreeSet<>(ids.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet())));
+            if (uniqueIds.size() > maxBalanceIds) {
+                throw new InvalidLeaveRequestException("At most " + maxBalanceIds +
+                        " employee ids can be requested at once");
+            }
+            // Ids are sorted, so chunked results stay in id order
+            for (int from = 0; from < uniqueIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                balances.addAll(employeeRepository.findLeaveBalances(
+                        uniqueIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, uniqueIds.size())),
+                        currentYear));
+            }
+        } else {
+            balances = employeeRepository.findLeaveBalancesByDepartment(department.toUpperCase().trim(), currentYear);
+        }
+        return balances;
+    }
+
+    // Package-private so the JMH benchmarks in src/jmh can measure it
+    EmployeeDTO convertToDTO(Employee employee) {
         EmployeeDTO dto = new EmployeeDTO();
         dto.setId(employee.getId());
         dto.setName(employee.getName());
@@ -93,4 +346,7 @@ public class EmployeeService {
         dto.setAnnualLeaveBalance(employee.getAnnualLeaveBalance());
         return dto;
     }
+
+    private record ImportedChunk(int inserted, List<EmployeeImportErrorDTO> errors) {
+    }
 }
@@ -0,0 +1,418 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.cache.EmployeeCache;
+import com.LeaveManagementSystem.config.PrimaryReads;
+import com.LeaveManagementSystem.dto.AbsenteeDTO;
+import com.LeaveManagementSystem.dto.AnalyticsRecomputeReportDTO;
+import com.LeaveManagementSystem.dto.LeaveAnalyticsDTO;
+import com.LeaveManagementSystem.dto.MonthlyLeaveStatsDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.EmployeeLeaveRollup;
+import com.LeaveManagementSystem.model.EmployeeLeaveRollupId;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveRollup;
+import com.LeaveManagementSystem.model.LeaveRollupId;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.model.RollupLock;
+import com.LeaveManagementSystem.repository.AbsenteeTotal;
+import com.LeaveManagementSystem.repository.ArchivedLeaveRequestRepository;
+import com.LeaveManagementSystem.repository.EmployeeLeaveRollupRepository;
+import com.LeaveManagementSystem.repository.EmployeeRollupTotals;
+import com.LeaveManagementSystem.repository.LeaveLedgerRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.repository.LeaveRollupRepository;
+import com.LeaveManagementSystem.repository.RollupLockRepository;
+import com.LeaveManagementSystem.repository.RollupTotals;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Utilization reports served from rollup tables instead of scans of leave_requests. The rollups are
+ * updated in the same transaction as every status change and recomputed in full on a schedule.
+ * A request counts towards the month its leave starts in, as the ledger counts it towards that year.
+ * Every delta holds a shared lock on the RollupLock row and the recompute an exclusive one, so a delta
+ * lands either before the recompute reads leave_requests or on the rows it wrote.
+ */
+@Service
+public class LeaveAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveAnalyticsService.class);
+
+    // Rows are always updated in this order, so two writers touching the same rows cannot deadlock
+    private static final Comparator<LeaveRollupId> ROLLUP_ORDER = Comparator
+            .comparing(LeaveRollupId::getDepartment)
+            .thenComparing(LeaveRollupId::getMonth)
+            .thenComparing(LeaveRollupId::getStatus);
+    private static final Comparator<EmployeeLeaveRollupId> EMPLOYEE_ROLLUP_ORDER = Comparator
+            .comparing(EmployeeLeaveRollupId::getEmployeeId)
+            .thenComparing(EmployeeLeaveRollupId::getMonth);
+
+    @Autowired
+    private LeaveRollupRepository leaveRollupRepository;
+
+    @Autowired
+    private EmployeeLeaveRollupRepository employeeLeaveRollupRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private RollupLockRepository rollupLockRepository;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private TransactionRetrier transactionRetrier;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${lms.analytics.max-months:120}")
+    private int maxMonths;
+
+    @Value("${lms.analytics.max-top:100}")
+    private int maxTop;
+
+    @Value("${lms.analytics.recompute-on-startup:true}")
+    private boolean recomputeOnStartup;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    public void recordApplied(Employee employee, LeaveRequest leaveRequest) {
+        lockRollups();
+        add(new LeaveRollupId(employee.getDepartment(), month(leaveRequest), LeaveStatus.PENDING),
+                new long[]{1, leaveRequest.getDays(), 0});
+    }
+
+    public void recordAppliedBatch(Map<Long, Employee> employees, List<LeaveRequest> leaveRequests) {
+        lockRollups();
+        Map<LeaveRollupId, long[]> deltas = new TreeMap<>(ROLLUP_ORDER);
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            Employee employee = employees.get(leaveRequest.getEmployeeId());
+            merge(deltas, new LeaveRollupId(employee.getDepartment(), month(leaveRequest), LeaveStatus.PENDING),
+                    1, leaveRequest.getDays(), 0);
+        }
+        deltas.forEach(this::add);
+    }
+
+    public void recordDecided(Employee employee, LeaveRequest leaveRequest, LeaveStatus decision,
+                              LocalDateTime decidedAt) {
+        recordDecidedBatch(Map.of(employee.getId(), employee), List.of(leaveRequest), decision, decidedAt);
+    }
+
+    /**
+     * Moves pending requests to the decision's rollup rows, adding their turnaround, and credits
+     * approved days to each employee's month.
+     */
+    public void recordDecidedBatch(Map<Long, Employee> employees, List<LeaveRequest> leaveRequests,
+                                   LeaveStatus decision, LocalDateTime decidedAt) {
+        lockRollups();
+        Map<LeaveRollupId, long[]> deltas = new TreeMap<>(ROLLUP_ORDER);
+        Map<EmployeeLeaveRollupId, Long> approvedDays = new TreeMap<>(EMPLOYEE_ROLLUP_ORDER);
+        Map<EmployeeLeaveRollupId, String> departments = new HashMap<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            Employee employee = employees.get(leaveRequest.getEmployeeId());
+            if (employee == null) {
+                // No department to book it under; the next recompute picks it up if the employee reappears
+                continue;
+            }
+            LocalDate month = month(leaveRequest);
+            long turnaround = leaveRequest.getCreatedAt() == null ? 0
+                    : Math.max(0, Duration.between(leaveRequest.getCreatedAt(), decidedAt).getSeconds());
+            merge(deltas, new LeaveRollupId(employee.getDepartment(), month, LeaveStatus.PENDING),
+                    -1, -leaveRequest.getDays(), 0);
+            merge(deltas, new LeaveRollupId(employee.getDepartment(), month, decision),
+                    1, leaveRequest.getDays(), turnaround);
+            if (decision == LeaveStatus.APPROVED) {
+                EmployeeLeaveRollupId id = new EmployeeLeaveRollupId(employee.getId(), month);
+                approvedDays.merge(id, (long) leaveRequest.getDays(), Long::sum);
+                departments.put(id, employee.getDepartment());
+            }
+        }
+        deltas.forEach(this::add);
+        approvedDays.forEach((id, days) -> {
+            if (employeeLeaveRollupRepository.addApprovedDays(id.getEmployeeId(), id.getMonth(), days) == 0) {
+                // A concurrent first insert fails on the key and is retried, as for the ledger
+                EmployeeLeaveRollup rollup = new EmployeeLeaveRollup(id.getEmployeeId(), id.getMonth(),
+                        departments.get(id));
+                rollup.setApprovedDays(days);
+                employeeLeaveRollupRepository.saveAndFlush(rollup);
+            }
+        });
+    }
+
+    /**
+     * Requests and days by department, month and status for [from, to], with the employees who took
+     * the most approved days over the same months.
+     */
+    public LeaveAnalyticsDTO getReport(YearMonth from, YearMonth to, String department, int top) {
+        if (from.isAfter(to)) {
+            throw new InvalidLeaveRequestException("'from' month must not be after 'to' month");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= maxMonths) {
+            throw new InvalidLeaveRequestException("A report can span at most " + maxMonths + " months");
+        }
+        if (top < 0 || top > maxTop) {
+            throw new InvalidLeaveRequestException("'top' must be between 0 and " + maxTop);
+        }
+        String normalizedDepartment = department == null ? null : department.toUpperCase().trim();
+        LocalDate fromMonth = from.atDay(1);
+        LocalDate toMonth = to.atDay(1);
+
+        List<LeaveRollup> rollups = normalizedDepartment == null
+                ? leaveRollupRepository.findByMonthBetweenOrderByDepartmentAscMonthAsc(fromMonth, toMonth)
+                : leaveRollupRepository.findByDepartmentAndMonthBetweenOrderByMonthAsc(normalizedDepartment,
+                fromMonth, toMonth);
+        Map<LeaveRollupId, MonthlyLeaveStatsDTO> months = new LinkedHashMap<>();
+        Map<LeaveRollupId, long[]> turnaround = new HashMap<>();
+        for (LeaveRollup rollup : rollups) {
+            if (rollup.getRequestCount() == 0) {
+                continue;
+            }
+            LeaveRollupId key = new LeaveRollupId(rollup.getDepartment(), rollup.getMonth(), null);
+            MonthlyLeaveStatsDTO stats = months.computeIfAbsent(key, id ->
+                    new MonthlyLeaveStatsDTO(id.getDepartment(), YearMonth.from(id.getMonth())));
+            switch (rollup.getStatus()) {
+                case APPROVED -> {
+                    stats.setApprovedRequests(rollup.getRequestCount());
+                    stats.setApprovedDays(rollup.getTotalDays());
+                }
+                case PENDING -> {
+                    stats.setPendingRequests(rollup.getRequestCount());
+                    stats.setPendingDays(rollup.getTotalDays());
+                }
+                case REJECTED -> {
+                    stats.setRejectedRequests(rollup.getRequestCount());
+                    stats.setRejectedDays(rollup.getTotalDays());
+                }
+            }
+            if (rollup.getStatus() != LeaveStatus.PENDING) {
+                long[] decided = turnaround.computeIfAbsent(key, id -> new long[2]);
+                decided[0] += rollup.getRequestCount();
+                decided[1] += rollup.getTurnaroundSeconds();
+            }
+        }
+        turnaround.forEach((key, decided) -> months.get(key).setAverageTurnaroundHours(
+                Math.round(decided[1] / 36.0 / decided[0]) / 100.0));
+
+        List<AbsenteeDTO> topAbsentees = top == 0 ? new ArrayList<>()
+                : findTopAbsentees(from, to, normalizedDepartment, top);
+        return new LeaveAnalyticsDTO(from, to, normalizedDepartment, new ArrayList<>(months.values()), topAbsentees);
+    }
+
+    /**
+     * Whole calendar years come from the leave ledger, which already holds approved days per employee
+     * and year; only the months before the first and after the last whole year are summed from the
+     * monthly rollups.
+     */
+    private List<AbsenteeDTO> findTopAbsentees(YearMonth from, YearMonth to, String department, int top) {
+        YearMonth firstWholeYear = from.getMonthValue() == 1 ? from : YearMonth.of(from.getYear() + 1, 1);
+        YearMonth lastWholeYear = to.getMonthValue() == 12 ? to : YearMonth.of(to.getYear() - 1, 12);
+        List<AbsenteeTotal> totals = new ArrayList<>();
+        if (firstWholeYear.isAfter(lastWholeYear)) {
+            totals.addAll(employeeLeaveRollupRepository.sumApprovedDays(from.atDay(1), to.atDay(1), department));
+        } else {
+            if (from.isBefore(firstWholeYear)) {
+                totals.addAll(employeeLeaveRollupRepository.sumApprovedDays(from.atDay(1),
+                        firstWholeYear.minusMonths(1).atDay(1), department));
+            }
+            totals.addAll(leaveLedgerRepository.sumUsedDays(firstWholeYear.getYear(), lastWholeYear.getYear(),
+                    department));
+            if (to.isAfter(lastWholeYear)) {
+                totals.addAll(employeeLeaveRollupRepository.sumApprovedDays(lastWholeYear.plusMonths(1).atDay(1),
+                        to.atDay(1), department));
+            }
+        }
+
+        Map<Long, AbsenteeTotal> byEmployee = new HashMap<>();
+        for (AbsenteeTotal total : totals) {
+            byEmployee.merge(total.employeeId(), total, (a, b) ->
+                    new AbsenteeTotal(a.employeeId(), a.department(), a.approvedDays() + b.approvedDays()));
+        }
+        List<AbsenteeTotal> ranked = byEmployee.values().stream()
+                .filter(total -> total.approvedDays() > 0)
+                .sorted(Comparator.comparing(AbsenteeTotal::approvedDays).reversed()
+                        .thenComparing(AbsenteeTotal::employeeId))
+                .limit(top)
+                .collect(Collectors.toList());
+        Map<Long, Employee> employees = employeeCache.findAllById(ranked.stream()
+                .map(AbsenteeTotal::employeeId)
+                .collect(Collectors.toSet()));
+        List<AbsenteeDTO> absentees = new ArrayList<>();
+        for (AbsenteeTotal total : ranked) {
+            Employee employee = employees.get(total.employeeId());
+            absentees.add(new AbsenteeDTO(total.employeeId(), employee == null ? null : employee.getName(),
+                    total.department(), total.approvedDays()));
+        }
+        return absentees;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recomputeOnStartup() {
+        // Incremental updates keep the rollups current; only a database that never had them needs a backfill
+        if (recomputeOnStartup && PrimaryReads.call(leaveRollupRepository::count) == 0) {
+            recompute();
+        }
+    }
+
+    @Scheduled(cron = "${lms.analytics.recompute-cron:0 0 3 * * *}")
+    public void scheduledRecompute() {
+        recompute();
+    }
+
+    /**
+     * Rebuilds both rollup tables from leave_requests and its archive with grouped queries, in one
+     * transaction.
+     */
+    public AnalyticsRecomputeReportDTO recompute() {
+        return transactionRetrier.execute(this::rebuildRollups);
+    }
+
+    private AnalyticsRecomputeReportDTO rebuildRollups() {
+        long startedAt = System.nanoTime();
+        // Waits for deltas in flight to commit, so the totals below include them, and holds off new
+        // ones until the rebuilt rows are committed for them to apply to
+        if (rollupLockRepository.lockExclusive(RollupLock.ID).isEmpty()) {
+            rollupLockRepository.saveAndFlush(new RollupLock(RollupLock.ID));
+        }
+        List<RollupTotals> rollupTotals = mergeRollupTotals(leaveRequestRepository.aggregateRollupTotals(),
+                archivedLeaveRequestRepository.aggregateRollupTotals());
+        List<EmployeeRollupTotals> employeeTotals = mergeEmployeeRollupTotals(
+                leaveRequestRepository.aggregateEmployeeRollupTotals(),
+                archivedLeaveRequestRepository.aggregateEmployeeRollupTotals());
+        leaveRollupRepository.deleteAllInBatch();
+        employeeLeaveRollupRepository.deleteAllInBatch();
+
+        List<Object> rows = new ArrayList<>(rollupTotals.size() + employeeTotals.size());
+        for (RollupTotals totals : rollupTotals) {
+            LeaveRollup rollup = new LeaveRollup(totals.department(),
+                    LocalDate.of(totals.year(), totals.month(), 1), totals.status());
+            rollup.setRequestCount(totals.requestCount());
+            rollup.setTotalDays(totals.totalDays());
+            rollup.setTurnaroundSeconds(totals.turnaroundSeconds() == null ? 0 : totals.turnaroundSeconds());
+            rows.add(rollup);
+        }
+        for (EmployeeRollupTotals totals : employeeTotals) {
+            EmployeeLeaveRollup rollup = new EmployeeLeaveRollup(totals.employeeId(),
+                    LocalDate.of(totals.year(), totals.month(), 1), totals.department());
+            rollup.setApprovedDays(totals.approvedDays());
+            rows.add(rollup);
+        }
+        for (int from = 0; from < rows.size(); from += jdbcBatchSize) {
+            rows.subList(from, Math.min(from + jdbcBatchSize, rows.size())).forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        AnalyticsRecomputeReportDTO report = new AnalyticsRecomputeReportDTO();
+        report.setRollupRows(rollupTotals.size());
+        report.setEmployeeRollupRows(employeeTotals.size());
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        report.setCompletedAt(LocalDateTime.now());
+        log.info("Recomputed leave analytics: {} rollup rows, {} employee rollup rows in {} ms",
+                report.getRollupRows(), report.getEmployeeRollupRows(), report.getElapsedMillis());
+        return report;
+    }
+
+    // A month is split between the tables when some of its requests end after the archive cutoff
+    private static List<RollupTotals> mergeRollupTotals(List<RollupTotals> hot, List<RollupTotals> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Map<LeaveRollupId, RollupTotals> merged = new LinkedHashMap<>();
+        for (List<RollupTotals> source : List.of(hot, archived)) {
+            for (RollupTotals totals : source) {
+                merged.merge(new LeaveRollupId(totals.department(), LocalDate.of(totals.year(), totals.month(), 1),
+                        totals.status()), totals, (a, b) -> new RollupTotals(a.department(), a.year(), a.month(),
+                        a.status(), a.requestCount() + b.requestCount(), a.totalDays() + b.totalDays(),
+                        nullToZero(a.turnaroundSeconds()) + nullToZero(b.turnaroundSeconds())));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static List<EmployeeRollupTotals> mergeEmployeeRollupTotals(List<EmployeeRollupTotals> hot,
+                                                                        List<EmployeeRollupTotals> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Map<EmployeeLeaveRollupId, EmployeeRollupTotals> merged = new LinkedHashMap<>();
+        for (List<EmployeeRollupTotals> source : List.of(hot, archived)) {
+            for (EmployeeRollupTotals totals : source) {
+                merged.merge(new EmployeeLeaveRollupId(totals.employeeId(),
+                        LocalDate.of(totals.year(), totals.month(), 1)), totals, (a, b) ->
+                        new EmployeeRollupTotals(a.employeeId(), a.department(), a.year(), a.month(),
+                                a.approvedDays() + b.approvedDays()));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static long nullToZero(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private void lockRollups() {
+        if (rollupLockRepository.lockShared(RollupLock.ID).isEmpty()) {
+            // Only a schema Hibernate created lacks the row; a concurrent first insert fails on the key and is retried
+            rollupLockRepository.saveAndFlush(new RollupLock(RollupLock.ID));
+        }
+    }
+
+    private void add(LeaveRollupId id, long[] delta) {
+        if (leaveRollupRepository.add(id.getDepartment(), id.getMonth(), id.getStatus(),
+                delta[0], delta[1], delta[2]) == 0) {
+            // First request of the month; a concurrent first insert fails on the key and is retried
+            LeaveRollup rollup = new LeaveRollup(id.getDepartment(), id.getMonth(), id.getStatus());
+            rollup.setRequestCount(delta[0]);
+            rollup.setTotalDays(delta[1]);
+            rollup.setTurnaroundSeconds(delta[2]);
+            leaveRollupRepository.saveAndFlush(rollup);
+        }
+    }
+
+    private static void merge(Map<LeaveRollupId, long[]> deltas, LeaveRollupId id, long requests, long days,
+                              long turnaroundSeconds) {
+        long[] delta = deltas.computeIfAbsent(id, key -> new long[3]);
+        delta[0] += requests;
+        delta[1] += days;
+        delta[2] += turnaroundSeconds;
+    }
+
+    private static LocalDate month(LeaveRequest leaveRequest) {
+        return leaveRequest.getStartDate().withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,139 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.cache.DepartmentOccupancyIndex;
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.cache.LeaveIntervalIndex;
+import com.LeaveManagementSystem.dto.ArchiveReportDTO;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.ArchivableLeave;
+import com.LeaveManagementSystem.repository.ArchivedLeaveRequestRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Moves approved and rejected requests of closed years from leave_requests to leave_requests_archive,
+ * so the hot table only holds the current and the last lms.archive.retain-years years plus anything
+ * still pending. Each chunk is copied and deleted by primary key in its own short READ COMMITTED
+ * transaction, which reads the hot table without locking it and locks only the rows being moved.
+ * The ledger, the rollups and the entitlements keep their per-year totals; reconciliation and the
+ * rollup rebuild read both tables.
+ */
+@Service
+public class LeaveArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveArchiveService.class);
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private DepartmentOccupancyIndex departmentOccupancyIndex;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Autowired
+    private TransactionRetrier transactionRetrier;
+
+    @Value("${lms.archive.scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+
+    @Value("${lms.archive.retain-years:1}")
+    private int retainYears;
+
+    @Value("${lms.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${lms.archive.cron:0 15 4 * * *}")
+    public void scheduledArchive() {
+        if (schedulerEnabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every decided request that ended before January 1st, retain-years years ago.
+     * Runs one at a time; a second caller waits for the first to finish and then finds little to move.
+     */
+    public synchronized ArchiveReportDTO archive() {
+        long startedAt = System.nanoTime();
+        LocalDate cutoff = LocalDate.now().withDayOfYear(1).minusYears(retainYears);
+        ArchiveReportDTO report = new ArchiveReportDTO();
+        report.setCutoff(cutoff);
+
+        long afterId = 0;
+        while (true) {
+            long lastId = afterId;
+            MovedChunk chunk = transactionRetrier.execute(() -> moveChunk(cutoff, lastId));
+            if (chunk == null) {
+                break;
+            }
+            if (chunk.moved() > 0) {
+                report.setArchivedRequests(report.getArchivedRequests() + chunk.moved());
+                report.setChunks(report.getChunks() + 1);
+            }
+            afterId = chunk.lastId();
+        }
+        if (report.getArchivedRequests() > 0) {
+            leaveIntervalIndex.forgetApprovedBefore(cutoff);
+            departmentOccupancyIndex.forgetAbsencesBefore(cutoff);
+        }
+
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        report.setCompletedAt(LocalDateTime.now());
+        log.info("Archived {} leave requests ending before {} in {} chunks, {} ms", report.getArchivedRequests(),
+                cutoff, report.getChunks(), report.getElapsedMillis());
+        return report;
+    }
+
+    private record MovedChunk(long lastId, int moved) {
+    }
+
+    // Null once no request before the cutoff is left after afterId
+    private MovedChunk moveChunk(LocalDate cutoff, long afterId) {
+        List<ArchivableLeave> scanned = leaveRequestRepository.findEndedBefore(cutoff, afterId,
+                PageRequest.of(0, chunkSize));
+        if (scanned.isEmpty()) {
+            return null;
+        }
+        // Pending requests stay where approve and reject can find them
+        List<ArchivableLeave> decided = scanned.stream()
+                .filter(leave -> leave.status() != LeaveStatus.PENDING)
+                .collect(Collectors.toList());
+        long lastId = scanned.get(scanned.size() - 1).id();
+        if (decided.isEmpty()) {
+            return new MovedChunk(lastId, 0);
+        }
+        List<Long> ids = decided.stream().map(ArchivableLeave::id).collect(Collectors.toList());
+        int copied = archivedLeaveRequestRepository.copyFromLeaveRequests(ids, LocalDateTime.now());
+        int deleted = leaveRequestRepository.deleteDecided(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            // Another archive run moved some of them first
+            throw new OptimisticLockingFailureException("Leave requests were archived concurrently, " +
+                    ids.size() + " selected but " + copied + " copied and " + deleted + " deleted");
+        }
+        // Their default leave-request listing no longer includes these rows
+        employeeVersions.recordChanges(decided.stream().map(ArchivableLeave::employeeId).collect(Collectors.toSet()));
+        return new MovedChunk(lastId, ids.size());
+    }
+}
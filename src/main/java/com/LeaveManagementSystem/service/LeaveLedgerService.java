@@ -0,0 +1,237 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.config.PrimaryReads;
+import com.LeaveManagementSystem.dto.LedgerDriftDTO;
+import com.LeaveManagementSystem.dto.LedgerReconciliationReportDTO;
+import com.LeaveManagementSystem.model.LeaveLedger;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.ArchivedLeaveRequestRepository;
+import com.LeaveManagementSystem.repository.LeaveLedgerRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class LeaveLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveLedgerService.class);
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Value("${lms.ledger.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    public int getUsedDays(Long employeeId, int year) {
+        return leaveLedgerRepository.findById(new LeaveLedgerId(employeeId, year))
+                .map(LeaveLedger::getUsedDays)
+                .orElse(0);
+    }
+
+    public Map<LeaveLedgerId, Integer> getUsedDays(Collection<Long> employeeIds, Collection<Integer> years) {
+        Map<LeaveLedgerId, Integer> usedDays = new HashMap<>();
+        for (LeaveLedger ledger : leaveLedgerRepository.findByEmployeeIdInAndYearIn(employeeIds, years)) {
+            usedDays.put(new LeaveLedgerId(ledger.getEmployeeId(), ledger.getYear()), ledger.getUsedDays());
+        }
+        return usedDays;
+    }
+
+    public void recordApplied(LeaveRequest leaveRequest) {
+        LeaveLedgerId id = ledgerId(leaveRequest);
+        if (leaveLedgerRepository.addPendingDays(id.getEmployeeId(), id.getYear(), leaveRequest.getDays()) == 0) {
+            // First request of the year; a concurrent first insert fails on the key and is retried
+            LeaveLedger ledger = new LeaveLedger(id.getEmployeeId(), id.getYear());
+            ledger.setPendingDays(leaveRequest.getDays());
+            leaveLedgerRepository.saveAndFlush(ledger);
+        }
+    }
+
+    public void recordAppliedBatch(List<LeaveRequest> leaveRequests) {
+        Map<LeaveLedgerId, Integer> pendingDays = new HashMap<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            pendingDays.merge(ledgerId(leaveRequest), leaveRequest.getDays(), Integer::sum);
+        }
+        if (pendingDays.isEmpty()) {
+            return;
+        }
+
+        Map<LeaveLedgerId, LeaveLedger> ledgers = findOrCreate(pendingDays.keySet());
+        pendingDays.forEach((id, days) -> {
+            LeaveLedger ledger = ledgers.get(id);
+            ledger.setPendingDays(ledger.getPendingDays() + days);
+        });
+        leaveLedgerRepository.saveAll(ledgers.values());
+    }
+
+    /**
+     * Moves the days of already-decided requests out of pending, and into used for approvals,
+     * touching each affected ledger row once.
+     */
+    public void recordDecidedBatch(List<LeaveRequest> leaveRequests, LeaveStatus decision) {
+        Map<LeaveLedgerId, Integer> decidedDays = new HashMap<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            decidedDays.merge(ledgerId(leaveRequest), leaveRequest.getDays(), Integer::sum);
+        }
+        if (decidedDays.isEmpty()) {
+            return;
+        }
+
+        Map<LeaveLedgerId, LeaveLedger> ledgers = findOrCreate(decidedDays.keySet());
+        decidedDays.forEach((id, days) -> {
+            LeaveLedger ledger = ledgers.get(id);
+            ledger.setPendingDays(ledger.getPendingDays() - days);
+            if (decision == LeaveStatus.APPROVED) {
+                ledger.setUsedDays(ledger.getUsedDays() + days);
+            }
+        });
+        leaveLedgerRepository.saveAll(ledgers.values());
+    }
+
+    // Writes pending ledger changes now, taking their row locks, instead of at commit
+    public void flush() {
+        leaveLedgerRepository.flush();
+    }
+
+    /**
+     * Moves the request's days from pending to used unless that would take the year's used days past
+     * the allowance. Returns false, changing nothing, when the balance is insufficient.
+     */
+    public boolean recordApproved(LeaveRequest leaveRequest, int allowance) {
+        LeaveLedgerId id = ledgerId(leaveRequest);
+        if (leaveLedgerRepository.movePendingToUsed(id.getEmployeeId(), id.getYear(),
+                leaveRequest.getDays(), allowance) == 1) {
+            return true;
+        }
+        if (leaveLedgerRepository.existsById(id) || leaveRequest.getDays() > allowance) {
+            return false;
+        }
+        // Requests older than the ledger have no row yet
+        LeaveLedger ledger = new LeaveLedger(id.getEmployeeId(), id.getYear());
+        ledger.setUsedDays(leaveRequest.getDays());
+        leaveLedgerRepository.saveAndFlush(ledger);
+        return true;
+    }
+
+    public void recordRejected(LeaveRequest leaveRequest) {
+        LeaveLedgerId id = ledgerId(leaveRequest);
+        leaveLedgerRepository.addPendingDays(id.getEmployeeId(), id.getYear(), -leaveRequest.getDays());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            // A self-call bypasses @Transactional, so each query runs in its own read-only transaction
+            PrimaryReads.call(this::reconcile);
+        }
+    }
+
+    @Scheduled(cron = "${lms.ledger.reconcile-cron:0 30 2 * * *}")
+    public void scheduledReconcile() {
+        PrimaryReads.call(this::reconcile);
+    }
+
+    /**
+     * Recomputes every ledger row from leave_requests and its archive, repairs rows that drifted and
+     * reports them.
+     */
+    @Transactional
+    public LedgerReconciliationReportDTO reconcile() {
+        Map<LeaveLedgerId, int[]> actualTotals = new HashMap<>();
+        List<LeaveRequestRepository.LedgerTotals> allTotals = new ArrayList<>(
+                leaveRequestRepository.aggregateLedgerTotals());
+        // A year's approved days can be split between the two tables while it is being archived
+        allTotals.addAll(archivedLeaveRequestRepository.aggregateLedgerTotals());
+        for (LeaveRequestRepository.LedgerTotals totals : allTotals) {
+            int[] usedAndPending = actualTotals.computeIfAbsent(
+                    new LeaveLedgerId(totals.getEmployeeId(), totals.getYear()), id -> new int[2]);
+            int slot = totals.getStatus() == LeaveStatus.APPROVED ? 0 : 1;
+            usedAndPending[slot] += totals.getTotalDays().intValue();
+        }
+
+        LedgerReconciliationReportDTO report = new LedgerReconciliationReportDTO();
+        List<LeaveLedger> ledgers = leaveLedgerRepository.findAll();
+        for (LeaveLedger ledger : ledgers) {
+            int[] actual = actualTotals.remove(new LeaveLedgerId(ledger.getEmployeeId(), ledger.getYear()));
+            repair(ledger, actual == null ? new int[2] : actual, report);
+        }
+        for (Map.Entry<LeaveLedgerId, int[]> missing : actualTotals.entrySet()) {
+            LeaveLedgerId id = missing.getKey();
+            repair(new LeaveLedger(id.getEmployeeId(), id.getYear()), missing.getValue(), report);
+        }
+
+        report.setLedgerRowsChecked(ledgers.size() + actualTotals.size());
+        report.setDriftedRows(report.getDrifts().size());
+        report.setCompletedAt(LocalDateTime.now());
+        if (report.getDriftedRows() > 0) {
+            log.warn("Leave ledger reconciliation repaired {} of {} rows",
+                    report.getDriftedRows(), report.getLedgerRowsChecked());
+        }
+        return report;
+    }
+
+    private void repair(LeaveLedger ledger, int[] actual, LedgerReconciliationReportDTO report) {
+        if (ledger.getUsedDays() == actual[0] && ledger.getPendingDays() == actual[1]) {
+            return;
+        }
+        report.getDrifts().add(new LedgerDriftDTO(ledger.getEmployeeId(), ledger.getYear(),
+                ledger.getUsedDays(), actual[0], ledger.getPendingDays(), actual[1]));
+        ledger.setUsedDays(actual[0]);
+        ledger.setPendingDays(actual[1]);
+        leaveLedgerRepository.save(ledger);
+        employeeVersions.recordChange(ledger.getEmployeeId());
+    }
+
+    private Map<LeaveLedgerId, LeaveLedger> findOrCreate(Set<LeaveLedgerId> ids) {
+        Set<Long> employeeIds = new HashSet<>();
+        Set<Integer> years = new HashSet<>();
+        ids.forEach(id -> {
+            employeeIds.add(id.getEmployeeId());
+            years.add(id.getYear());
+        });
+
+        Map<LeaveLedgerId, LeaveLedger> ledgers = new HashMap<>();
+        for (LeaveLedger ledger : leaveLedgerRepository.findByEmployeeIdInAndYearIn(employeeIds, years)) {
+            LeaveLedgerId id = new LeaveLedgerId(ledger.getEmployeeId(), ledger.getYear());
+            if (ids.contains(id)) {
+                ledgers.put(id, ledger);
+            }
+        }
+        for (LeaveLedgerId id : ids) {
+            ledgers.computeIfAbsent(id, missing -> new LeaveLedger(missing.getEmployeeId(), missing.getYear()));
+        }
+        return ledgers;
+    }
+
+    private LeaveLedgerId ledgerId(LeaveRequest leaveRequest) {
+        return new LeaveLedgerId(leaveRequest.getEmployeeId(), leaveRequest.getStartDate().getYear());
+    }
+}
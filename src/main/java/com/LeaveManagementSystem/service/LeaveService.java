@@ -1,55 +1,164 @@
 package com.LeaveManagementSystem.service;
 
+import com.LeaveManagementSystem.cache.DepartmentOccupancyIndex;
+import com.LeaveManagementSystem.cache.EmployeeCache;
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.cache.LeaveIntervalIndex;
+import com.LeaveManagementSystem.dto.BulkDecisionRequestDTO;
+import com.LeaveManagementSystem.dto.BulkDecisionResultDTO;
+import com.LeaveManagementSystem.dto.KeysetPageDTO;
+import com.LeaveManagementSystem.dto.LeaveBatchItemResultDTO;
+import com.LeaveManagementSystem.dto.LeaveBatchResultDTO;
 import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.dto.SkippedLeaveRequestDTO;
 import com.LeaveManagementSystem.exception.EmployeeNotFoundException;
 import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.ArchivedLeaveRequest;
 import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveEventType;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
 import com.LeaveManagementSystem.model.LeaveRequest;
 import com.LeaveManagementSystem.model.LeaveStatus;
-import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.outbox.LeaveEventOutbox;
+import com.LeaveManagementSystem.repository.ArchivedLeaveRequestRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestFilter;
 import com.LeaveManagementSystem.repository.LeaveRequestRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "lms.service", histogram = true)
 public class LeaveService {
 
+    private static final Logger log = LoggerFactory.getLogger(LeaveService.class);
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Keeps IN lists of the bulk UPDATE well below driver and optimizer limits
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
+    // A new request may not overlap anything still pending or approved; an approval only
+    // conflicts with ranges that are already approved
+    private static final Set<LeaveStatus> ACTIVE_STATUSES = EnumSet.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+    private static final Set<LeaveStatus> APPROVED_STATUS = EnumSet.of(LeaveStatus.APPROVED);
+
     @Autowired
     private LeaveRequestRepository leaveRequestRepository;
 
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private DepartmentOccupancyIndex departmentOccupancyIndex;
+
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+
+    @Autowired
+    private LeaveEventOutbox leaveEventOutbox;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private TransactionRetrier transactionRetrier;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${lms.leave.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
 
     public LeaveRequestDTO applyForLeave(LeaveRequestDTO leaveRequestDTO) {
-        // Validate employee exists
-        Employee employee = employeeRepository.findById(leaveRequestDTO.getEmployeeId())
-                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " +
-                        leaveRequestDTO.getEmployeeId()));
+        return transactionRetrier.execute(() -> apply(leaveRequestDTO));
+    }
 
-        // Validate dates
-        validateDates(leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
+    /**
+     * Applies the same rules as applyForLeave to every item, with employees and ledger totals
+     * loaded once per batch. Items that fail are reported and the rest are inserted.
+     */
+    public LeaveBatchResultDTO applyForLeaveBatch(List<LeaveRequestDTO> leaveRequestDTOs) {
+        return transactionRetrier.execute(() -> applyBatch(leaveRequestDTOs));
+    }
 
-        // Calculate days
-        int days = calculateLeaveDays(leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
+    public LeaveRequestDTO approveLeave(Long leaveRequestId) {
+        return transactionRetrier.execute(() -> approve(leaveRequestId));
+    }
 
-        // Validate against joining date
-        if (leaveRequestDTO.getStartDate().isBefore(employee.getJoiningDate())) {
-            throw new InvalidLeaveRequestException("Cannot apply for leave before joining date: " +
-                    employee.getJoiningDate());
-        }
+    public LeaveRequestDTO rejectLeave(Long leaveRequestId) {
+        return transactionRetrier.execute(() -> reject(leaveRequestId));
+    }
 
-        // Check leave balance
-        validateLeaveBalance(employee.getId(), days);
+    public BulkDecisionResultDTO approveLeaves(BulkDecisionRequestDTO bulkDecisionRequestDTO) {
+        return transactionRetrier.execute(() -> decideLeaves(bulkDecisionRequestDTO, LeaveStatus.APPROVED));
+    }
+
+    public BulkDecisionResultDTO rejectLeaves(BulkDecisionRequestDTO bulkDecisionRequestDTO) {
+        return transactionRetrier.execute(() -> decideLeaves(bulkDecisionRequestDTO, LeaveStatus.REJECTED));
+    }
+
+    // Every write below runs inside TransactionRetrier; the ledger row's @Version turns a
+    // balance check that raced another writer into a retry instead of an overdraw.
+    private LeaveRequestDTO apply(LeaveRequestDTO leaveRequestDTO) {
+        // Validate employee exists
+        Employee employee = employeeCache.findById(leaveRequestDTO.getEmployeeId())
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " +
+                        leaveRequestDTO.getEmployeeId()));
+
+        // Validate dates, joining date and leave balance
+        int usedLeaves = leaveLedgerService.getUsedDays(employee.getId(), leaveRequestDTO.getStartDate().getYear());
+        int days = validateApplication(employee, leaveRequestDTO, usedLeaves);
 
         // Check overlapping requests
         validateOverlappingRequests(employee.getId(), leaveRequestDTO.getStartDate(),
-                leaveRequestDTO.getEndDate());
+                leaveRequestDTO.getEndDate(), ACTIVE_STATUSES, null);
 
         LeaveRequest leaveRequest = new LeaveRequest(
                 leaveRequestDTO.getEmployeeId(),
@@ -59,11 +168,86 @@ public class LeaveService {
                 leaveRequestDTO.getReason()
         );
 
+        departmentOccupancyIndex.recordApplied(employee, leaveRequest);
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveLedgerService.recordApplied(savedRequest);
+        // Checked again as the range is recorded: a concurrent application may have taken the dates since.
+        // After the ledger row lock, so that lock is taken before any employee row lock, as approvals do.
+        if (!leaveIntervalIndex.reserveAll(List.of(savedRequest)).isEmpty()) {
+            throw new InvalidLeaveRequestException("Overlapping leave request found for the given dates");
+        }
+        leaveAnalyticsService.recordApplied(employee, savedRequest);
+        leaveEventOutbox.record(LeaveEventType.LEAVE_APPLIED, employee, savedRequest, LeaveStatus.PENDING,
+                savedRequest.getCreatedAt());
+        employeeVersions.recordChange(employee.getId());
         return convertToDTO(savedRequest);
     }
 
-    public LeaveRequestDTO approveLeave(Long leaveRequestId) {
+    private LeaveBatchResultDTO applyBatch(List<LeaveRequestDTO> leaveRequestDTOs) {
+        if (leaveRequestDTOs.size() > maxBatchSize) {
+            throw new InvalidLeaveRequestException("A batch can contain at most " + maxBatchSize +
+                    " leave requests");
+        }
+
+        List<LeaveRequestDTO> wellFormed = leaveRequestDTOs.stream()
+                .filter(dto -> dto != null && validator.validate(dto).isEmpty())
+                .collect(Collectors.toList());
+        Set<Long> employeeIds = wellFormed.stream()
+                .map(LeaveRequestDTO::getEmployeeId)
+                .collect(Collectors.toSet());
+        Set<Integer> years = wellFormed.stream()
+                .map(dto -> dto.getStartDate().getYear())
+                .collect(Collectors.toSet());
+
+        Map<Long, Employee> employees = employeeCache.findAllById(employeeIds);
+        Map<LeaveLedgerId, Integer> usedDays = leaveLedgerService.getUsedDays(employeeIds, years);
+        Map<Long, List<LeaveRequest>> reservedRanges = new HashMap<>();
+
+        LeaveBatchItemResultDTO[] results = new LeaveBatchItemResultDTO[leaveRequestDTOs.size()];
+        List<LeaveRequest> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < leaveRequestDTOs.size(); i++) {
+            LeaveRequestDTO leaveRequestDTO = leaveRequestDTOs.get(i);
+            try {
+                LeaveRequest leaveRequest = validateBatchItem(leaveRequestDTO, employees, usedDays, reservedRanges);
+                // Later items in the same batch must not overlap this one either
+                reservedRanges.computeIfAbsent(leaveRequest.getEmployeeId(), id -> new ArrayList<>()).add(leaveRequest);
+                accepted.add(leaveRequest);
+                acceptedIndexes.add(i);
+            } catch (InvalidLeaveRequestException | EmployeeNotFoundException e) {
+                results[i] = LeaveBatchItemResultDTO.failed(i, e.getMessage());
+            }
+        }
+
+        for (LeaveRequest leaveRequest : accepted) {
+            departmentOccupancyIndex.recordApplied(employees.get(leaveRequest.getEmployeeId()), leaveRequest);
+        }
+        for (int from = 0; from < accepted.size(); from += jdbcBatchSize) {
+            leaveRequestRepository.saveAll(accepted.subList(from, Math.min(from + jdbcBatchSize, accepted.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        leaveLedgerService.recordAppliedBatch(accepted);
+        leaveLedgerService.flush();
+        Set<Long> overlapping = leaveIntervalIndex.reserveAll(accepted);
+        if (!overlapping.isEmpty()) {
+            // Taken by a concurrent application since validation; the retry reports these items as failed
+            throw new OptimisticLockingFailureException("Leave requests " + overlapping +
+                    " overlap leave applied concurrently");
+        }
+        leaveAnalyticsService.recordAppliedBatch(employees, accepted);
+        leaveEventOutbox.recordAll(LeaveEventType.LEAVE_APPLIED, employees, accepted, LeaveStatus.PENDING,
+                LocalDateTime.now());
+        employeeVersions.recordChanges(accepted.stream().map(LeaveRequest::getEmployeeId).collect(Collectors.toSet()));
+
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = LeaveBatchItemResultDTO.succeeded(index, convertToDTO(accepted.get(i)));
+        }
+        return new LeaveBatchResultDTO(List.of(results));
+    }
+
+    private LeaveRequestDTO approve(Long leaveRequestId) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveRequestId)
                 .orElseThrow(() -> new InvalidLeaveRequestException("Leave request not found with ID: " +
                         leaveRequestId));
@@ -73,15 +257,39 @@ public class LeaveService {
                     leaveRequest.getStatus().toString().toLowerCase());
         }
 
-        // Double-check leave balance at approval time
-        validateLeaveBalance(leaveRequest.getEmployeeId(), leaveRequest.getDays());
+        // Double-check leave balance at approval time. The check is part of the ledger UPDATE, whose row
+        // lock is held until commit, so approvals for the same employee and year run one at a time and
+        // the overlap checks below see every approval committed before this one, on any instance.
+        Employee employee = employeeCache.findById(leaveRequest.getEmployeeId())
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " +
+                        leaveRequest.getEmployeeId()));
+        if (!leaveLedgerService.recordApproved(leaveRequest, employee.getAnnualLeaveBalance())) {
+            int usedLeaves = leaveLedgerService.getUsedDays(employee.getId(), leaveRequest.getStartDate().getYear());
+            throw insufficientBalance(employee, usedLeaves, leaveRequest.getDays());
+        }
+        validateOverlappingRequests(employee.getId(), leaveRequest.getStartDate(), leaveRequest.getEndDate(),
+                APPROVED_STATUS, leaveRequest.getId());
+        if (!leaveIntervalIndex.findApprovedOverlaps(List.of(leaveRequest)).isEmpty()) {
+            throw new InvalidLeaveRequestException("Overlapping leave request found for the given dates");
+        }
+        int minPresent = availabilityService.getMinPresent(employee.getDepartment());
+        LocalDate understaffed = departmentOccupancyIndex.tryApprove(employee, leaveRequest, minPresent);
+        if (understaffed != null) {
+            throw understaffed(employee, understaffed, minPresent);
+        }
 
         leaveRequest.setStatus(LeaveStatus.APPROVED);
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        LocalDateTime decidedAt = LocalDateTime.now();
+        leaveAnalyticsService.recordDecided(employee, savedRequest, LeaveStatus.APPROVED, decidedAt);
+        leaveEventOutbox.record(LeaveEventType.LEAVE_APPROVED, employee, savedRequest, LeaveStatus.APPROVED,
+                decidedAt);
+        leaveIntervalIndex.record(savedRequest, LeaveStatus.APPROVED);
+        employeeVersions.recordChange(employee.getId());
         return convertToDTO(savedRequest);
     }
 
-    public LeaveRequestDTO rejectLeave(Long leaveRequestId) {
+    private LeaveRequestDTO reject(Long leaveRequestId) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveRequestId)
                 .orElseThrow(() -> new InvalidLeaveRequestException("Leave request not found with ID: " +
                         leaveRequestId));
@@ -93,25 +301,291 @@ public class LeaveService {
 
         leaveRequest.setStatus(LeaveStatus.REJECTED);
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveLedgerService.recordRejected(savedRequest);
+        leaveIntervalIndex.record(savedRequest, LeaveStatus.REJECTED);
+        LocalDateTime decidedAt = LocalDateTime.now();
+        Employee employee = employeeCache.findById(savedRequest.getEmployeeId()).orElse(null);
+        if (employee != null) {
+            departmentOccupancyIndex.recordRejected(employee, savedRequest);
+            leaveAnalyticsService.recordDecided(employee, savedRequest, LeaveStatus.REJECTED, decidedAt);
+        }
+        leaveEventOutbox.record(LeaveEventType.LEAVE_REJECTED, employee, savedRequest, LeaveStatus.REJECTED,
+                decidedAt);
+        employeeVersions.recordChange(savedRequest.getEmployeeId());
         return convertToDTO(savedRequest);
     }
 
-    public List<LeaveRequestDTO> getAllLeaveRequests() {
-        return leaveRequestRepository.findAll()
-                .stream()
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<LeaveRequestDTO> getLeaveRequestsPage(LeaveRequestFilter filter, Long afterId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<LeaveRequest> rows = leaveRequestRepository.findPage(normalize(filter), afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+
+        List<LeaveRequestDTO> items = rows.stream()
+                .limit(pageSize)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new KeysetPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLeaveRequests(LeaveRequestFilter filter, Consumer<LeaveRequestDTO> sink) {
+        try (Stream<LeaveRequest> requests = leaveRequestRepository.streamAll(normalize(filter))) {
+            requests.forEach(leaveRequest -> {
+                sink.accept(convertToDTO(leaveRequest));
+                // Keep the persistence context empty so the export runs in constant memory
+                entityManager.detach(leaveRequest);
+            });
+        }
     }
 
-    public List<LeaveRequestDTO> getLeaveRequestsByEmployee(Long employeeId) {
+    /**
+     * The employee's requests in leave_requests; with includeArchived, preceded by those the archiver
+     * has moved to leave_requests_archive.
+     */
+    @Transactional(readOnly = true)
+    public List<LeaveRequestDTO> getLeaveRequestsByEmployee(Long employeeId, boolean includeArchived) {
         // Validate employee exists
-        employeeRepository.findById(employeeId)
+        employeeCache.findById(employeeId)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " + employeeId));
 
-        return leaveRequestRepository.findByEmployeeId(employeeId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<LeaveRequestDTO> requests = new ArrayList<>();
+        if (includeArchived) {
+            archivedLeaveRequestRepository.findByEmployeeIdOrderByIdAsc(employeeId)
+                    .forEach(archived -> requests.add(convertToDTO(archived)));
+        }
+        leaveRequestRepository.findByEmployeeId(employeeId)
+                .forEach(leaveRequest -> requests.add(convertToDTO(leaveRequest)));
+        return requests;
+    }
+
+    /**
+     * Loads the selected requests in one query, checks approvals against the ledger totals of every
+     * affected employee at once and flips the accepted ones with set-based UPDATEs.
+     */
+    private BulkDecisionResultDTO decideLeaves(BulkDecisionRequestDTO bulkDecisionRequestDTO, LeaveStatus decision) {
+        long startedAt = System.nanoTime();
+        BulkDecisionResultDTO result = new BulkDecisionResultDTO(decision);
+
+        List<LeaveRequest> candidates = findBulkCandidates(bulkDecisionRequestDTO, result);
+        result.setMatched(candidates.size() + result.getSkipped().size());
+
+        Set<Long> employeeIds = candidates.stream()
+                .map(LeaveRequest::getEmployeeId)
+                .collect(Collectors.toSet());
+        Map<Long, Employee> employees = employeeCache.findAllById(employeeIds);
+        Map<LeaveLedgerId, Integer> usedDays = new HashMap<>();
+        if (decision == LeaveStatus.APPROVED && !candidates.isEmpty()) {
+            Set<Integer> years = candidates.stream()
+                    .map(leaveRequest -> leaveRequest.getStartDate().getYear())
+                    .collect(Collectors.toSet());
+            usedDays.putAll(leaveLedgerService.getUsedDays(employeeIds, years));
+        }
+
+        List<LeaveRequest> accepted = new ArrayList<>();
+        for (LeaveRequest leaveRequest : candidates) {
+            if (leaveRequest.getStatus() != LeaveStatus.PENDING) {
+                result.getSkipped().add(new SkippedLeaveRequestDTO(leaveRequest.getId(),
+                        "Leave request is already " + leaveRequest.getStatus().toString().toLowerCase()));
+                continue;
+            }
+            if (decision == LeaveStatus.APPROVED) {
+                Employee employee = employees.get(leaveRequest.getEmployeeId());
+                if (employee == null) {
+                    result.getSkipped().add(new SkippedLeaveRequestDTO(leaveRequest.getId(),
+                            "Employee not found with ID: " + leaveRequest.getEmployeeId()));
+                    continue;
+                }
+                LeaveLedgerId ledgerId = new LeaveLedgerId(employee.getId(), leaveRequest.getStartDate().getYear());
+                int used = usedDays.getOrDefault(ledgerId, 0);
+                try {
+                    validateLeaveBalance(employee, used, leaveRequest.getDays());
+                } catch (InvalidLeaveRequestException e) {
+                    result.getSkipped().add(new SkippedLeaveRequestDTO(leaveRequest.getId(), e.getMessage()));
+                    continue;
+                }
+                if (leaveIntervalIndex.overlaps(employee.getId(), leaveRequest.getStartDate(),
+                        leaveRequest.getEndDate(), APPROVED_STATUS, leaveRequest.getId())) {
+                    result.getSkipped().add(new SkippedLeaveRequestDTO(leaveRequest.getId(),
+                            "Overlapping leave request found for the given dates"));
+                    continue;
+                }
+                int minPresent = availabilityService.getMinPresent(employee.getDepartment());
+                LocalDate understaffed = departmentOccupancyIndex.tryApprove(employee, leaveRequest, minPresent);
+                if (understaffed != null) {
+                    result.getSkipped().add(new SkippedLeaveRequestDTO(leaveRequest.getId(),
+                            understaffed(employee, understaffed, minPresent).getMessage()));
+                    continue;
+                }
+                // Earlier approvals in this batch count against the balance, dates and staffing of later ones
+                usedDays.put(ledgerId, used + leaveRequest.getDays());
+                leaveIntervalIndex.record(leaveRequest, LeaveStatus.APPROVED);
+            }
+            accepted.add(leaveRequest);
+        }
+
+        List<Long> acceptedIds = accepted.stream().map(LeaveRequest::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < acceptedIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            updated += leaveRequestRepository.decidePending(
+                    acceptedIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, acceptedIds.size())),
+                    decision, now);
+        }
+        if (updated != acceptedIds.size()) {
+            // Another transaction decided some of these requests after they were read
+            throw new OptimisticLockingFailureException("Leave requests were modified concurrently, " +
+                    acceptedIds.size() + " selected but " + updated + " still pending");
+        }
+        leaveLedgerService.recordDecidedBatch(accepted, decision);
+        if (decision == LeaveStatus.APPROVED) {
+            // With the ledger rows written and locked, confirm against approvals made on other instances;
+            // the retry sees them in the reloaded index and skips the affected requests
+            leaveLedgerService.flush();
+            Set<Long> overlapping = leaveIntervalIndex.findApprovedOverlaps(accepted);
+            if (!overlapping.isEmpty()) {
+                throw new OptimisticLockingFailureException("Leave requests " + overlapping +
+                        " overlap leave approved concurrently");
+            }
+        }
+        leaveAnalyticsService.recordDecidedBatch(employees, accepted, decision, now);
+        // The UPDATE above bypassed the entities, so the event takes the decision rather than their status
+        leaveEventOutbox.recordAll(decision == LeaveStatus.APPROVED ? LeaveEventType.LEAVE_APPROVED
+                : LeaveEventType.LEAVE_REJECTED, employees, accepted, decision, now);
+        employeeVersions.recordChanges(accepted.stream().map(LeaveRequest::getEmployeeId).collect(Collectors.toSet()));
+        if (decision == LeaveStatus.REJECTED) {
+            leaveIntervalIndex.recordAll(accepted, LeaveStatus.REJECTED);
+            for (LeaveRequest leaveRequest : accepted) {
+                Employee employee = employees.get(leaveRequest.getEmployeeId());
+                if (employee != null) {
+                    departmentOccupancyIndex.recordRejected(employee, leaveRequest);
+                }
+            }
+        }
+
+        result.setProcessedIds(acceptedIds);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        result.setRequestsPerSecond(elapsedNanos == 0 ? 0 : result.getMatched() * 1e9 / elapsedNanos);
+        log.info("Bulk {} decision on {} leave requests: {} processed, {} skipped, {} req/s",
+                decision.toString().toLowerCase(), result.getMatched(), acceptedIds.size(),
+                result.getSkipped().size(), String.format("%.1f", result.getRequestsPerSecond()));
+        return result;
+    }
+
+    private List<LeaveRequest> findBulkCandidates(BulkDecisionRequestDTO bulkDecisionRequestDTO,
+                                                  BulkDecisionResultDTO result) {
+        List<Long> ids = bulkDecisionRequestDTO.getIds();
+        boolean hasFilter = bulkDecisionRequestDTO.getDepartment() != null
+                || bulkDecisionRequestDTO.getFrom() != null || bulkDecisionRequestDTO.getTo() != null;
+
+        if (ids != null && !ids.isEmpty()) {
+            if (hasFilter) {
+                throw new InvalidLeaveRequestException("Select leave requests either by ids or by filter, not both");
+            }
+            Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+            uniqueIds.remove(null);
+            if (uniqueIds.size() > maxBatchSize) {
+                throw new InvalidLeaveRequestException("A bulk decision can cover at most " + maxBatchSize +
+                        " leave requests");
+            }
+            Map<Long, LeaveRequest> found = leaveRequestRepository.findAllById(uniqueIds).stream()
+                    .collect(Collectors.toMap(LeaveRequest::getId, leaveRequest -> leaveRequest));
+            List<LeaveRequest> candidates = new ArrayList<>();
+            for (Long id : uniqueIds) {
+                LeaveRequest leaveRequest = found.get(id);
+                if (leaveRequest == null) {
+                    result.getSkipped().add(new SkippedLeaveRequestDTO(id, "Leave request not found with ID: " + id));
+                } else {
+                    candidates.add(leaveRequest);
+                }
+            }
+            return candidates;
+        }
+
+        if (!hasFilter) {
+            throw new InvalidLeaveRequestException("Provide leave request ids or a department/date filter");
+        }
+        LeaveRequestFilter filter = normalize(new LeaveRequestFilter(LeaveStatus.PENDING,
+                bulkDecisionRequestDTO.getDepartment(), bulkDecisionRequestDTO.getFrom(),
+                bulkDecisionRequestDTO.getTo()));
+        List<LeaveRequest> candidates = leaveRequestRepository.findPage(filter, null, maxBatchSize + 1);
+        if (candidates.size() > maxBatchSize) {
+            throw new InvalidLeaveRequestException("Filter matches more than " + maxBatchSize +
+                    " pending leave requests, narrow the department or date window");
+        }
+        return candidates;
+    }
+
+    private LeaveRequestFilter normalize(LeaveRequestFilter filter) {
+        if (filter.getDepartment() == null) {
+            return filter;
+        }
+        return new LeaveRequestFilter(filter.getStatus(), filter.getDepartment().toUpperCase().trim(),
+                filter.getFrom(), filter.getTo());
+    }
+
+    private LeaveRequest validateBatchItem(LeaveRequestDTO leaveRequestDTO, Map<Long, Employee> employees,
+                                           Map<LeaveLedgerId, Integer> usedDays,
+                                           Map<Long, List<LeaveRequest>> reservedRanges) {
+        if (leaveRequestDTO == null) {
+            throw new InvalidLeaveRequestException("Leave request is required");
+        }
+        Set<ConstraintViolation<LeaveRequestDTO>> violations = validator.validate(leaveRequestDTO);
+        if (!violations.isEmpty()) {
+            throw new InvalidLeaveRequestException(violations.iterator().next().getMessage());
+        }
+
+        Employee employee = employees.get(leaveRequestDTO.getEmployeeId());
+        if (employee == null) {
+            throw new EmployeeNotFoundException("Employee not found with ID: " + leaveRequestDTO.getEmployeeId());
+        }
+
+        int used = usedDays.getOrDefault(
+                new LeaveLedgerId(employee.getId(), leaveRequestDTO.getStartDate().getYear()), 0);
+        int days = validateApplication(employee, leaveRequestDTO, used);
+
+        // Earlier items of the same batch are not in the index until the batch is saved
+        boolean overlaps = reservedRanges.getOrDefault(employee.getId(), List.of()).stream()
+                .anyMatch(reserved -> !reserved.getStartDate().isAfter(leaveRequestDTO.getEndDate())
+                        && !reserved.getEndDate().isBefore(leaveRequestDTO.getStartDate()));
+        if (overlaps) {
+            throw new InvalidLeaveRequestException("Overlapping leave request found for the given dates");
+        }
+        validateOverlappingRequests(employee.getId(), leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate(),
+                ACTIVE_STATUSES, null);
+
+        return new LeaveRequest(
+                leaveRequestDTO.getEmployeeId(),
+                leaveRequestDTO.getStartDate(),
+                leaveRequestDTO.getEndDate(),
+                days,
+                leaveRequestDTO.getReason()
+        );
+    }
+
+    private int validateApplication(Employee employee, LeaveRequestDTO leaveRequestDTO, int usedLeaves) {
+        // Validate dates
+        validateDates(leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
+
+        // Count working days in the employee's department calendar
+        int days = calendarService.countWorkingDays(employee.getDepartment(), leaveRequestDTO.getStartDate(),
+                leaveRequestDTO.getEndDate());
+        if (days == 0) {
+            throw new InvalidLeaveRequestException("Leave request does not cover any working days");
+        }
+
+        // Validate against joining date
+        if (leaveRequestDTO.getStartDate().isBefore(employee.getJoiningDate())) {
+            throw new InvalidLeaveRequestException("Cannot apply for leave before joining date: " +
+                    employee.getJoiningDate());
+        }
+
+        // Check leave balance
+        validateLeaveBalance(employee, usedLeaves, days);
+        return days;
     }
 
     private void validateDates(LocalDate startDate, LocalDate endDate) {
@@ -129,49 +603,35 @@ public class LeaveService {
         }
     }
 
-    private int calculateLeaveDays(LocalDate startDate, LocalDate endDate) {
-
-        int startDay = startDate.getDayOfYear();
-        int endDay = endDate.getDayOfYear();
-        int startYear = startDate.getYear();
-        int endYear = endDate.getYear();
+    private void validateLeaveBalance(Employee employee, int usedLeaves, int requestedDays) {
+        int availableBalance = employee.getAnnualLeaveBalance() - usedLeaves;
 
-        if (startYear == endYear) {
-            return endDay - startDay + 1;
-        } else {
-            // For different years - simple case
-            return endDay - startDay + 1; // Simplified for same year
+        if (requestedDays > availableBalance) {
+            throw insufficientBalance(employee, usedLeaves, requestedDays);
         }
     }
 
-    private void validateLeaveBalance(Long employeeId, int requestedDays) {
-        Employee employee = employeeRepository.findById(employeeId).get();
-        int currentYear = LocalDate.now().getYear();
-        Integer usedLeaves = leaveRequestRepository.getTotalApprovedLeaveDaysForYear(employeeId, currentYear);
-
-        if (usedLeaves == null) {
-            usedLeaves = 0;
-        }
-
+    private InvalidLeaveRequestException insufficientBalance(Employee employee, int usedLeaves, int requestedDays) {
         int availableBalance = employee.getAnnualLeaveBalance() - usedLeaves;
-
-        if (requestedDays > availableBalance) {
-            throw new InvalidLeaveRequestException(
-                    "Insufficient leave balance. Available: " + availableBalance +
-                            ", Requested: " + requestedDays);
-        }
+        return new InvalidLeaveRequestException(
+                "Insufficient leave balance. Available: " + availableBalance +
+                        ", Requested: " + requestedDays);
     }
 
-    private void validateOverlappingRequests(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository
-                .findOverlappingApprovedLeaves(employeeId, startDate, endDate);
+    private InvalidLeaveRequestException understaffed(Employee employee, LocalDate date, int minPresent) {
+        return new InvalidLeaveRequestException("Approving would leave fewer than " + minPresent +
+                " employees of " + employee.getDepartment() + " at work on " + date);
+    }
 
-        if (!overlappingRequests.isEmpty()) {
+    private void validateOverlappingRequests(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                             Set<LeaveStatus> statuses, Long excludedId) {
+        if (leaveIntervalIndex.overlaps(employeeId, startDate, endDate, statuses, excludedId)) {
             throw new InvalidLeaveRequestException("Overlapping leave request found for the given dates");
         }
     }
 
-    private LeaveRequestDTO convertToDTO(LeaveRequest leaveRequest) {
+    // Package-private so the JMH benchmarks in src/jmh can measure it
+    LeaveRequestDTO convertToDTO(LeaveRequest leaveRequest) {
         LeaveRequestDTO dto = new LeaveRequestDTO();
         dto.setId(leaveRequest.getId());
         dto.setEmployeeId(leaveRequest.getEmployeeId());
@@ -184,4 +644,18 @@ public class LeaveService {
         dto.setUpdatedAt(leaveRequest.getUpdatedAt());
         return dto;
     }
+
+    private LeaveRequestDTO convertToDTO(ArchivedLeaveRequest archived) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setId(archived.getId());
+        dto.setEmployeeId(archived.getEmployeeId());
+        dto.setStartDate(archived.getStartDate());
+        dto.setEndDate(archived.getEndDate());
+        dto.setDays(archived.getDays());
+        dto.setReason(archived.getReason());
+        dto.setStatus(archived.getStatus());
+        dto.setCreatedAt(archived.getCreatedAt());
+        dto.setUpdatedAt(archived.getUpdatedAt());
+        return dto;
+    }
 }
@@ -0,0 +1,86 @@
+package com.LeaveManagementSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it a bounded number of times when it loses
+ * an optimistic-lock race, so callers re-read fresh state instead of acting on a stale check.
+ */
+@Component
+public class TransactionRetrier {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRetrier.class);
+
+    private static final String DUPLICATE_KEY_SQL_STATE = "23505";
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${lms.tx.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${lms.tx.retry.backoff:5ms}")
+    private Duration backoff;
+
+    public <T> T execute(Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Reads after a row lock is taken must see what the previous lock holder committed
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (RuntimeException e) {
+                if (!isRetryable(e) || attempt >= maxAttempts) {
+                    if (isRetryable(e)) {
+                        log.warn("Giving up after {} conflicting attempts: {}", attempt, e.getMessage());
+                    }
+                    throw e;
+                }
+                log.debug("Retrying after conflict (attempt {} of {}): {}", attempt, maxAttempts, e.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    private boolean isRetryable(RuntimeException e) {
+        if (e instanceof ConcurrencyFailureException || e instanceof DuplicateKeyException) {
+            return true;
+        }
+        // Two first-time writers inserting the same ledger row: the loser retries and updates it instead
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && (DUPLICATE_KEY_SQL_STATE.equals(sqlException.getSQLState())
+                    || sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Exponential backoff with full jitter keeps colliding writers from retrying in lockstep
+    private void pause(int attempt) {
+        long ceiling = backoff.toNanos() << Math.min(attempt - 1, 10);
+        long nanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(Duration.ofNanos(nanos).toMillis(), (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
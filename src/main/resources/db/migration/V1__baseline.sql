@@ -0,0 +1,153 @@
+-- Schema as Hibernate's ddl-auto=update left it before migrations took over. Databases that already
+-- have it are baselined at this version (spring.flyway.baseline-on-migrate) and skip this script.
+
+create table employees (
+    id bigint not null,
+    name varchar(255),
+    email varchar(255),
+    department varchar(255),
+    joining_date date not null,
+    annual_leave_balance integer,
+    primary key (id),
+    constraint uk_employee_email unique (email)
+) engine=InnoDB;
+
+create index idx_employee_department on employees (department);
+
+create table employees_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into employees_seq values (1);
+
+create table leave_requests (
+    id bigint not null,
+    employee_id bigint not null,
+    start_date date not null,
+    end_date date not null,
+    days integer,
+    reason varchar(255),
+    status enum ('APPROVED','PENDING','REJECTED'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    version bigint default 0 not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_leave_emp_status_dates on leave_requests (employee_id, status, start_date, end_date);
+create index idx_leave_status on leave_requests (status);
+
+create table leave_requests_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into leave_requests_seq values (1);
+
+create table leave_requests_archive (
+    id bigint not null,
+    employee_id bigint,
+    start_date date,
+    end_date date,
+    days integer,
+    reason varchar(255),
+    status enum ('APPROVED','PENDING','REJECTED'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    version bigint,
+    archived_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_leave_archive_emp_start on leave_requests_archive (employee_id, start_date);
+
+create table leave_ledger (
+    employee_id bigint not null,
+    ledger_year integer not null,
+    used_days integer not null,
+    pending_days integer not null,
+    version bigint,
+    primary key (ledger_year, employee_id)
+) engine=InnoDB;
+
+create table leave_rollups (
+    department varchar(255) not null,
+    rollup_month date not null,
+    status enum ('APPROVED','PENDING','REJECTED') not null,
+    request_count bigint not null,
+    total_days bigint not null,
+    turnaround_seconds bigint not null,
+    version bigint,
+    primary key (rollup_month, department, status)
+) engine=InnoDB;
+
+create table employee_leave_rollups (
+    employee_id bigint not null,
+    rollup_month date not null,
+    department varchar(255),
+    approved_days bigint not null,
+    version bigint,
+    primary key (rollup_month, employee_id)
+) engine=InnoDB;
+
+create index idx_employee_rollup_month on employee_leave_rollups (rollup_month, department);
+
+create table outbox_events (
+    id bigint not null,
+    employee_id bigint not null,
+    leave_request_id bigint not null,
+    event_type enum ('LEAVE_APPLIED','LEAVE_APPROVED','LEAVE_REJECTED') not null,
+    payload varchar(4000) not null,
+    status enum ('DEAD','PENDING','SENT') not null,
+    attempts integer not null,
+    created_at datetime(6),
+    next_attempt_at datetime(6),
+    dispatched_at datetime(6),
+    last_error varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_outbox_status_id on outbox_events (status, id);
+
+create table outbox_events_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into outbox_events_seq values (1);
+
+create table accrual_runs (
+    id bigint not null auto_increment,
+    accrual_year integer not null,
+    through_month integer not null,
+    status enum ('COMPLETED','FAILED','RUNNING') not null,
+    total_employees bigint not null,
+    started_at datetime(6),
+    finished_at datetime(6),
+    last_error varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_accrual_run_period on accrual_runs (accrual_year, through_month);
+
+create table accrual_partitions (
+    id bigint not null auto_increment,
+    run_id bigint not null,
+    from_id bigint not null,
+    to_id bigint not null,
+    checkpoint_id bigint not null,
+    processed bigint not null,
+    done bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_accrual_partition_run on accrual_partitions (run_id);
+
+create table leave_entitlements (
+    employee_id bigint not null,
+    entitlement_year integer not null,
+    accrued_days integer not null,
+    carried_over_days integer not null,
+    through_month integer not null,
+    computed_at datetime(6),
+    version bigint,
+    primary key (entitlement_year, employee_id)
+) engine=InnoDB;
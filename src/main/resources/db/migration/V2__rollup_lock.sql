@@ -0,0 +1,8 @@
+-- One row locked by rollup writers and by the full recompute (see RollupLock)
+
+create table rollup_locks (
+    id integer not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into rollup_locks values (1);
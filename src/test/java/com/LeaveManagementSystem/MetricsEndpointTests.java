@@ -0,0 +1,75 @@
+package com.LeaveManagementSystem;
+
+import com.LeaveManagementSystem.service.CalendarService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Test
+    void prometheusEndpointExposesRequestServiceQueryAndPoolMetrics() throws Exception {
+        String employee = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Metrics\",\"email\":\"" + UUID.randomUUID() + "@example.com\"," +
+                                "\"department\":\"IT\",\"joiningDate\":\"2024-01-01\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String employeeId = employee.replaceAll(".*\"id\":(\\d+).*", "$1");
+        String startDate = calendarService.getCalendar("IT").nextWorkingDay(LocalDate.now().plusDays(3)).toString();
+        mockMvc.perform(post("/api/leave-requests").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employeeId\":" + employeeId + ",\"startDate\":\"" + startDate + "\"," +
+                                "\"endDate\":\"" + startDate + "\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/leave-requests")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/leave-requests\"")
+                .containsPattern("lms_service_seconds_count\\{.*method=\"applyForLeave\"")
+                .containsPattern("lms_service_seconds_count\\{.*method=\"addEmployee\"")
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{.*method=\"findPage\"")
+                .containsPattern("lms_repository_rows_count\\{.*method=\"findPage\"")
+                .containsPattern("hikaricp_connections_active\\{");
+    }
+
+    @Test
+    void loggersEndpointIsNotExposed() throws Exception {
+        mockMvc.perform(post("/actuator/loggers/lms.slow-query").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"TRACE\"}"))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isGreaterThanOrEqualTo(400));
+        assertThat(loggingSystem.getLoggerConfiguration("lms.slow-query").getEffectiveLevel())
+                .isNotEqualTo(LogLevel.TRACE);
+    }
+}
@@ -0,0 +1,116 @@
+package com.LeaveManagementSystem.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_admission;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.admission.enabled=true",
+        "lms.admission.trusted-proxies=127.0.0.1",
+        "lms.admission.write.rate=0.1",
+        "lms.admission.write.burst=2",
+        "lms.admission.concurrency.min-limit=1",
+        "lms.admission.concurrency.max-limit=1",
+        "lms.admission.concurrency.max-queue=0",
+        "lms.admission.concurrency.retry-after=3s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionFilter admissionFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clientPastItsWriteBurstIsRefusedWithoutAffectingOthers() throws Exception {
+        double rejectedBefore = rejected("rate-limited", "write");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(invalidEmployee("noisy")).andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(invalidEmployee("noisy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+
+        // Other clients and the noisy client's reads have buckets of their own
+        mockMvc.perform(invalidEmployee("quiet")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/0").header("X-Client-Id", "noisy")).andExpect(status().isNotFound());
+        assertThat(rejected("rate-limited", "write")).isEqualTo(rejectedBefore + 1);
+    }
+
+    @Test
+    void clientHeaderIsIgnoredFromUntrustedAddresses() throws Exception {
+        // A fresh id on every request still draws on the one bucket of the caller's address
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(invalidEmployee("spoofed-" + i).with(fromAddress("10.0.0.7")))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(invalidEmployee("spoofed-2").with(fromAddress("10.0.0.7")))
+                .andExpect(status().isTooManyRequests());
+        // and naming another client does not use up that client's bucket
+        mockMvc.perform(invalidEmployee("victim").with(fromAddress("10.0.0.8")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(invalidEmployee("victim")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void requestsBeyondTheConcurrencyLimitAreShed() throws Exception {
+        ConcurrencyLimiter limiter = admissionFilter.getLimiter();
+        double rejectedBefore = rejected("overloaded", "read");
+
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+        try {
+            mockMvc.perform(get("/api/employees/0"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+        } finally {
+            limiter.release();
+        }
+        mockMvc.perform(get("/api/employees/0")).andExpect(status().isNotFound());
+        assertThat(rejected("overloaded", "read")).isEqualTo(rejectedBefore + 1);
+        assertThat(meterRegistry.get("lms.admission.in-flight").gauge().value()).isZero();
+    }
+
+    private MockHttpServletRequestBuilder invalidEmployee(String client) {
+        return post("/api/employees").header("X-Client-Id", client)
+                .contentType(MediaType.APPLICATION_JSON).content("{}");
+    }
+
+    private static RequestPostProcessor fromAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private double rejected(String reason, String endpoint) {
+        return meterRegistry.get("lms.admission.rejected").tag("reason", reason).tag("endpoint", endpoint)
+                .counter().count();
+    }
+}
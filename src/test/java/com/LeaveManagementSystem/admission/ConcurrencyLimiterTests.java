@@ -0,0 +1,73 @@
+package com.LeaveManagementSystem.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTests {
+
+    private static final Duration TARGET_WAIT = Duration.ofMillis(20);
+
+    @Test
+    void queuesUpToMaxQueueThenRefuses() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1);
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> acquire(limiter, Duration.ofSeconds(10)));
+        while (limiter.getQueueLength() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(limiter.tryAcquire(Duration.ofSeconds(10))).isFalse();
+
+        limiter.release();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getQueueLength()).isZero();
+    }
+
+    @Test
+    void waitingCallerGivesUpAfterTheTimeout() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 10);
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+
+        long startedAt = System.nanoTime();
+        assertThat(limiter.tryAcquire(Duration.ofMillis(50))).isFalse();
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(limiter.getQueueLength()).isZero();
+    }
+
+    @Test
+    void limitShrinksOnSlowPoolWaitsAndRegrowsWhenSaturatedWithoutThem() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 20, 0);
+
+        limiter.adjust(Duration.ofMillis(100), TARGET_WAIT);
+        assertThat(limiter.getLimit()).isEqualTo(18);
+        for (int i = 0; i < 50; i++) {
+            limiter.adjust(Duration.ofMillis(100), TARGET_WAIT);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        // Fast waits alone do not raise the limit; the limit has to have been reached
+        limiter.adjust(Duration.ZERO, TARGET_WAIT);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isFalse();
+        limiter.adjust(Duration.ZERO, TARGET_WAIT);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+    }
+
+    private static boolean acquire(ConcurrencyLimiter limiter, Duration timeout) {
+        try {
+            return limiter.tryAcquire(timeout);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.LeaveManagementSystem.cache;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.service.EmployeeService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Counts the repository calls behind the cache. Every test starts from an empty cache.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:lms_cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class EmployeeCacheTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @SpyBean
+    private EmployeeCache employeeCache;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeCache.evictAll();
+        clearInvocations(employeeCache, employeeRepository);
+    }
+
+    @Test
+    void loadsByIdOnceAndNeverCachesMisses() {
+        Employee employee = save("byid@example.com");
+
+        assertThat(employeeCache.findById(employee.getId())).get().extracting(Employee::getEmail)
+                .isEqualTo("byid@example.com");
+        assertThat(employeeCache.findById(employee.getId())).isPresent();
+        verify(employeeRepository, times(1)).findById(employee.getId());
+
+        assertThat(employeeCache.findById(Long.MAX_VALUE)).isEmpty();
+        assertThat(employeeCache.findById(Long.MAX_VALUE)).isEmpty();
+        verify(employeeRepository, times(2)).findById(Long.MAX_VALUE);
+    }
+
+    @Test
+    void emailLookupsAreNormalizedAndShareTheIdEntry() {
+        Employee employee = save("byemail@example.com");
+
+        assertThat(employeeCache.findByEmail(" ByEmail@Example.com ")).get().extracting(Employee::getId)
+                .isEqualTo(employee.getId());
+        assertThat(employeeCache.existsByEmail("BYEMAIL@EXAMPLE.COM")).isTrue();
+        // The email load also filled the id entry
+        assertThat(employeeCache.findById(employee.getId())).isPresent();
+        verify(employeeRepository, times(1)).findByEmail("byemail@example.com");
+        verify(employeeRepository, never()).findById(anyLong());
+
+        assertThat(employeeCache.existsByEmail("nobody@example.com")).isFalse();
+        assertThat(employeeCache.existsByEmail("nobody@example.com")).isFalse();
+        verify(employeeRepository, times(2)).findByEmail("nobody@example.com");
+    }
+
+    @Test
+    void addEmployeeEvictsTheSavedEmployee() {
+        String email = UUID.randomUUID() + "@example.com";
+        assertThat(employeeCache.existsByEmail(email)).isFalse();
+
+        Long id = employeeService.addEmployee(new EmployeeDTO("Cached", email.toUpperCase(), "CACHED",
+                LocalDate.now().minusYears(1))).getId();
+
+        verify(employeeCache).evict(argThat((Employee employee) -> employee.getId().equals(id)));
+        // The miss before the save left nothing behind, so the new employee is found by either key
+        assertThat(employeeCache.findByEmail(email)).get().extracting(Employee::getId).isEqualTo(id);
+        assertThat(employeeCache.findById(id)).get().extracting(Employee::getDepartment).isEqualTo("CACHED");
+
+        // What the eviction guards: an entry cached before a write is read again after it
+        Employee stored = employeeRepository.findById(id).orElseThrow();
+        stored.setName("Renamed");
+        employeeRepository.save(stored);
+        assertThat(employeeCache.findById(id)).get().extracting(Employee::getName).isEqualTo("Cached");
+        employeeCache.evict(stored);
+        assertThat(employeeCache.findById(id)).get().extracting(Employee::getName).isEqualTo("Renamed");
+        assertThat(employeeCache.findByEmail(email)).get().extracting(Employee::getName).isEqualTo("Renamed");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllByIdLoadsOnlyTheMissingIds() {
+        Employee cached = save("partial-cached@example.com");
+        Employee loaded = save("partial-loaded@example.com");
+        employeeCache.findById(cached.getId());
+        clearInvocations(employeeRepository);
+
+        Map<Long, Employee> found = employeeCache.findAllById(
+                List.of(cached.getId(), loaded.getId(), Long.MAX_VALUE));
+
+        assertThat(found).containsOnlyKeys(cached.getId(), loaded.getId());
+        ArgumentCaptor<Iterable<Long>> requested = ArgumentCaptor.forClass(Iterable.class);
+        verify(employeeRepository).findAllById(requested.capture());
+        assertThat(requested.getValue()).containsExactlyInAnyOrder(loaded.getId(), Long.MAX_VALUE);
+
+        // Both employees are cached now; the unknown id still goes to the database
+        clearInvocations(employeeRepository);
+        assertThat(employeeCache.findAllById(List.of(cached.getId(), loaded.getId()))).hasSize(2);
+        verify(employeeRepository, never()).findAllById(any());
+        assertThat(employeeCache.findAllById(List.of(loaded.getId(), Long.MAX_VALUE)))
+                .containsOnlyKeys(loaded.getId());
+        verify(employeeRepository).findAllById(List.of(Long.MAX_VALUE));
+        verify(employeeRepository, never()).findByEmail(anyString());
+    }
+
+    private Employee save(String email) {
+        return employeeRepository.save(new Employee("Cached", email, "CACHED", LocalDate.now().minusYears(1)));
+    }
+}
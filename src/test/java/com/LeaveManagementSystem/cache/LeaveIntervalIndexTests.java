@@ -0,0 +1,122 @@
+package com.LeaveManagementSystem.cache;
+
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.LeaveInterval;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaveIntervalIndexTests {
+
+    private static final Set<LeaveStatus> ACTIVE = EnumSet.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+    private static final Set<LeaveStatus> APPROVED = EnumSet.of(LeaveStatus.APPROVED);
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+
+    private LeaveRequestRepository leaveRequestRepository;
+    private LeaveIntervalIndex index;
+    private final List<LeaveInterval> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        leaveRequestRepository = mock(LeaveRequestRepository.class);
+        when(leaveRequestRepository.findActiveIntervals(anyLong())).thenAnswer(invocation -> stored);
+        index = new LeaveIntervalIndex();
+        ReflectionTestUtils.setField(index, "leaveRequestRepository", leaveRequestRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsEachEmployeeOnceAndAnswersFromMemory() {
+        stored.add(interval(1L, MARCH, MARCH.plusDays(4), LeaveStatus.APPROVED));
+        stored.add(interval(2L, MARCH.plusDays(10), MARCH.plusDays(11), LeaveStatus.PENDING));
+
+        assertTrue(index.overlaps(7L, MARCH.plusDays(4), MARCH.plusDays(6), ACTIVE, null));
+        assertFalse(index.overlaps(7L, MARCH.plusDays(5), MARCH.plusDays(9), ACTIVE, null));
+        assertTrue(index.overlaps(7L, MARCH.plusDays(9), MARCH.plusDays(10), ACTIVE, null));
+        assertFalse(index.overlaps(7L, MARCH.plusDays(9), MARCH.plusDays(10), APPROVED, null));
+        assertFalse(index.overlaps(7L, MARCH, MARCH, ACTIVE, 1L));
+
+        verify(leaveRequestRepository, times(1)).findActiveIntervals(7L);
+    }
+
+    @Test
+    void findsLongRangeHiddenBehindLaterShortOne() {
+        // Legacy data: a short range starting inside a longer one
+        stored.add(interval(1L, MARCH, MARCH.plusDays(20), LeaveStatus.APPROVED));
+        stored.add(interval(2L, MARCH.plusDays(2), MARCH.plusDays(3), LeaveStatus.APPROVED));
+
+        assertTrue(index.overlaps(7L, MARCH.plusDays(15), MARCH.plusDays(16), ACTIVE, null));
+        assertFalse(index.overlaps(7L, MARCH.plusDays(21), MARCH.plusDays(22), ACTIVE, null));
+    }
+
+    @Test
+    void undoesAdditionsOnRollbackAndDefersRemovalsToCommit() {
+        stored.add(interval(1L, MARCH, MARCH.plusDays(1), LeaveStatus.PENDING));
+        index.overlaps(7L, MARCH, MARCH, ACTIVE, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.record(leaveRequest(2L, MARCH.plusDays(5), MARCH.plusDays(6)), LeaveStatus.PENDING);
+        index.record(leaveRequest(1L, MARCH, MARCH.plusDays(1)), LeaveStatus.REJECTED);
+        assertTrue(index.overlaps(7L, MARCH.plusDays(6), MARCH.plusDays(6), ACTIVE, null));
+        assertTrue(index.overlaps(7L, MARCH, MARCH, ACTIVE, null));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertFalse(index.overlaps(7L, MARCH.plusDays(6), MARCH.plusDays(6), ACTIVE, null));
+        assertTrue(index.overlaps(7L, MARCH, MARCH, ACTIVE, null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.record(leaveRequest(1L, MARCH, MARCH.plusDays(1)), LeaveStatus.REJECTED);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertFalse(index.overlaps(7L, MARCH, MARCH, ACTIVE, null));
+        assertEquals(0, index.getStats().getIntervals());
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static LeaveRequest leaveRequest(Long id, LocalDate startDate, LocalDate endDate) {
+        LeaveRequest leaveRequest = new LeaveRequest(7L, startDate, endDate, 1, "test");
+        leaveRequest.setId(id);
+        return leaveRequest;
+    }
+
+    private static LeaveInterval interval(Long id, LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+        return new LeaveInterval(id, startDate, endDate, status);
+    }
+}
@@ -0,0 +1,69 @@
+package com.LeaveManagementSystem.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkingDayCalendarTests {
+
+    private final WorkingDayCalendar calendar = new WorkingDayCalendar("TEST",
+            EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+            List.of(MonthDay.of(12, 25), MonthDay.of(1, 1)),
+            List.of(LocalDate.of(2025, 4, 18)));
+
+    @Test
+    void skipsWeekendsAndHolidays() {
+        // Mon 14 Apr .. Sun 20 Apr 2025 with Good Friday off
+        assertThat(calendar.countWorkingDays(LocalDate.of(2025, 4, 14), LocalDate.of(2025, 4, 20))).isEqualTo(4);
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 4, 18))).isFalse();
+        assertThat(calendar.isWorkingDay(LocalDate.of(2026, 4, 17))).isTrue();
+        assertThat(calendar.countWorkingDays(LocalDate.of(2025, 4, 19), LocalDate.of(2025, 4, 20))).isZero();
+        assertThat(calendar.countWorkingDays(LocalDate.of(2025, 4, 20), LocalDate.of(2025, 4, 14))).isZero();
+    }
+
+    @Test
+    void countsAcrossYearBoundaries() {
+        // Mon 22 Dec 2025 .. Fri 2 Jan 2026 minus Christmas and New Year
+        assertThat(calendar.countWorkingDays(LocalDate.of(2025, 12, 22), LocalDate.of(2026, 1, 2))).isEqualTo(8);
+        assertThat(calendar.countWorkingDays(LocalDate.of(2023, 12, 31), LocalDate.of(2026, 1, 1)))
+                .isEqualTo(naiveCount(LocalDate.of(2023, 12, 31), LocalDate.of(2026, 1, 1)));
+    }
+
+    @Test
+    void matchesDayByDayCountOnRandomRanges() {
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(1895, 1, 1);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(120_000));
+            LocalDate end = start.plusDays(random.nextInt(800));
+            assertThat(calendar.countWorkingDays(start, end)).as("%s..%s", start, end)
+                    .isEqualTo(naiveCount(start, end));
+        }
+    }
+
+    @Test
+    void nextWorkingDaySkipsLongWeekend() {
+        assertThat(calendar.nextWorkingDay(LocalDate.of(2025, 4, 18))).isEqualTo(LocalDate.of(2025, 4, 21));
+        assertThat(calendar.nextWorkingDay(LocalDate.of(2025, 4, 21))).isEqualTo(LocalDate.of(2025, 4, 21));
+    }
+
+    private int naiveCount(LocalDate start, LocalDate end) {
+        int count = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            boolean holiday = MonthDay.from(date).equals(MonthDay.of(12, 25))
+                    || MonthDay.from(date).equals(MonthDay.of(1, 1))
+                    || date.equals(LocalDate.of(2025, 4, 18));
+            if (date.getDayOfWeek().getValue() < 6 && !holiday) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
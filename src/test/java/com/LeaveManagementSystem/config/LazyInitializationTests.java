@@ -0,0 +1,52 @@
+package com.LeaveManagementSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lazy initialization defers controllers and services to their first use, but not the migrations, and
+ * the jobs of beans nothing references at startup (the outbox dispatcher, the archiver) are still scheduled.
+ */
+@SpringBootTest(properties = {
+        "spring.main.lazy-initialization=true",
+        "spring.datasource.url=jdbc:h2:mem:lms_lazy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+@ActiveProfiles("test")
+class LazyInitializationTests {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private List<ScheduledTaskHolder> scheduledTaskHolders;
+
+    @Test
+    void migrationsStayEager() {
+        assertThat(context.getBeanFactory().getBeanDefinition("employeeController").isLazyInit()).isTrue();
+        assertThat(context.getBeanFactory().getBeanDefinition("flywayInitializer").isLazyInit()).isFalse();
+    }
+
+    @Test
+    void scheduledJobsAreRegisteredAtStartup() {
+        List<String> tasks = scheduledTaskHolders.stream()
+                .flatMap(holder -> holder.getScheduledTasks().stream())
+                .map(ScheduledTask::toString)
+                .toList();
+
+        assertThat(tasks).anyMatch(task -> task.endsWith("OutboxDispatcher.poll"))
+                .anyMatch(task -> task.endsWith("LeaveArchiveService.scheduledArchive"))
+                .anyMatch(task -> task.endsWith("AccrualService.scheduledAccrual"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.LeaveManagementSystem.config;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.service.EmployeeService;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two embedded databases stand in for a primary and its replica. The replica is a copy of the primary
+ * taken by replicate(), so it lags behind every write made after the copy.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTests.PRIMARY_URL,
+        "lms.datasource.replica.url=" + ReadReplicaRoutingTests.REPLICA_URL
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:lms_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:lms_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String DEPARTMENT = "ROUTING";
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void readOnlyQueriesUseTheReplica() {
+        replicate();
+        Long id = employeeService.addEmployee(newEmployee()).getId();
+
+        assertThat(departmentIds()).doesNotContain(id);
+        assertThat(PrimaryReads.call(this::departmentIds)).contains(id);
+        // The employee cache loads from the primary, so a lookup by id finds the new employee at once
+        assertThat(employeeService.getEmployeeById(id).getDepartment()).isEqualTo(DEPARTMENT);
+
+        replicate();
+        assertThat(departmentIds()).contains(id);
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() throws Exception {
+        replicate();
+        MvcResult created = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Routing\",\"email\":\"" + UUID.randomUUID() + "@example.com\"," +
+                                "\"department\":\"" + DEPARTMENT + "\",\"joiningDate\":\"2024-01-01\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String email = created.getResponse().getContentAsString().replaceAll(".*\"email\":\"([^\"]+)\".*", "$1");
+        Cookie cookie = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+
+        String withCookie = mockMvc.perform(get("/api/employees").param("department", DEPARTMENT).cookie(cookie))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String withoutCookie = mockMvc.perform(get("/api/employees").param("department", DEPARTMENT))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(withCookie).contains(email);
+        assertThat(withoutCookie).doesNotContain(email);
+    }
+
+    private List<Long> departmentIds() {
+        return employeeService.getEmployeesPage(DEPARTMENT, null, 1000).getItems().stream()
+                .map(EmployeeDTO::getId)
+                .toList();
+    }
+
+    // Replaces the replica with a copy of the primary
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+    private static EmployeeDTO newEmployee() {
+        return new EmployeeDTO("Routing", UUID.randomUUID() + "@example.com", DEPARTMENT,
+                LocalDate.now().minusYears(1));
+    }
+}
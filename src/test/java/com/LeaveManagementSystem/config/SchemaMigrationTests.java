@@ -0,0 +1,105 @@
+package com.LeaveManagementSystem.config;
+
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations instead of create-drop and has Hibernate validate the mapping against the result
+ * with the production dialect, so an entity change without a matching migration fails here rather than
+ * on the first deploy.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+@ActiveProfiles("test")
+class SchemaMigrationTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void migrationsMatchTheMappingAndVerify() {
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("2");
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+    }
+
+    @Test
+    void generatedIdsStartPastRowsWrittenWithIdentityIds() {
+        // Rows as the IDENTITY columns numbered them before the switch to table-backed sequences
+        jdbcTemplate.update("INSERT INTO employees (id, name, email, department, joining_date) " +
+                "VALUES (5000, 'Identity', 'identity@example.com', 'LEGACY', '2024-01-15')");
+        jdbcTemplate.update("INSERT INTO leave_requests (id, employee_id, start_date, end_date, days, status) " +
+                "VALUES (7000, 5000, '2024-12-20', '2024-12-20', 1, 'APPROVED')");
+        jdbcTemplate.update("INSERT INTO leave_requests_archive (id, employee_id, start_date, end_date, days, " +
+                "status) VALUES (9000, 5000, '2023-12-20', '2023-12-20', 1, 'APPROVED')");
+
+        flyway.migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM employees_seq", Long.class))
+                .isEqualTo(5000L + Employee.ID_ALLOCATION_SIZE + 1);
+        // The archive's ids come from the same sequence, so the larger of the two tables wins
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM leave_requests_seq", Long.class))
+                .isEqualTo(9000L + LeaveRequest.ID_ALLOCATION_SIZE + 1);
+        Employee employee = employeeRepository.save(new Employee("Sequence", "sequence@example.com", "LEGACY",
+                LocalDate.of(2024, 1, 15)));
+        assertThat(employee.getId()).isGreaterThan(5000L);
+        LocalDate day = LocalDate.of(2025, 1, 6);
+        assertThat(leaveRequestRepository.save(new LeaveRequest(employee.getId(), day, day, 1, "Sequence")).getId())
+                .isGreaterThan(9000L);
+
+        // A sequence already ahead of the table is left alone
+        flyway.migrate();
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM employees_seq", Long.class))
+                .isGreaterThanOrEqualTo(5000L + Employee.ID_ALLOCATION_SIZE + 1);
+    }
+
+    @Test
+    void devSampleDataIsAppliedOnceAndClearsTheIdSequences() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:lms_migration_dev;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway dev = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/dev")
+                .callbacks(new IdSequenceInitializer())
+                .load();
+
+        assertThat(dev.migrate().migrationsExecuted).isEqualTo(3);
+        assertThat(dev.migrate().migrationsExecuted).isZero();
+        assertThat(dev.info().applied()).extracting(MigrationInfo::getScript)
+                .containsExactly("V1__baseline.sql", "V2__rollup_lock.sql", "R__sample_data.sql");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM employees_seq", Long.class))
+                .isEqualTo(5L + Employee.ID_ALLOCATION_SIZE + 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM leave_requests_seq", Long.class))
+                .isEqualTo(3L + LeaveRequest.ID_ALLOCATION_SIZE + 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.LeaveManagementSystem.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryListenerTests {
+
+    private static final String QUERY = "select * from leave_requests where employee_id=?";
+
+    private final SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100));
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowQueryListener.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void captureLog() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void releaseLog() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsStatementsOverThresholdWithParametersAndCallSite() throws Exception {
+        listener.afterQuery(execution(250), List.of(query(42L)));
+
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("Slow query took 250 ms")
+                .contains(QUERY + " [1=42]")
+                .contains("SlowQueryListenerTests.logsStatementsOverThresholdWithParametersAndCallSite");
+    }
+
+    @Test
+    void ignoresStatementsUnderThreshold() throws Exception {
+        listener.afterQuery(execution(99), List.of(query(42L)));
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    private ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        return execution;
+    }
+
+    private QueryInfo query(Object parameter) throws NoSuchMethodException {
+        QueryInfo queryInfo = new QueryInfo(QUERY);
+        ParameterSetOperation setLong = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{1, parameter});
+        queryInfo.getParametersList().add(List.of(setLong));
+        return queryInfo;
+    }
+}
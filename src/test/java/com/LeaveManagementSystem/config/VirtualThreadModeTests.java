@@ -0,0 +1,79 @@
+package com.LeaveManagementSystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A two-connection pool that gives up after 250 ms, hit by fifty virtual threads that each hold a
+ * connection for 20 ms: roughly half a second of work, so the later callers only succeed because
+ * they queue in front of the pool rather than inside it.
+ */
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:lms_virtual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250",
+        "lms.datasource.queue.max-wait=30s"
+})
+@ActiveProfiles("test")
+class VirtualThreadModeTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void burstsQueueForAConnectionInsteadOfTimingOut() throws Exception {
+        ConnectionQueueingDataSource queue = dataSource.unwrap(ConnectionQueueingDataSource.class);
+        assertThat(queue).isNotNull();
+        assertThat(meterRegistry.get("lms.datasource.queue").tag("pool", "dataSource").gauge()).isNotNull();
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        Thread.sleep(20);
+                        return connection.isValid(1);
+                    }
+                }));
+            }
+        }
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        assertThat(queue.getQueueLength()).isZero();
+        assertThat(meterRegistry.get("lms.datasource.queue.wait").tag("pool", "dataSource").functionTimer().count())
+                .isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void closingTwiceReleasesOneConnection() throws SQLException {
+        ConnectionQueueingDataSource queue = dataSource.unwrap(ConnectionQueueingDataSource.class);
+        Connection first = dataSource.getConnection();
+        try (Connection second = dataSource.getConnection()) {
+            assertThat(second.isValid(1)).isTrue();
+            assertThat(queue.getAvailablePermits()).isZero();
+            first.close();
+            first.close();
+            assertThat(queue.getAvailablePermits()).isEqualTo(1);
+        }
+        assertThat(queue.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,260 @@
+package com.LeaveManagementSystem.controller;
+
+import com.LeaveManagementSystem.calendar.WorkingDayCalendar;
+import com.LeaveManagementSystem.dto.BulkDecisionRequestDTO;
+import com.LeaveManagementSystem.dto.BulkDecisionResultDTO;
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.dto.SkippedLeaveRequestDTO;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.service.CalendarService;
+import com.LeaveManagementSystem.service.EmployeeService;
+import com.LeaveManagementSystem.service.LeaveLedgerService;
+import com.LeaveManagementSystem.service.LeaveService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT /api/leave-requests/approve and /reject. Runs against its own database with small limits: four
+ * requests per decision, three days of allowance and three attempts per transaction. SUPPORT needs two
+ * people at work (see application-test.properties).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_bulk;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.leave.batch.max-size=4",
+        "lms.accrual.annual-days=3",
+        "lms.tx.retry.max-attempts=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkDecisionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @SpyBean
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void skipsRequestsOverBalanceOrStaffingAndApprovesTheRest() throws Exception {
+        List<LocalDate> days = workingDays("BALANCE", 4);
+        Long employeeId = addEmployee("BALANCE");
+        Long first = apply(employeeId, days.get(0), days.get(1));
+        Long second = apply(employeeId, days.get(2), days.get(3));
+        LocalDate supportDay = workingDays("SUPPORT", 1).get(0);
+        Long firstSupport = apply(addEmployee("SUPPORT"), supportDay, supportDay);
+        Long secondSupport = apply(addEmployee("SUPPORT"), supportDay, supportDay);
+        addEmployee("SUPPORT");
+
+        BulkDecisionResultDTO result = decide("approve", byIds(first, second, firstSupport, secondSupport))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decision").value("APPROVED"))
+                .andExpect(jsonPath("$.matched").value(4))
+                .andReturn().getResponse().getContentAsString().transform(this::readResult);
+
+        assertThat(result.getProcessedIds()).containsExactly(first, firstSupport);
+        assertThat(reasons(result)).containsOnlyKeys(second, secondSupport);
+        // Earlier approvals of the batch count against later ones
+        assertThat(reasons(result).get(second)).isEqualTo("Insufficient leave balance. Available: 1, Requested: 2");
+        assertThat(reasons(result).get(secondSupport)).contains("fewer than 2 employees of SUPPORT");
+        assertThat(statusOf(second)).isEqualTo(LeaveStatus.PENDING);
+        assertThat(leaveLedgerService.getUsedDays(employeeId, days.get(0).getYear())).isEqualTo(2);
+    }
+
+    @Test
+    void skipsOverlappingDecidedAndMissingRequests() throws Exception {
+        LocalDate day = workingDays("OVERLAP", 1).get(0);
+        Long employeeId = addEmployee("OVERLAP");
+        Long overlapping = apply(employeeId, day, day);
+        // Approved on another instance, so this instance's overlap index has never seen it
+        LeaveRequest elsewhere = new LeaveRequest(employeeId, day, day, 1, "Approved elsewhere");
+        elsewhere.setStatus(LeaveStatus.APPROVED);
+        leaveRequestRepository.save(elsewhere);
+        Long rejected = apply(addEmployee("OVERLAP"), day, day);
+        leaveService.rejectLeave(rejected);
+        long missing = Long.MAX_VALUE;
+
+        BulkDecisionResultDTO result = decide("approve", byIds(overlapping, rejected, missing))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().transform(this::readResult);
+
+        assertThat(result.getProcessedIds()).isEmpty();
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(reasons(result)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                overlapping, "Overlapping leave request found for the given dates",
+                rejected, "Leave request is already rejected",
+                missing, "Leave request not found with ID: " + missing));
+    }
+
+    @Test
+    void rollsBackTheWholeBatchWhenSomeRequestsWereDecidedConcurrently() throws Exception {
+        LocalDate day = workingDays("ROLLBACK", 1).get(0);
+        Long firstEmployee = addEmployee("ROLLBACK");
+        Long secondEmployee = addEmployee("ROLLBACK");
+        Long first = apply(firstEmployee, day, day);
+        Long second = apply(secondEmployee, day, day);
+        // As if another transaction had decided one of the selected requests after they were read. The
+        // repository is an interface proxy, so the spy's default answer is what reaches the real one.
+        Answer<?> repository = Mockito.mockingDetails(leaveRequestRepository).getMockCreationSettings()
+                .getDefaultAnswer();
+        doAnswer(invocation -> (int) repository.answer(invocation) - 1)
+                .when(leaveRequestRepository).decidePending(anyCollection(), any(), any());
+
+        decide("approve", byIds(first, second))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+
+        verify(leaveRequestRepository, times(3)).decidePending(anyCollection(), any(), any());
+        assertThat(statusOf(first)).isEqualTo(LeaveStatus.PENDING);
+        assertThat(statusOf(second)).isEqualTo(LeaveStatus.PENDING);
+        assertThat(leaveLedgerService.getUsedDays(firstEmployee, day.getYear())).isZero();
+        assertThat(leaveLedgerService.getUsedDays(secondEmployee, day.getYear())).isZero();
+
+        // Nothing of the failed attempts is left in the indexes either
+        Mockito.reset(leaveRequestRepository);
+        decide("approve", byIds(first, second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedIds.length()").value(2));
+    }
+
+    @Test
+    void rejectsByNormalizedDepartmentFilter() throws Exception {
+        LocalDate day = workingDays("FILTERED", 1).get(0);
+        Long first = apply(addEmployee("FILTERED"), day, day);
+        Long second = apply(addEmployee("FILTERED"), day, day);
+        Long elsewhere = apply(addEmployee("UNFILTERED"), day, day);
+
+        BulkDecisionRequestDTO filter = new BulkDecisionRequestDTO();
+        filter.setDepartment(" filtered ");
+        filter.setFrom(day);
+        filter.setTo(day);
+        BulkDecisionResultDTO result = decide("reject", filter)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().transform(this::readResult);
+
+        assertThat(result.getProcessedIds()).containsExactlyInAnyOrder(first, second);
+        assertThat(statusOf(first)).isEqualTo(LeaveStatus.REJECTED);
+        assertThat(statusOf(elsewhere)).isEqualTo(LeaveStatus.PENDING);
+    }
+
+    @Test
+    void refusesAmbiguousOrOversizedSelections() throws Exception {
+        BulkDecisionRequestDTO both = byIds(1L);
+        both.setDepartment("FILTERED");
+        decide("approve", both)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Select leave requests either by ids or by filter, not both"));
+        decide("reject", new BulkDecisionRequestDTO())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Provide leave request ids or a department/date filter"));
+        decide("approve", byIds(1L, 2L, 3L, 4L, 5L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A bulk decision can cover at most 4 leave requests"));
+
+        LocalDate day = workingDays("OVERFLOW", 1).get(0);
+        for (int i = 0; i < 5; i++) {
+            apply(addEmployee("OVERFLOW"), day, day);
+        }
+        BulkDecisionRequestDTO filter = new BulkDecisionRequestDTO();
+        filter.setDepartment("OVERFLOW");
+        decide("approve", filter)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Filter matches more than 4 pending leave requests, narrow the department or date window"));
+    }
+
+    private ResultActions decide(String decision, BulkDecisionRequestDTO request) throws Exception {
+        return mockMvc.perform(put("/api/leave-requests/" + decision)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private static BulkDecisionRequestDTO byIds(Long... ids) {
+        return new BulkDecisionRequestDTO(List.of(ids));
+    }
+
+    private BulkDecisionResultDTO readResult(String json) {
+        try {
+            return objectMapper.readValue(json, BulkDecisionResultDTO.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<Long, String> reasons(BulkDecisionResultDTO result) {
+        return result.getSkipped().stream()
+                .collect(Collectors.toMap(SkippedLeaveRequestDTO::getId, SkippedLeaveRequestDTO::getReason));
+    }
+
+    private LeaveStatus statusOf(Long leaveRequestId) {
+        return leaveRequestRepository.findById(leaveRequestId).orElseThrow().getStatus();
+    }
+
+    private Long apply(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return leaveService.applyForLeave(new LeaveRequestDTO(employeeId, startDate, endDate, "Bulk")).getId();
+    }
+
+    private Long addEmployee(String department) {
+        return employeeService.addEmployee(new EmployeeDTO("Bulk", UUID.randomUUID() + "@example.com",
+                department, LocalDate.now().minusYears(1))).getId();
+    }
+
+    // Consecutive working days within one year, whose ledger row and allowance they share
+    private List<LocalDate> workingDays(String department, int count) {
+        WorkingDayCalendar calendar = calendarService.getCalendar(department);
+        LocalDate day = calendar.nextWorkingDay(LocalDate.now().plusDays(7));
+        if (day.plusDays(14).getYear() != day.getYear()) {
+            day = calendar.nextWorkingDay(LocalDate.of(day.getYear() + 1, 1, 5));
+        }
+        List<LocalDate> days = new ArrayList<>();
+        for (; days.size() < count; day = calendar.nextWorkingDay(day.plusDays(1))) {
+            days.add(day);
+        }
+        return days;
+    }
+}
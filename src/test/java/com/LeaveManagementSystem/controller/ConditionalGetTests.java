@@ -0,0 +1,107 @@
+package com.LeaveManagementSystem.controller;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.repository.CapturingStatementInspector;
+import com.LeaveManagementSystem.service.CalendarService;
+import com.LeaveManagementSystem.service.EmployeeService;
+import com.LeaveManagementSystem.service.LeaveService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTests {
+
+    private static final String DEPARTMENT = "ETAGS";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Test
+    void unchangedResourcesAreAnsweredWithoutQueries() throws Exception {
+        Long id = employeeService.addEmployee(new EmployeeDTO("ETag", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+
+        for (String path : new String[]{"/api/employees/" + id, "/api/employees/" + id + "/leave-balance",
+                "/api/leave-requests/employee/" + id}) {
+            String etag = getEtag(path);
+            CapturingStatementInspector.drain();
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+            assertThat(CapturingStatementInspector.drain()).isEmpty();
+            // Compression may hand the tag back as a weak one
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
+    @Test
+    void leaveChangesInvalidateTheEmployeesTags() throws Exception {
+        Long id = employeeService.addEmployee(new EmployeeDTO("ETag", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+        String requestsPath = "/api/leave-requests/employee/" + id;
+        String before = getEtag(requestsPath);
+
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(7));
+        LeaveRequestDTO leave = new LeaveRequestDTO();
+        leave.setEmployeeId(id);
+        leave.setStartDate(day);
+        leave.setEndDate(day);
+        Long leaveId = leaveService.applyForLeave(leave).getId();
+
+        MvcResult changed = mockMvc.perform(get(requestsPath).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn();
+        String applied = changed.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(applied).isNotEqualTo(before);
+        assertThat(changed.getResponse().getContentAsString()).contains("\"id\":" + leaveId);
+
+        leaveService.approveLeave(leaveId);
+        mockMvc.perform(get(requestsPath).header(HttpHeaders.IF_NONE_MATCH, applied))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listPagesCarryCacheHints() throws Exception {
+        mockMvc.perform(get("/api/employees").param("department", DEPARTMENT))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, private"));
+    }
+
+    private String getEtag(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
@@ -0,0 +1,110 @@
+package com.LeaveManagementSystem.controller;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.service.EmployeeService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A chunk size of three puts the rows of one import into several chunks, so duplicates are caught
+ * both inside a chunk and against rows an earlier chunk already inserted.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.employee.import.chunk-size=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeImportTests {
+
+    private static final String DEPARTMENT = "IMPORT";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        String existing = prefix + "-existing@example.com";
+        employeeService.addEmployee(new EmployeeDTO("Existing", existing, DEPARTMENT, LocalDate.now().minusYears(1)));
+        String csv = "email,name,department,joining_date\n" +
+                prefix + "-1@example.com,\"Doe, Jane\",import,2024-01-15\n" +
+                prefix + "-2@example.com,John,import,2024-02-01\n" +
+                "\n" +
+                existing.toUpperCase() + ",Again,import,2024-01-01\n" +
+                prefix + "-3@example.com,Late,import," + LocalDate.now().plusDays(3) + "\n" +
+                prefix + "-4@example.com,Bad,import,15/01/2024\n" +
+                "not-an-email,Nobody,import,2024-01-01\n" +
+                prefix + "-5@example.com,,import,2024-01-01\n" +
+                prefix + "-6@example.com,Six,import,2024-03-01\n" +
+                prefix + "-1@example.com,Twice,import,2024-01-01\n" +
+                prefix + "-7@example.com,Short,import\n";
+
+        mockMvc.perform(post("/api/employees/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(10))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(7))
+                .andExpect(jsonPath("$.errors[0].line").value(5))
+                .andExpect(jsonPath("$.errors[0].error").value("Employee with email " + existing + " already exists"))
+                .andExpect(jsonPath("$.errors[1].error").value("Joining date cannot be in future"))
+                .andExpect(jsonPath("$.errors[2].error").value("Invalid joining date '15/01/2024', expected yyyy-MM-dd"))
+                .andExpect(jsonPath("$.errors[3].error").value("Invalid email format"))
+                .andExpect(jsonPath("$.errors[4].error").value("Name is required"))
+                .andExpect(jsonPath("$.errors[5].line").value(11))
+                .andExpect(jsonPath("$.errors[5].error").value("Employee with email " + prefix +
+                        "-1@example.com already exists"))
+                .andExpect(jsonPath("$.errors[6].error").value("Expected 4 fields but found 3"));
+
+        assertThat(employeeRepository.findByEmail(prefix + "-1@example.com")).get()
+                .satisfies(employee -> {
+                    assertThat(employee.getName()).isEqualTo("Doe, Jane");
+                    assertThat(employee.getDepartment()).isEqualTo(DEPARTMENT);
+                });
+        assertThat(employeeRepository.existsByEmail(prefix + "-6@example.com")).isTrue();
+    }
+
+    @Test
+    void importsNdjsonAndDedupesWithinAChunk() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        String ndjson = "{\"name\":\"One\",\"email\":\"" + prefix + "-1@example.com\",\"department\":\"import\"," +
+                "\"joiningDate\":\"2024-01-01\"}\n" +
+                "{\"name\":\"Again\",\"email\":\"" + prefix.toUpperCase() + "-1@example.com\"," +
+                "\"department\":\"import\",\"joiningDate\":\"2024-01-01\"}\n" +
+                "{\"name\":\"Broken\"\n";
+
+        mockMvc.perform(post("/api/employees/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].error").value("Duplicate of line 1 in this import"))
+                .andExpect(jsonPath("$.errors[1].line").value(3));
+    }
+
+    @Test
+    void rejectsCsvWithoutTheRequiredColumns() throws Exception {
+        mockMvc.perform(post("/api/employees/import").contentType("text/csv").content("name,email\nA,a@example.com\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
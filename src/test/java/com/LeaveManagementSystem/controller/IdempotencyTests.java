@@ -0,0 +1,133 @@
+package com.LeaveManagementSystem.controller;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.service.CalendarService;
+import com.LeaveManagementSystem.service.EmployeeService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyTests {
+
+    private static final String DEPARTMENT = "IDEMPOTENCY";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void retriedSubmissionAndApprovalReturnTheFirstResponse() throws Exception {
+        Long employeeId = newEmployee();
+        String body = leaveBody(employeeId, 7);
+        String key = UUID.randomUUID().toString();
+
+        MvcResult first = mockMvc.perform(post("/api/leave-requests").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post("/api/leave-requests").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(leaveRequestRepository.findByEmployeeId(employeeId)).hasSize(1);
+
+        Long leaveId = objectMapper.readValue(first.getResponse().getContentAsString(), LeaveRequestDTO.class).getId();
+        String approvalKey = UUID.randomUUID().toString();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(put("/api/leave-requests/" + leaveId + "/approve").header("Idempotency-Key", approvalKey))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("APPROVED"));
+        }
+        // Without a key a repeated approval is still refused
+        mockMvc.perform(put("/api/leave-requests/" + leaveId + "/approve")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRefused() throws Exception {
+        Long employeeId = newEmployee();
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/leave-requests").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(leaveBody(employeeId, 7)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/leave-requests").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(leaveBody(employeeId, 21)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Idempotency Conflict"));
+        assertThat(leaveRequestRepository.findByEmployeeId(employeeId)).hasSize(1);
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        Long employeeId = newEmployee();
+        String body = leaveBody(employeeId, 7);
+        String key = UUID.randomUUID().toString();
+
+        List<Future<String>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> mockMvc.perform(post("/api/leave-requests")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString()));
+            }
+        }
+        String expected = responses.get(0).get();
+        for (Future<String> response : responses) {
+            assertThat(response.get()).isEqualTo(expected);
+        }
+        assertThat(leaveRequestRepository.findByEmployeeId(employeeId)).hasSize(1);
+    }
+
+    private Long newEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Retry", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+
+    private String leaveBody(Long employeeId, int daysAhead) throws Exception {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(daysAhead));
+        return objectMapper.writeValueAsString(new LeaveRequestDTO(employeeId, day, day, "Retried"));
+    }
+}
@@ -0,0 +1,221 @@
+package com.LeaveManagementSystem.controller;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.KeysetPageDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.service.CalendarService;
+import com.LeaveManagementSystem.service.EmployeeService;
+import com.LeaveManagementSystem.service.LeaveService;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pages of GET /api/employees and /api/leave-requests, and their NDJSON exports. Runs against its
+ * own database; each test uses its own departments.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:lms_paging;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationTests {
+
+    private static final TypeReference<KeysetPageDTO<EmployeeDTO>> EMPLOYEE_PAGE = new TypeReference<>() {};
+    private static final TypeReference<KeysetPageDTO<LeaveRequestDTO>> LEAVE_PAGE = new TypeReference<>() {};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void employeePagesEndOnAFullPageWithoutACursor() throws Exception {
+        List<Long> ids = List.of(addEmployee("PAGED"), addEmployee("PAGED"), addEmployee("PAGED"));
+        addEmployee("OTHER");
+
+        KeysetPageDTO<EmployeeDTO> exactlyFull = page("/api/employees?department=paged&limit=3", EMPLOYEE_PAGE);
+        assertThat(exactlyFull.getItems()).extracting(EmployeeDTO::getId).containsExactlyElementsOf(ids);
+        assertThat(exactlyFull.isHasMore()).isFalse();
+        assertThat(exactlyFull.getNextCursor()).isNull();
+
+        KeysetPageDTO<EmployeeDTO> first = page("/api/employees?department= Paged &limit=2", EMPLOYEE_PAGE);
+        assertThat(first.getItems()).extracting(EmployeeDTO::getId).containsExactly(ids.get(0), ids.get(1));
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo(ids.get(1));
+
+        KeysetPageDTO<EmployeeDTO> last = page("/api/employees?department=PAGED&limit=2&after=" +
+                first.getNextCursor(), EMPLOYEE_PAGE);
+        assertThat(last.getItems()).extracting(EmployeeDTO::getId).containsExactly(ids.get(2));
+        assertThat(last.isHasMore()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void employeePageSizeIsClamped() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i <= EmployeeService.MAX_PAGE_SIZE; i++) {
+            employees.add(new Employee("Clamped", UUID.randomUUID() + "@example.com", "CLAMPED",
+                    LocalDate.now().minusYears(1)));
+        }
+        employeeRepository.saveAll(employees);
+
+        KeysetPageDTO<EmployeeDTO> largest = page("/api/employees?department=CLAMPED&limit=5000", EMPLOYEE_PAGE);
+        assertThat(largest.getItems()).hasSize(EmployeeService.MAX_PAGE_SIZE);
+        assertThat(largest.isHasMore()).isTrue();
+        for (String limit : new String[]{"0", "-5"}) {
+            KeysetPageDTO<EmployeeDTO> smallest = page("/api/employees?department=CLAMPED&limit=" + limit,
+                    EMPLOYEE_PAGE);
+            assertThat(smallest.getItems()).hasSize(1);
+            assertThat(smallest.getNextCursor()).isEqualTo(smallest.getItems().get(0).getId());
+        }
+    }
+
+    @Test
+    void leaveRequestPagesApplyTheNormalizedFilter() throws Exception {
+        LocalDate first = workingDay(7);
+        LocalDate second = workingDay(14);
+        LocalDate third = workingDay(21);
+        Long early = apply(addEmployee("FILTERED"), first);
+        Long middle = apply(addEmployee("FILTERED"), second);
+        Long late = apply(addEmployee("FILTERED"), third);
+        Long rejected = apply(addEmployee("FILTERED"), second);
+        leaveService.rejectLeave(rejected);
+        apply(addEmployee("UNFILTERED"), second);
+
+        String filter = "/api/leave-requests?department= filtered &status=PENDING&from=" + second +
+                "&to=" + third;
+        KeysetPageDTO<LeaveRequestDTO> exactlyFull = page(filter + "&limit=2", LEAVE_PAGE);
+        assertThat(exactlyFull.getItems()).extracting(LeaveRequestDTO::getId).containsExactly(middle, late);
+        assertThat(exactlyFull.isHasMore()).isFalse();
+        assertThat(exactlyFull.getNextCursor()).isNull();
+
+        KeysetPageDTO<LeaveRequestDTO> firstPage = page(filter + "&limit=1", LEAVE_PAGE);
+        assertThat(firstPage.getItems()).extracting(LeaveRequestDTO::getId).containsExactly(middle);
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(firstPage.getNextCursor()).isEqualTo(middle);
+        KeysetPageDTO<LeaveRequestDTO> lastPage = page(filter + "&limit=1&after=" + middle, LEAVE_PAGE);
+        assertThat(lastPage.getItems()).extracting(LeaveRequestDTO::getId).containsExactly(late);
+        assertThat(lastPage.isHasMore()).isFalse();
+        assertThat(lastPage.getNextCursor()).isNull();
+
+        KeysetPageDTO<LeaveRequestDTO> department = page("/api/leave-requests?department=Filtered", LEAVE_PAGE);
+        assertThat(department.getItems()).extracting(LeaveRequestDTO::getId)
+                .containsExactly(early, middle, late, rejected);
+    }
+
+    @Test
+    void leaveRequestPageSizeIsClamped() throws Exception {
+        Long employeeId = addEmployee("MANY");
+        LocalDate day = workingDay(7);
+        List<LeaveRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= LeaveService.MAX_PAGE_SIZE; i++) {
+            requests.add(new LeaveRequest(employeeId, day, day, 1, "Clamped"));
+        }
+        leaveRequestRepository.saveAll(requests);
+
+        KeysetPageDTO<LeaveRequestDTO> largest = page("/api/leave-requests?department=MANY&limit=5000", LEAVE_PAGE);
+        assertThat(largest.getItems()).hasSize(LeaveService.MAX_PAGE_SIZE);
+        assertThat(largest.isHasMore()).isTrue();
+        KeysetPageDTO<LeaveRequestDTO> smallest = page("/api/leave-requests?department=MANY&limit=0", LEAVE_PAGE);
+        assertThat(smallest.getItems()).hasSize(1);
+        assertThat(smallest.isHasMore()).isTrue();
+    }
+
+    @Test
+    void exportsWriteOneDocumentPerLine() throws Exception {
+        Long firstEmployee = addEmployee("EXPORTED");
+        Long secondEmployee = addEmployee("EXPORTED");
+        addEmployee("NOT-EXPORTED");
+        Long pending = apply(firstEmployee, workingDay(7));
+        Long rejected = apply(secondEmployee, workingDay(7));
+        leaveService.rejectLeave(rejected);
+
+        List<EmployeeDTO> employees = export("/api/employees/export?department= exported", EmployeeDTO.class);
+        assertThat(employees).extracting(EmployeeDTO::getId).containsExactly(firstEmployee, secondEmployee);
+        assertThat(employees).extracting(EmployeeDTO::getDepartment).containsOnly("EXPORTED");
+
+        List<LeaveRequestDTO> all = export("/api/leave-requests/export?department=exported", LeaveRequestDTO.class);
+        assertThat(all).extracting(LeaveRequestDTO::getId).containsExactly(pending, rejected);
+        List<LeaveRequestDTO> pendingOnly = export("/api/leave-requests/export?department=exported&status=PENDING",
+                LeaveRequestDTO.class);
+        assertThat(pendingOnly).singleElement().satisfies(leaveRequest -> {
+            assertThat(leaveRequest.getId()).isEqualTo(pending);
+            assertThat(leaveRequest.getStatus()).isEqualTo(LeaveStatus.PENDING);
+        });
+        assertThat(export("/api/leave-requests/export?department=NO-SUCH-TEAM", LeaveRequestDTO.class)).isEmpty();
+    }
+
+    private <T> KeysetPageDTO<T> page(String url, TypeReference<KeysetPageDTO<T>> type) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, type);
+    }
+
+    private <T> List<T> export(String url, Class<T> type) throws Exception {
+        MvcResult started = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<T> items = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            items.add(objectMapper.readValue(line, type));
+        }
+        return items;
+    }
+
+    private Long apply(Long employeeId, LocalDate day) {
+        return leaveService.applyForLeave(new LeaveRequestDTO(employeeId, day, day, "Paged")).getId();
+    }
+
+    private LocalDate workingDay(int daysAhead) {
+        return calendarService.getCalendar("FILTERED").nextWorkingDay(LocalDate.now().plusDays(daysAhead));
+    }
+
+    private Long addEmployee(String department) {
+        return employeeService.addEmployee(new EmployeeDTO("Paged", UUID.randomUUID() + "@example.com",
+                department, LocalDate.now().minusYears(1))).getId();
+    }
+}
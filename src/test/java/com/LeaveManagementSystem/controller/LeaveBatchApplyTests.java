@@ -0,0 +1,158 @@
+package com.LeaveManagementSystem.controller;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveBatchItemResultDTO;
+import com.LeaveManagementSystem.dto.LeaveBatchResultDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+import com.LeaveManagementSystem.service.CalendarService;
+import com.LeaveManagementSystem.service.EmployeeService;
+import com.LeaveManagementSystem.service.LeaveService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/leave-requests/batch, with batches of at most six requests. Runs against its own database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_batch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.leave.batch.max-size=6"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LeaveBatchApplyTests {
+
+    private static final String DEPARTMENT = "BATCHED";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void reportsEveryItemAtItsIndexAndSavesTheValidOnes() throws Exception {
+        LocalDate day = workingDay(7);
+        LocalDate later = workingDay(14);
+        Long first = addEmployee();
+        Long second = addEmployee();
+        Long alreadyAway = addEmployee();
+        leaveService.applyForLeave(new LeaveRequestDTO(alreadyAway, later, later, "Applied before"));
+
+        List<LeaveRequestDTO> batch = Arrays.asList(
+                new LeaveRequestDTO(first, day, day, "Valid"),
+                new LeaveRequestDTO(Long.MAX_VALUE, day, day, "Unknown employee"),
+                new LeaveRequestDTO(first, day, later, "Overlaps item 0"),
+                new LeaveRequestDTO(null, day, day, "No employee"),
+                new LeaveRequestDTO(alreadyAway, later, later, "Overlaps a saved request"),
+                new LeaveRequestDTO(second, day, later, "Valid"));
+
+        LeaveBatchResultDTO result = objectMapper.readValue(applyBatch(batch)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), LeaveBatchResultDTO.class);
+
+        assertThat(result.getTotal()).isEqualTo(6);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getResults()).extracting(LeaveBatchItemResultDTO::getIndex)
+                .containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(result.getResults()).extracting(LeaveBatchItemResultDTO::isSuccess)
+                .containsExactly(true, false, false, false, false, true);
+        assertThat(result.getResults()).extracting(LeaveBatchItemResultDTO::getError).containsExactly(
+                null,
+                "Employee not found with ID: " + Long.MAX_VALUE,
+                "Overlapping leave request found for the given dates",
+                "Employee ID is required",
+                "Overlapping leave request found for the given dates",
+                null);
+
+        LeaveRequestDTO saved = result.getResults().get(5).getLeaveRequest();
+        assertThat(saved.getEmployeeId()).isEqualTo(second);
+        assertThat(saved.getId()).isNotNull();
+        assertThat(leaveRequestRepository.findByEmployeeId(first)).extracting(LeaveRequest::getId)
+                .containsExactly(result.getResults().get(0).getLeaveRequest().getId());
+        assertThat(leaveRequestRepository.findByEmployeeId(second)).extracting(LeaveRequest::getId)
+                .containsExactly(saved.getId());
+        assertThat(leaveRequestRepository.findByEmployeeId(alreadyAway)).hasSize(1);
+    }
+
+    @Test
+    void failedItemsDoNotStopTheBatch() throws Exception {
+        Long employeeId = addEmployee();
+        LocalDate day = workingDay(7);
+
+        applyBatch(Arrays.asList(null, new LeaveRequestDTO(employeeId, day, day, "After a null item")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].success").value(false))
+                .andExpect(jsonPath("$.results[0].error").value("Leave request is required"))
+                .andExpect(jsonPath("$.results[1].success").value(true))
+                .andExpect(jsonPath("$.results[1].leaveRequest.status").value("PENDING"));
+
+        // Nothing saved is a valid outcome too
+        applyBatch(List.of(new LeaveRequestDTO(employeeId, day, day, "Overlaps the saved one")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(0))
+                .andExpect(jsonPath("$.failed").value(1));
+        assertThat(leaveRequestRepository.findByEmployeeId(employeeId)).hasSize(1);
+    }
+
+    @Test
+    void refusesBatchesOverTheLimit() throws Exception {
+        Long employeeId = addEmployee();
+        List<LeaveRequestDTO> batch = new ArrayList<>(Collections.nCopies(7,
+                new LeaveRequestDTO(employeeId, workingDay(7), workingDay(7), "Too many")));
+
+        applyBatch(batch)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A batch can contain at most 6 leave requests"));
+        assertThat(leaveRequestRepository.findByEmployeeId(employeeId)).isEmpty();
+    }
+
+    private ResultActions applyBatch(List<LeaveRequestDTO> batch) throws Exception {
+        return mockMvc.perform(post("/api/leave-requests/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)));
+    }
+
+    private LocalDate workingDay(int daysAhead) {
+        return calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(daysAhead));
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Batched", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+}
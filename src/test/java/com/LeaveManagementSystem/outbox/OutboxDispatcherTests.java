@@ -0,0 +1,146 @@
+package com.LeaveManagementSystem.outbox;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.model.LeaveEventType;
+import com.LeaveManagementSystem.model.OutboxEvent;
+import com.LeaveManagementSystem.repository.OutboxEventRepository;
+import com.LeaveManagementSystem.service.CalendarService;
+import com.LeaveManagementSystem.service.EmployeeService;
+import com.LeaveManagementSystem.service.LeaveService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dispatcher is switched off in the test profile; these tests drain the outbox by hand into the
+ * in-memory sink.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxDispatcherTests {
+
+    private static final String DEPARTMENT = "OUTBOX";
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private InMemoryOutboxSink inMemoryOutboxSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Test
+    void publishesStatusChangesInOrderPerEmployee() {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(7));
+        LocalDate nextDay = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(day.plusDays(1));
+        Long employeeId = addEmployee();
+
+        Long approved = leaveService.applyForLeave(oneDay(employeeId, day)).getId();
+        leaveService.approveLeave(approved);
+        Long rejected = leaveService.applyForLeave(oneDay(employeeId, nextDay)).getId();
+        leaveService.rejectLeave(rejected);
+        assertThat(publishedFor(employeeId)).isEmpty();
+
+        outboxDispatcher.drain();
+
+        List<OutboxEvent> events = publishedFor(employeeId);
+        assertThat(events).extracting(OutboxEvent::getEventType).containsExactly(LeaveEventType.LEAVE_APPLIED,
+                LeaveEventType.LEAVE_APPROVED, LeaveEventType.LEAVE_APPLIED, LeaveEventType.LEAVE_REJECTED);
+        assertThat(events).extracting(OutboxEvent::getLeaveRequestId)
+                .containsExactly(approved, approved, rejected, rejected);
+        assertThat(events.get(1).getPayload()).contains("\"department\":\"" + DEPARTMENT + "\"",
+                "\"status\":\"APPROVED\"");
+
+        // Delivered events are not sent again
+        outboxDispatcher.drain();
+        assertThat(publishedFor(employeeId)).hasSize(4);
+    }
+
+    @Test
+    void retriesFailedEventsAndHoldsBackLaterOnesOfTheSameEmployee() {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(14));
+        Long failing = addEmployee();
+        Long other = addEmployee();
+        Long failingLeave = leaveService.applyForLeave(oneDay(failing, day)).getId();
+        leaveService.approveLeave(failingLeave);
+        leaveService.applyForLeave(oneDay(other, day));
+
+        AtomicBoolean down = new AtomicBoolean(true);
+        OutboxSink flakySink = new OutboxSink() {
+            @Override
+            public String getName() {
+                return "flaky";
+            }
+
+            @Override
+            public void publish(OutboxEvent event) {
+                if (down.get() && event.getEmployeeId().equals(failing)) {
+                    throw new IllegalStateException("sink unavailable");
+                }
+            }
+        };
+        Object sinks = ReflectionTestUtils.getField(outboxDispatcher, "sinks");
+        Object backoff = ReflectionTestUtils.getField(outboxDispatcher, "backoff");
+        ReflectionTestUtils.setField(outboxDispatcher, "sinks", List.of(flakySink, inMemoryOutboxSink));
+        ReflectionTestUtils.setField(outboxDispatcher, "backoff", Duration.ZERO);
+        try {
+            outboxDispatcher.drain();
+            assertThat(publishedFor(other)).hasSize(1);
+            // The approval waits behind the failed application
+            assertThat(publishedFor(failing)).isEmpty();
+
+            down.set(false);
+            outboxDispatcher.drain();
+            assertThat(publishedFor(failing)).extracting(OutboxEvent::getEventType)
+                    .containsExactly(LeaveEventType.LEAVE_APPLIED, LeaveEventType.LEAVE_APPROVED);
+            OutboxEvent retried = outboxEventRepository.findById(publishedFor(failing).get(0).getId()).orElseThrow();
+            assertThat(retried.getAttempts()).isEqualTo(2);
+            assertThat(retried.getLastError()).isNull();
+        } finally {
+            ReflectionTestUtils.setField(outboxDispatcher, "sinks", sinks);
+            ReflectionTestUtils.setField(outboxDispatcher, "backoff", backoff);
+        }
+    }
+
+    private List<OutboxEvent> publishedFor(Long employeeId) {
+        return inMemoryOutboxSink.getEvents().stream()
+                .filter(event -> event.getEmployeeId().equals(employeeId))
+                .collect(Collectors.toList());
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Outbox", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+
+    private static LeaveRequestDTO oneDay(Long employeeId, LocalDate day) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(day);
+        dto.setEndDate(day);
+        return dto;
+    }
+}
@@ -0,0 +1,26 @@
+package com.LeaveManagementSystem.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate generates on the current thread so tests can EXPLAIN it.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        CAPTURED.get().add(sql);
+        return sql;
+    }
+
+    public static List<String> drain() {
+        List<String> statements = new ArrayList<>(CAPTURED.get());
+        CAPTURED.get().clear();
+        return statements;
+    }
+}
@@ -0,0 +1,174 @@
+package com.LeaveManagementSystem.repository;
+
+import com.LeaveManagementSystem.model.LeaveStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Fails when any query declared on LeaveRequestRepository is planned as a full scan of leave_requests,
+ * unless it is on the allow-list below. Runs the SQL Hibernate actually generates through EXPLAIN on
+ * H2 in MySQL mode, against its own database because every test replaces the table's rows.
+ */
+@DataJpaTest(showSql = false, properties =
+        "spring.datasource.url=jdbc:h2:mem:lms_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LeaveRequestRepositoryQueryPlanTests {
+
+    private static final int EMPLOYEES = 50;
+    private static final int REQUESTS_PER_EMPLOYEE = 40;
+
+    // Queries meant to read the whole table, and why
+    private static final Map<String, String> FULL_SCANS_ALLOWED = Map.of(
+            "aggregateLedgerTotals", "ledger reconciliation totals every active request",
+            "aggregateRollupTotals", "the nightly rollup rebuild totals every request",
+            "aggregateEmployeeRollupTotals", "the nightly rollup rebuild totals every approved request");
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // ANALYZE commits, so rows from earlier tests are not rolled back
+        jdbcTemplate.update("DELETE FROM leave_requests");
+        jdbcTemplate.update("DELETE FROM employees");
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        long id = 0;
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (long employeeId = 1; employeeId <= EMPLOYEES; employeeId++) {
+            employees.add(new Object[]{employeeId, "Employee " + employeeId, employeeId + "@example.com",
+                    "DEPT" + employeeId % 10, start.minusYears(1)});
+            for (int i = 0; i < REQUESTS_PER_EMPLOYEE; i++) {
+                LocalDate from = start.plusDays(i * 7L);
+                String status = LeaveStatus.values()[i % LeaveStatus.values().length].name();
+                rows.add(new Object[]{++id, employeeId, from, from.plusDays(2), 3, status});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employees (id, name, email, department, joining_date) " +
+                "VALUES (?, ?, ?, ?, ?)", employees);
+        jdbcTemplate.batchUpdate("INSERT INTO leave_requests (id, employee_id, start_date, end_date, days, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+        CapturingStatementInspector.drain();
+    }
+
+    @Test
+    void everyDeclaredQueryIsChecked() {
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : List.of(LeaveRequestRepository.class, LeaveRequestRepositoryCustom.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                declared.add(method.getName());
+            }
+        }
+        assertThat(queries().keySet()).containsExactlyInAnyOrderElementsOf(declared);
+        assertThat(declared).containsAll(FULL_SCANS_ALLOWED.keySet());
+    }
+
+    @Test
+    void noQueryScansTheWholeTable() {
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries().entrySet()) {
+            query.getValue().run();
+            List<String> statements = CapturingStatementInspector.drain();
+            assertFalse(statements.isEmpty(), "No SQL was captured for " + query.getKey());
+            if (FULL_SCANS_ALLOWED.containsKey(query.getKey())) {
+                continue;
+            }
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.toLowerCase().contains("tablescan")) {
+                    scans.add(query.getKey() + ":\n" + plan);
+                }
+            }
+        }
+        assertThat(scans).as("Full scans in plans").isEmpty();
+    }
+
+    // One representative call per declared method, with the arguments the service layer passes
+    private Map<String, Runnable> queries() {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 5);
+        List<Long> ids = List.of(7L, 8L, 9L);
+        LeaveRequestFilter department = new LeaveRequestFilter(LeaveStatus.PENDING, "DEPT7", from, to);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByEmployeeId", () -> leaveRequestRepository.findByEmployeeId(7L));
+        queries.put("findByEmployeeIdAndStatus",
+                () -> leaveRequestRepository.findByEmployeeIdAndStatus(7L, LeaveStatus.APPROVED));
+        queries.put("existsByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual",
+                () -> leaveRequestRepository.existsByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        7L, EnumSet.of(LeaveStatus.PENDING, LeaveStatus.APPROVED), to, from));
+        queries.put("existsOverlapping", () -> leaveRequestRepository.existsOverlapping(7L,
+                EnumSet.of(LeaveStatus.PENDING, LeaveStatus.APPROVED), from, to));
+        queries.put("findOverlappingApproved", () -> leaveRequestRepository.findOverlappingApproved(ids));
+        queries.put("findOverlappingActive", () -> leaveRequestRepository.findOverlappingActive(ids));
+        queries.put("findActiveIntervals", () -> leaveRequestRepository.findActiveIntervals(7L));
+        queries.put("findActiveLeavesInDepartment",
+                () -> leaveRequestRepository.findActiveLeavesInDepartment("DEPT7", from));
+        queries.put("findApprovedLeavesInDepartment",
+                () -> leaveRequestRepository.findApprovedLeavesInDepartment("DEPT7", from, to));
+        queries.put("getTotalApprovedLeaveDaysStartingBetween",
+                () -> leaveRequestRepository.getTotalApprovedLeaveDaysStartingBetween(7L, from, to));
+        queries.put("getTotalApprovedLeaveDaysForYear",
+                () -> leaveRequestRepository.getTotalApprovedLeaveDaysForYear(7L, 2024));
+        queries.put("decidePending", () -> leaveRequestRepository.decidePending(ids, LeaveStatus.APPROVED,
+                LocalDateTime.now()));
+        queries.put("findEndedBefore",
+                () -> leaveRequestRepository.findEndedBefore(from, 100L, PageRequest.ofSize(50)));
+        queries.put("deleteDecided", () -> leaveRequestRepository.deleteDecided(ids));
+        queries.put("aggregateLedgerTotals", () -> leaveRequestRepository.aggregateLedgerTotals());
+        queries.put("findPage", () -> leaveRequestRepository.findPage(department, 100L, 50));
+        queries.put("streamAll", () -> {
+            try (Stream<?> stream = leaveRequestRepository.streamAll(department)) {
+                stream.findFirst();
+            }
+        });
+        queries.put("aggregateRollupTotals", () -> leaveRequestRepository.aggregateRollupTotals());
+        queries.put("aggregateEmployeeRollupTotals",
+                () -> leaveRequestRepository.aggregateEmployeeRollupTotals());
+        return queries;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (var resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.AccrualRunDTO;
+import com.LeaveManagementSystem.model.AccrualPartition;
+import com.LeaveManagementSystem.model.AccrualRun;
+import com.LeaveManagementSystem.model.AccrualRunStatus;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveEntitlement;
+import com.LeaveManagementSystem.model.LeaveLedger;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
+import com.LeaveManagementSystem.repository.AccrualPartitionRepository;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveEntitlementRepository;
+import com.LeaveManagementSystem.repository.LeaveLedgerRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against its own database, since a run rewrites the allowance of every employee. Small partitions
+ * and chunks make even a handful of employees span several of each.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_accrual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.accrual.partitions=3",
+        "lms.accrual.chunk-size=2"
+})
+@ActiveProfiles("test")
+class AccrualServiceTests {
+
+    private static final int YEAR = LocalDate.now().getYear();
+
+    @Autowired
+    private AccrualService accrualService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private LeaveEntitlementRepository leaveEntitlementRepository;
+
+    @Autowired
+    private AccrualPartitionRepository accrualPartitionRepository;
+
+    @Autowired
+    private TransactionRetrier transactionRetrier;
+
+    @Test
+    void proratesFromTheJoiningMonth() {
+        assertThat(accrualService.accruedDays(LocalDate.of(2025, 3, 10), 2025, 12)).isEqualTo(25);
+        // Joining after the 15th starts accrual the month after
+        assertThat(accrualService.accruedDays(LocalDate.of(2025, 3, 16), 2025, 12)).isEqualTo(23);
+        assertThat(accrualService.accruedDays(LocalDate.of(2025, 3, 10), 2025, 6)).isEqualTo(10);
+        assertThat(accrualService.accruedDays(LocalDate.of(2020, 8, 1), 2025, 12)).isEqualTo(30);
+        assertThat(accrualService.accruedDays(LocalDate.of(2025, 12, 20), 2025, 12)).isZero();
+    }
+
+    @Test
+    void accruesWithCappedCarryOverAndRepeatsIdentically() {
+        Long tenured = addEmployee(LocalDate.of(YEAR - 3, 5, 1), 22);
+        Long nearlyUsedUp = addEmployee(LocalDate.of(YEAR - 3, 5, 1), 28);
+        Long joinedLastJuly = addEmployee(LocalDate.of(YEAR - 1, 7, 20), 0);
+        Long joinedEarlyLastJuly = addEmployee(LocalDate.of(YEAR - 1, 7, 10), 14);
+        assertThat(employeeService.getLeaveBalance(tenured).getTotalAllowedLeaves()).isEqualTo(30);
+
+        for (int repeat = 0; repeat < 2; repeat++) {
+            AccrualRunDTO run = accrualService.run(YEAR, 12);
+            assertThat(run.getStatus()).isEqualTo(AccrualRunStatus.COMPLETED);
+            assertThat(run.getProcessedEmployees()).isEqualTo(run.getTotalEmployees());
+            assertThat(run.getPartitionsDone()).isEqualTo(run.getPartitions());
+
+            assertThat(entitlement(tenured)).extracting("accruedDays", "carriedOverDays").containsExactly(30, 5);
+            assertThat(entitlement(nearlyUsedUp)).extracting("accruedDays", "carriedOverDays").containsExactly(30, 2);
+            // Last year's entitlement is recomputed when no run covered it: Aug-Dec, 12.5 days rounded up
+            assertThat(entitlement(joinedLastJuly).getCarriedOverDays()).isEqualTo(5);
+            // Jul-Dec is 15 days, 14 of them used
+            assertThat(entitlement(joinedEarlyLastJuly).getCarriedOverDays()).isEqualTo(1);
+            assertThat(employeeService.getLeaveBalance(tenured).getTotalAllowedLeaves()).isEqualTo(35);
+            assertThat(employeeService.getLeaveBalance(nearlyUsedUp).getTotalAllowedLeaves()).isEqualTo(32);
+        }
+    }
+
+    @Test
+    void resumesFromTheCheckpointsOfAnInterruptedRun() {
+        for (int i = 0; i < 7; i++) {
+            addEmployee(LocalDate.of(YEAR - 3, 1, 1), 0);
+        }
+        // Far enough back that nobody has accrued anything, so the other test's figures are unaffected
+        int year = YEAR - 10;
+        AccrualRun run = accrualService.createRun(year, 12);
+        AccrualPartition first = accrualPartitionRepository.findByRunIdOrderByIdAsc(run.getId()).get(0);
+        transactionRetrier.execute(() ->
+                accrualService.accrueChunk(run, first, first.getCheckpointId(), false));
+
+        AccrualRunDTO resumed = accrualService.run(year, 12);
+
+        assertThat(resumed.getId()).isEqualTo(run.getId());
+        assertThat(resumed.getStatus()).isEqualTo(AccrualRunStatus.COMPLETED);
+        assertThat(resumed.getProcessedEmployees()).isEqualTo(run.getTotalEmployees());
+        assertThat(leaveEntitlementRepository.findAll())
+                .filteredOn(entitlement -> entitlement.getYear() == year)
+                .hasSize((int) run.getTotalEmployees());
+    }
+
+    private Long addEmployee(LocalDate joiningDate, int usedLastYear) {
+        Employee employee = employeeRepository.save(new Employee("Accrual", UUID.randomUUID() + "@example.com",
+                "ACCRUAL", joiningDate));
+        if (usedLastYear > 0) {
+            LeaveLedger ledger = new LeaveLedger(employee.getId(), YEAR - 1);
+            ledger.setUsedDays(usedLastYear);
+            leaveLedgerRepository.save(ledger);
+        }
+        return employee.getId();
+    }
+
+    private LeaveEntitlement entitlement(Long employeeId) {
+        return leaveEntitlementRepository.findById(new LeaveLedgerId(employeeId, YEAR)).orElseThrow();
+    }
+}
@@ -0,0 +1,148 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.DayAvailabilityDTO;
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Department availability and the minimum-staffing rule, with SUPPORT requiring two people at work
+ * (see application-test.properties).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AvailabilityServiceTests {
+
+    private static final String DEPARTMENT = "SUPPORT";
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void tracksAbsencesAndEnforcesMinimumStaffing() {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(14));
+        Long first = addEmployee();
+        Long second = addEmployee();
+        Long third = addEmployee();
+        LeaveRequestDTO firstLeave = leaveService.applyForLeave(oneDay(first, day));
+        LeaveRequestDTO secondLeave = leaveService.applyForLeave(oneDay(second, day));
+        LeaveRequestDTO thirdLeave = leaveService.applyForLeave(oneDay(third, day));
+
+        DayAvailabilityDTO pending = availabilityOn(day);
+        assertThat(pending.getPendingEmployeeIds()).containsExactlyInAnyOrder(first, second, third);
+        assertThat(pending.getAbsentCount()).isZero();
+        assertThat(pending.getPresentCount()).isEqualTo(3);
+
+        leaveService.approveLeave(firstLeave.getId());
+        assertThatThrownBy(() -> leaveService.approveLeave(secondLeave.getId()))
+                .isInstanceOf(InvalidLeaveRequestException.class)
+                .hasMessageContaining("fewer than 2 employees of SUPPORT");
+        leaveService.rejectLeave(thirdLeave.getId());
+
+        DayAvailabilityDTO decided = availabilityOn(day);
+        assertThat(decided.getAbsentEmployeeIds()).containsExactly(first);
+        assertThat(decided.getPendingEmployeeIds()).containsExactly(second);
+        assertThat(decided.getPresentCount()).isEqualTo(2);
+
+        // A new hire raises the headcount, so the second approval now fits
+        addEmployee();
+        leaveService.approveLeave(secondLeave.getId());
+        DayAvailabilityDTO staffed = availabilityOn(day);
+        assertThat(staffed.getAbsentEmployeeIds()).containsExactlyInAnyOrder(first, second);
+        assertThat(staffed.isBelowMinimum()).isFalse();
+    }
+
+    @Test
+    void readsDaysBeforeTheIndexWindowFromTheDatabase() {
+        String department = "WINDOW";
+        Long employeeId = employeeService.addEmployee(new EmployeeDTO("Window", UUID.randomUUID() + "@example.com",
+                department, LocalDate.now().minusYears(5))).getId();
+        // The index covers requests ending on or after the archive cutoff, January 1st of last year
+        LocalDate windowStart = LocalDate.now().withDayOfYear(1).minusYears(1);
+        LocalDate old = calendarService.getCalendar(department).nextWorkingDay(windowStart.minusMonths(6));
+        save(employeeId, old, old, LeaveStatus.APPROVED);
+        LocalDate oldPending = calendarService.getCalendar(department).nextWorkingDay(old.plusDays(1));
+        save(employeeId, oldPending, oldPending, LeaveStatus.PENDING);
+        LocalDate from = windowStart.minusDays(7);
+        LocalDate to = windowStart.plusDays(7);
+        save(employeeId, from, to, LeaveStatus.APPROVED);
+
+        List<DayAvailabilityDTO> straddling = availabilityService.getAvailability(department, from, to).getDays();
+        assertThat(straddling).filteredOn(DayAvailabilityDTO::isWorkingDay).isNotEmpty()
+                .allSatisfy(day -> assertThat(day.getAbsentEmployeeIds()).containsExactly(employeeId));
+        assertThat(straddling).filteredOn(day -> day.isWorkingDay() && day.getDate().isBefore(windowStart))
+                .isNotEmpty();
+
+        // Inserted after the department was loaded, yet read because the day is outside the window
+        LocalDate later = calendarService.getCalendar(department).nextWorkingDay(oldPending.plusDays(1));
+        save(employeeId, later, later, LeaveStatus.APPROVED);
+        List<DayAvailabilityDTO> before = availabilityService.getAvailability(department, old, later).getDays();
+        assertThat(before).filteredOn(day -> day.getDate().equals(old) || day.getDate().equals(later))
+                .extracting(DayAvailabilityDTO::getAbsentEmployeeIds)
+                .containsExactly(List.of(employeeId), List.of(employeeId));
+        // Pending requests are only listed inside the window
+        assertThat(before).allSatisfy(day -> assertThat(day.getPendingEmployeeIds()).isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownDepartmentsAndOversizedRanges() {
+        LocalDate today = LocalDate.now();
+        assertThatThrownBy(() -> availabilityService.getAvailability("NO-SUCH-TEAM", today, today))
+                .hasMessageContaining("No employees found");
+        assertThatThrownBy(() -> availabilityService.getAvailability(DEPARTMENT, today, today.plusYears(2)))
+                .isInstanceOf(InvalidLeaveRequestException.class);
+    }
+
+    private DayAvailabilityDTO availabilityOn(LocalDate day) {
+        List<DayAvailabilityDTO> days = availabilityService.getAvailability(DEPARTMENT.toLowerCase(), day, day)
+                .getDays();
+        assertThat(days).hasSize(1);
+        return days.get(0);
+    }
+
+    private void save(Long employeeId, LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+        LeaveRequest leaveRequest = new LeaveRequest(employeeId, startDate, endDate, 1, "Earlier");
+        leaveRequest.setStatus(status);
+        leaveRequestRepository.save(leaveRequest);
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Support", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+
+    private static LeaveRequestDTO oneDay(Long employeeId, LocalDate day) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(day);
+        dto.setEndDate(day);
+        return dto;
+    }
+}
@@ -0,0 +1,101 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.BulkDecisionRequestDTO;
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveAnalyticsDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.dto.MonthlyLeaveStatsDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveAnalyticsServiceTests {
+
+    private static final String DEPARTMENT = "ANALYTICS";
+
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Test
+    void incrementalRollupsMatchFullRecompute() {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(7));
+        YearMonth month = YearMonth.from(day);
+        Long first = addEmployee();
+        Long second = addEmployee();
+        Long third = addEmployee();
+
+        leaveService.approveLeave(leaveService.applyForLeave(oneDay(first, day)).getId());
+        leaveService.rejectLeave(leaveService.applyForLeave(oneDay(second, day)).getId());
+        Long pending = leaveService.applyForLeave(oneDay(third, day)).getId();
+        LocalDate nextDay = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(day.plusDays(1));
+        leaveService.applyForLeaveBatch(List.of(oneDay(first, nextDay)));
+        leaveService.approveLeaves(new BulkDecisionRequestDTO(List.of(pending)));
+
+        LeaveAnalyticsDTO incremental = leaveAnalyticsService.getReport(month, month.plusMonths(1),
+                DEPARTMENT.toLowerCase(), 5);
+        MonthlyLeaveStatsDTO stats = incremental.getMonths().get(0);
+        assertThat(stats.getMonth()).isEqualTo(month);
+        assertThat(stats.getRejectedRequests()).isEqualTo(1);
+        assertThat(incremental.getTopAbsentees()).extracting("employeeId").containsExactlyInAnyOrder(first, third);
+        long approved = incremental.getMonths().stream().mapToLong(MonthlyLeaveStatsDTO::getApprovedDays).sum();
+        long pendingDays = incremental.getMonths().stream().mapToLong(MonthlyLeaveStatsDTO::getPendingDays).sum();
+        assertThat(approved).isEqualTo(2);
+        assertThat(pendingDays).isEqualTo(1);
+
+        // A whole calendar year ranks from the leave ledger instead of the monthly rollups
+        YearMonth january = YearMonth.of(day.getYear(), 1);
+        assertThat(leaveAnalyticsService.getReport(january, january.plusMonths(11), DEPARTMENT, 5)
+                .getTopAbsentees())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(incremental.getTopAbsentees());
+
+        leaveAnalyticsService.recompute();
+        assertThat(leaveAnalyticsService.getReport(month, month.plusMonths(1), DEPARTMENT, 5))
+                .usingRecursiveComparison()
+                .isEqualTo(incremental);
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        YearMonth now = YearMonth.now();
+        assertThatThrownBy(() -> leaveAnalyticsService.getReport(now, now.minusMonths(1), null, 10))
+                .isInstanceOf(InvalidLeaveRequestException.class);
+        assertThatThrownBy(() -> leaveAnalyticsService.getReport(now.minusYears(20), now, null, 10))
+                .isInstanceOf(InvalidLeaveRequestException.class);
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Analytics", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+
+    private static LeaveRequestDTO oneDay(Long employeeId, LocalDate day) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(day);
+        dto.setEndDate(day);
+        return dto;
+    }
+}
@@ -0,0 +1,180 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.Employee;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.EmployeeRepository;
+import com.LeaveManagementSystem.repository.LeaveLedgerRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers approvals from many threads and checks that the ledger's optimistic locking never lets
+ * an employee's approved days exceed the annual balance. LeaveApprovalContentionBenchmark measures
+ * the throughput of the same contention. Overlapping applications made at once must leave a single
+ * request behind.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveApprovalConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 60;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Test
+    void concurrentApprovalsNeverOverdrawTheBalance() throws Exception {
+        // Twice the annual balance worth of requests for one employee, approved at once
+        Employee employee = newEmployee();
+        List<Long> ids = new ArrayList<>();
+        Map<Integer, Integer> requestedDaysByYear = new HashMap<>();
+        LocalDate date = LocalDate.now();
+        for (int i = 1; i <= REQUESTS; i++) {
+            date = nextWorkingDay(date.plusDays(1));
+            ids.add(applyForOneDay(employee, date));
+            requestedDaysByYear.merge(date.getYear(), 1, Integer::sum);
+        }
+        Outcome outcome = approveConcurrently(ids);
+
+        assertThat(outcome.conflicts.get()).isZero();
+        assertThat(outcome.approved.get() + outcome.insufficient.get()).isEqualTo(REQUESTS);
+        Map<Integer, Integer> approvedDaysByYear = leaveRequestRepository
+                .findByEmployeeIdAndStatus(employee.getId(), LeaveStatus.APPROVED).stream()
+                .collect(Collectors.groupingBy(leaveRequest -> leaveRequest.getStartDate().getYear(),
+                        Collectors.summingInt(LeaveRequest::getDays)));
+        requestedDaysByYear.forEach((year, requested) -> {
+            int approved = approvedDaysByYear.getOrDefault(year, 0);
+            assertThat(approved).isEqualTo(Math.min(requested, employee.getAnnualLeaveBalance()));
+            assertThat(leaveLedgerRepository.findById(new LeaveLedgerId(employee.getId(), year))
+                    .orElseThrow().getUsedDays()).isEqualTo(approved);
+        });
+    }
+
+    @Test
+    void concurrentOverlappingApplicationsKeepOneRequest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Employee employee = newEmployee();
+                LocalDate first = nextWorkingDay(LocalDate.now().plusDays(7));
+                LocalDate second = nextWorkingDay(first.plusDays(1));
+                CyclicBarrier barrier = new CyclicBarrier(THREADS);
+                AtomicInteger accepted = new AtomicInteger();
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    // Half ask for both days, half only for the second, so every pair overlaps
+                    LocalDate startDate = i % 2 == 0 ? first : second;
+                    tasks.add(() -> {
+                        barrier.await();
+                        try {
+                            apply(employee, startDate, second);
+                            accepted.incrementAndGet();
+                        } catch (InvalidLeaveRequestException e) {
+                            assertThat(e).hasMessage("Overlapping leave request found for the given dates");
+                        }
+                        return null;
+                    });
+                }
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+
+                assertThat(accepted.get()).as("applications accepted in round %d", round).isEqualTo(1);
+                assertThat(leaveRequestRepository.findByEmployeeId(employee.getId())).hasSize(1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Outcome approveConcurrently(List<Long> ids) throws Exception {
+        Outcome outcome = new Outcome();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = ids.stream().<Callable<Void>>map(id -> () -> {
+                try {
+                    leaveService.approveLeave(id);
+                    outcome.approved.incrementAndGet();
+                } catch (InvalidLeaveRequestException e) {
+                    outcome.insufficient.incrementAndGet();
+                } catch (OptimisticLockingFailureException e) {
+                    outcome.conflicts.incrementAndGet();
+                }
+                return null;
+            }).collect(Collectors.toList());
+
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return outcome;
+    }
+
+    private Employee newEmployee() {
+        return employeeRepository.save(new Employee("Stress Test", UUID.randomUUID() + "@example.com",
+                "STRESS", LocalDate.now().minusYears(1)));
+    }
+
+    private LocalDate nextWorkingDay(LocalDate date) {
+        return calendarService.getCalendar("STRESS").nextWorkingDay(date);
+    }
+
+    private Long applyForOneDay(Employee employee, LocalDate date) {
+        return apply(employee, date, date);
+    }
+
+    private Long apply(Employee employee, LocalDate startDate, LocalDate endDate) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setEmployeeId(employee.getId());
+        dto.setStartDate(startDate);
+        dto.setEndDate(endDate);
+        return leaveService.applyForLeave(dto).getId();
+    }
+
+    private static class Outcome {
+        final AtomicInteger approved = new AtomicInteger();
+        final AtomicInteger insufficient = new AtomicInteger();
+        final AtomicInteger conflicts = new AtomicInteger();
+    }
+}
@@ -0,0 +1,100 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.BulkDecisionRequestDTO;
+import com.LeaveManagementSystem.dto.BulkDecisionResultDTO;
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Approvals made by another instance never reach this instance's overlap index; the approval path has to
+ * find them in the database anyway.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveApprovalOverlapTests {
+
+    private static final String DEPARTMENT = "ENGINEERING";
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void singleApprovalSeesOverlapApprovedElsewhere() {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(21));
+        Long employeeId = addEmployee();
+        LeaveRequestDTO pending = leaveService.applyForLeave(oneDay(employeeId, day));
+        approveBehindTheIndex(employeeId, day);
+
+        assertThatThrownBy(() -> leaveService.approveLeave(pending.getId()))
+                .isInstanceOf(InvalidLeaveRequestException.class)
+                .hasMessageContaining("Overlapping");
+        assertThat(leaveRequestRepository.findById(pending.getId()).orElseThrow().getStatus())
+                .isEqualTo(LeaveStatus.PENDING);
+    }
+
+    @Test
+    void bulkApprovalSkipsOverlapApprovedElsewhere() {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(28));
+        Long employeeId = addEmployee();
+        Long otherEmployeeId = addEmployee();
+        LeaveRequestDTO clashing = leaveService.applyForLeave(oneDay(employeeId, day));
+        LeaveRequestDTO clear = leaveService.applyForLeave(oneDay(otherEmployeeId, day));
+        approveBehindTheIndex(employeeId, day);
+
+        BulkDecisionResultDTO result = leaveService.approveLeaves(
+                new BulkDecisionRequestDTO(List.of(clashing.getId(), clear.getId())));
+
+        assertThat(result.getProcessedIds()).containsExactly(clear.getId());
+        assertThat(result.getSkipped()).singleElement().satisfies(skipped -> {
+            assertThat(skipped.getId()).isEqualTo(clashing.getId());
+            assertThat(skipped.getReason()).containsIgnoringCase("overlap");
+        });
+        assertThat(leaveRequestRepository.findById(clashing.getId()).orElseThrow().getStatus())
+                .isEqualTo(LeaveStatus.PENDING);
+    }
+
+    // What another instance's approval looks like from here: a committed row this index never saw
+    private void approveBehindTheIndex(Long employeeId, LocalDate day) {
+        LeaveRequest approved = new LeaveRequest(employeeId, day, day, 1, "Approved on another instance");
+        approved.setStatus(LeaveStatus.APPROVED);
+        leaveRequestRepository.save(approved);
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Engineer", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+
+    private static LeaveRequestDTO oneDay(Long employeeId, LocalDate day) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(day);
+        dto.setEndDate(day);
+        return dto;
+    }
+}
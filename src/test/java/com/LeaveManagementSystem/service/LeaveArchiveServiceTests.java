@@ -0,0 +1,129 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.cache.EmployeeVersions;
+import com.LeaveManagementSystem.cache.LeaveIntervalIndex;
+import com.LeaveManagementSystem.dto.ArchiveReportDTO;
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveAnalyticsDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.ArchivedLeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against its own database, since a run archives every employee's old requests. Closed years are
+ * seeded with plain inserts because the API only accepts future dates.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.archive.chunk-size=2"
+})
+@ActiveProfiles("test")
+class LeaveArchiveServiceTests {
+
+    private static final int YEAR = LocalDate.now().getYear();
+    private static final String DEPARTMENT = "ARCHIVE";
+
+    @Autowired
+    private LeaveArchiveService leaveArchiveService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Autowired
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesDecidedRequestsOfClosedYearsAndKeepsTotals() {
+        Long employee = addEmployee();
+        Long colleague = addEmployee();
+        // Retaining one year puts the cutoff at January 1st of last year
+        insert(1, employee, LocalDate.of(YEAR - 3, 3, 2), LocalDate.of(YEAR - 3, 3, 4), 3, LeaveStatus.APPROVED);
+        insert(2, employee, LocalDate.of(YEAR - 3, 5, 4), LocalDate.of(YEAR - 3, 5, 4), 1, LeaveStatus.REJECTED);
+        insert(3, employee, LocalDate.of(YEAR - 3, 7, 6), LocalDate.of(YEAR - 3, 7, 7), 2, LeaveStatus.PENDING);
+        insert(4, employee, LocalDate.of(YEAR - 2, 12, 28), LocalDate.of(YEAR - 1, 1, 2), 4, LeaveStatus.APPROVED);
+        insert(5, employee, LocalDate.of(YEAR - 1, 6, 1), LocalDate.of(YEAR - 1, 6, 2), 2, LeaveStatus.APPROVED);
+        insert(6, colleague, LocalDate.of(YEAR - 2, 3, 2), LocalDate.of(YEAR - 2, 3, 3), 2, LeaveStatus.APPROVED);
+        leaveLedgerService.reconcile();
+        leaveAnalyticsService.recompute();
+        LeaveAnalyticsDTO before = report();
+        leaveIntervalIndex.overlaps(employee, LocalDate.of(YEAR + 1, 1, 1), LocalDate.of(YEAR + 1, 1, 1),
+                EnumSet.of(LeaveStatus.APPROVED), null);
+        long indexedBefore = leaveIntervalIndex.getStats().getIntervals();
+        String etag = employeeVersions.etag("leave-requests", employee);
+
+        ArchiveReportDTO archived = leaveArchiveService.archive();
+
+        assertThat(archived.getCutoff()).isEqualTo(LocalDate.of(YEAR - 1, 1, 1));
+        assertThat(archived.getArchivedRequests()).isEqualTo(3);
+        assertThat(archived.getChunks()).isEqualTo(2);
+        assertThat(ids(leaveService.getLeaveRequestsByEmployee(employee, false))).containsExactlyInAnyOrder(
+                3L, 4L, 5L);
+        // Archived requests come first
+        assertThat(ids(leaveService.getLeaveRequestsByEmployee(employee, true))).startsWith(1L, 2L)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(archivedLeaveRequestRepository.findById(1L).orElseThrow().getArchivedAt()).isNotNull();
+        assertThat(leaveIntervalIndex.getStats().getIntervals()).isEqualTo(indexedBefore - 1);
+        assertThat(employeeVersions.etag("leave-requests", employee)).isNotEqualTo(etag);
+
+        // The ledger and the rollups count archived requests as before
+        assertThat(leaveLedgerService.reconcile().getDriftedRows()).isZero();
+        assertThat(leaveLedgerService.getUsedDays(employee, YEAR - 3)).isEqualTo(3);
+        leaveAnalyticsService.recompute();
+        assertThat(report()).usingRecursiveComparison().isEqualTo(before);
+
+        assertThat(leaveArchiveService.archive().getArchivedRequests()).isZero();
+    }
+
+    private LeaveAnalyticsDTO report() {
+        return leaveAnalyticsService.getReport(YearMonth.of(YEAR - 3, 1), YearMonth.of(YEAR - 1, 12), DEPARTMENT, 5);
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Archive", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.of(YEAR - 4, 1, 1))).getId();
+    }
+
+    private void insert(long id, Long employeeId, LocalDate start, LocalDate end, int days, LeaveStatus status) {
+        LocalDateTime createdAt = start.minusDays(10).atStartOfDay();
+        jdbcTemplate.update("INSERT INTO leave_requests (id, employee_id, start_date, end_date, days, status, " +
+                        "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", id, employeeId, start,
+                end, days, status.name(), createdAt, status == LeaveStatus.PENDING ? createdAt : createdAt.plusHours(5));
+    }
+
+    private static List<Long> ids(List<LeaveRequestDTO> requests) {
+        return requests.stream().map(LeaveRequestDTO::getId).toList();
+    }
+}
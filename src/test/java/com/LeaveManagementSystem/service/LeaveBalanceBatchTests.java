@@ -0,0 +1,75 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveBalanceDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveBalanceBatchTests {
+
+    private static final String DEPARTMENT = "BALANCES";
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Test
+    void batchedBalancesMatchSingleLookups() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(employeeService.addEmployee(new EmployeeDTO("Balance " + i, UUID.randomUUID() + "@example.com",
+                    DEPARTMENT, LocalDate.now().minusYears(1))).getId());
+        }
+        // Stay inside the current year, which is the one balances report on
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(1));
+        if (day.getYear() == LocalDate.now().getYear()) {
+            LeaveRequestDTO leave = new LeaveRequestDTO();
+            leave.setEmployeeId(ids.get(2));
+            leave.setStartDate(day);
+            leave.setEndDate(day);
+            leaveService.approveLeave(leaveService.applyForLeave(leave).getId());
+        }
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(-1L);
+        requested.add(ids.get(0));
+        List<LeaveBalanceDTO> batched = employeeService.getLeaveBalances(requested, null);
+
+        assertThat(batched).extracting(LeaveBalanceDTO::getEmployeeId).containsExactlyElementsOf(ids);
+        for (LeaveBalanceDTO balance : batched) {
+            LeaveBalanceDTO single = employeeService.getLeaveBalance(balance.getEmployeeId());
+            assertThat(balance).usingRecursiveComparison().isEqualTo(single);
+        }
+        assertThat(employeeService.getLeaveBalances(null, DEPARTMENT.toLowerCase()))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(batched);
+    }
+
+    @Test
+    void requiresExactlyOneSelection() {
+        assertThatThrownBy(() -> employeeService.getLeaveBalances(null, null))
+                .isInstanceOf(InvalidLeaveRequestException.class);
+        assertThatThrownBy(() -> employeeService.getLeaveBalances(List.of(1L), "IT"))
+                .isInstanceOf(InvalidLeaveRequestException.class);
+    }
+}
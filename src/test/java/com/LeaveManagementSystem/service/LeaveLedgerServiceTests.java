@@ -0,0 +1,179 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LedgerDriftDTO;
+import com.LeaveManagementSystem.dto.LedgerReconciliationReportDTO;
+import com.LeaveManagementSystem.model.LeaveLedger;
+import com.LeaveManagementSystem.model.LeaveLedgerId;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.LeaveLedgerRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against its own database, since reconcile() checks every ledger row. Requests are written directly
+ * where a test needs dates or states the leave service would refuse.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_ledger;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.ledger.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class LeaveLedgerServiceTests {
+
+    // Well clear of the current year, so keying on it would show
+    private static final int YEAR = LocalDate.now().getYear() + 2;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reconcileRepairsDriftedAndMissingRows() {
+        Long drifted = addEmployee();
+        Long missing = addEmployee();
+        Long consistent = addEmployee();
+        save(drifted, LocalDate.of(YEAR, 3, 2), LocalDate.of(YEAR, 3, 4), 3, LeaveStatus.APPROVED);
+        save(drifted, LocalDate.of(YEAR, 4, 6), LocalDate.of(YEAR, 4, 7), 2, LeaveStatus.PENDING);
+        save(drifted, LocalDate.of(YEAR, 5, 4), LocalDate.of(YEAR, 5, 4), 1, LeaveStatus.REJECTED);
+        ledger(drifted, YEAR, 7, 9);
+        // No ledger row at all, as for requests written before the ledger existed
+        save(missing, LocalDate.of(YEAR, 3, 2), LocalDate.of(YEAR, 3, 2), 1, LeaveStatus.APPROVED);
+        save(consistent, LocalDate.of(YEAR, 3, 2), LocalDate.of(YEAR, 3, 3), 2, LeaveStatus.APPROVED);
+        ledger(consistent, YEAR, 2, 0);
+
+        LedgerReconciliationReportDTO report = leaveLedgerService.reconcile();
+
+        assertThat(driftOf(report, drifted)).hasValueSatisfying(drift -> {
+            assertThat(drift.getYear()).isEqualTo(YEAR);
+            assertThat(drift.getLedgerUsedDays()).isEqualTo(7);
+            assertThat(drift.getActualUsedDays()).isEqualTo(3);
+            assertThat(drift.getLedgerPendingDays()).isEqualTo(9);
+            assertThat(drift.getActualPendingDays()).isEqualTo(2);
+        });
+        assertThat(driftOf(report, missing)).hasValueSatisfying(drift -> {
+            assertThat(drift.getLedgerUsedDays()).isZero();
+            assertThat(drift.getActualUsedDays()).isEqualTo(1);
+        });
+        assertThat(driftOf(report, consistent)).isEmpty();
+        assertThat(report.getDriftedRows()).isEqualTo(report.getDrifts().size());
+
+        assertLedger(drifted, YEAR, 3, 2);
+        assertLedger(missing, YEAR, 1, 0);
+        assertThat(leaveLedgerService.reconcile().getDrifts()).isEmpty();
+    }
+
+    @Test
+    void recordApprovedRefusesToExceedTheAllowance() {
+        Long employeeId = addEmployee();
+        LeaveRequest leaveRequest = save(employeeId, LocalDate.of(YEAR, 6, 1), LocalDate.of(YEAR, 6, 3), 3,
+                LeaveStatus.PENDING);
+        inTransaction(() -> leaveLedgerService.recordApplied(leaveRequest));
+        ledger(employeeId, YEAR, 5, 3);
+
+        assertThat(inTransaction(() -> leaveLedgerService.recordApproved(leaveRequest, 7))).isFalse();
+        assertLedger(employeeId, YEAR, 5, 3);
+
+        assertThat(inTransaction(() -> leaveLedgerService.recordApproved(leaveRequest, 8))).isTrue();
+        assertLedger(employeeId, YEAR, 8, 0);
+    }
+
+    @Test
+    void recordApprovedCreatesTheMissingRowWithinTheAllowance() {
+        Long employeeId = addEmployee();
+        LeaveRequest leaveRequest = save(employeeId, LocalDate.of(YEAR, 6, 1), LocalDate.of(YEAR, 6, 2), 2,
+                LeaveStatus.PENDING);
+
+        assertThat(inTransaction(() -> leaveLedgerService.recordApproved(leaveRequest, 1))).isFalse();
+        assertThat(leaveLedgerRepository.findById(new LeaveLedgerId(employeeId, YEAR))).isEmpty();
+
+        assertThat(inTransaction(() -> leaveLedgerService.recordApproved(leaveRequest, 2))).isTrue();
+        assertLedger(employeeId, YEAR, 2, 0);
+    }
+
+    @Test
+    void rowsAreKeyedByTheStartYearOfTheLeave() {
+        Long employeeId = addEmployee();
+        // Runs from the end of one year into the next
+        LeaveRequest acrossNewYear = save(employeeId, LocalDate.of(YEAR, 12, 30), LocalDate.of(YEAR + 1, 1, 2), 4,
+                LeaveStatus.PENDING);
+
+        inTransaction(() -> leaveLedgerService.recordApplied(acrossNewYear));
+        assertLedger(employeeId, YEAR, 0, 4);
+        assertThat(leaveLedgerRepository.findById(new LeaveLedgerId(employeeId, YEAR + 1))).isEmpty();
+        assertThat(leaveLedgerRepository.findById(
+                new LeaveLedgerId(employeeId, LocalDate.now().getYear()))).isEmpty();
+
+        acrossNewYear.setStatus(LeaveStatus.APPROVED);
+        leaveRequestRepository.save(acrossNewYear);
+        inTransaction(() -> leaveLedgerService.recordDecidedBatch(List.of(acrossNewYear), LeaveStatus.APPROVED));
+        assertLedger(employeeId, YEAR, 4, 0);
+        assertThat(leaveLedgerService.getUsedDays(employeeId, YEAR)).isEqualTo(4);
+        assertThat(leaveLedgerService.getUsedDays(employeeId, YEAR + 1)).isZero();
+        // Reconciliation totals requests by the same year, so it finds nothing to repair
+        assertThat(driftOf(leaveLedgerService.reconcile(), employeeId)).isEmpty();
+    }
+
+    private Optional<LedgerDriftDTO> driftOf(LedgerReconciliationReportDTO report, Long employeeId) {
+        return report.getDrifts().stream().filter(drift -> drift.getEmployeeId().equals(employeeId)).findFirst();
+    }
+
+    private void assertLedger(Long employeeId, int year, int usedDays, int pendingDays) {
+        LeaveLedger ledger = leaveLedgerRepository.findById(new LeaveLedgerId(employeeId, year)).orElseThrow();
+        assertThat(ledger.getUsedDays()).isEqualTo(usedDays);
+        assertThat(ledger.getPendingDays()).isEqualTo(pendingDays);
+    }
+
+    private void ledger(Long employeeId, int year, int usedDays, int pendingDays) {
+        LeaveLedger ledger = leaveLedgerRepository.findById(new LeaveLedgerId(employeeId, year))
+                .orElseGet(() -> new LeaveLedger(employeeId, year));
+        ledger.setUsedDays(usedDays);
+        ledger.setPendingDays(pendingDays);
+        leaveLedgerRepository.save(ledger);
+    }
+
+    private LeaveRequest save(Long employeeId, LocalDate startDate, LocalDate endDate, int days, LeaveStatus status) {
+        LeaveRequest leaveRequest = new LeaveRequest(employeeId, startDate, endDate, days, "Ledger");
+        leaveRequest.setStatus(status);
+        return leaveRequestRepository.save(leaveRequest);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Ledger", UUID.randomUUID() + "@example.com",
+                "LEDGER", LocalDate.now().minusYears(1))).getId();
+    }
+}
@@ -0,0 +1,113 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveBatchResultDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.LeaveLedger;
+import com.LeaveManagementSystem.repository.LeaveLedgerRepository;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * New requests with the overlap index turned off, as when several instances share the database: the
+ * employee's row lock and a database check stand in for the index, so concurrent overlapping
+ * applications, single or batched, still leave one request behind.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_overlap;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.leave.overlap-index.enabled=false"
+})
+@ActiveProfiles("test")
+class OverlapDatabaseCheckTests {
+
+    private static final String DEPARTMENT = "SHARED";
+    private static final int THREADS = 6;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Test
+    void concurrentOverlappingApplicationsKeepOneRequest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Long employeeId = addEmployee();
+                LocalDate first = workingDay(LocalDate.now().plusDays(7));
+                LocalDate second = workingDay(first.plusDays(1));
+                // Otherwise racing inserts of the first ledger row collide on its key and retry, hiding the race
+                leaveLedgerRepository.save(new LeaveLedger(employeeId, first.getYear()));
+                CyclicBarrier barrier = new CyclicBarrier(THREADS);
+                AtomicInteger accepted = new AtomicInteger();
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    LeaveRequestDTO dto = new LeaveRequestDTO(employeeId, i % 2 == 0 ? first : second, second,
+                            "Raced");
+                    boolean batched = i % 3 == 0;
+                    tasks.add(() -> {
+                        barrier.await();
+                        if (batched) {
+                            LeaveBatchResultDTO result = leaveService.applyForLeaveBatch(List.of(dto));
+                            accepted.addAndGet(result.getSucceeded());
+                        } else {
+                            try {
+                                leaveService.applyForLeave(dto);
+                                accepted.incrementAndGet();
+                            } catch (InvalidLeaveRequestException e) {
+                                assertThat(e).hasMessage("Overlapping leave request found for the given dates");
+                            }
+                        }
+                        return null;
+                    });
+                }
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+
+                assertThat(accepted.get()).as("applications accepted in round %d", round).isEqualTo(1);
+                assertThat(leaveRequestRepository.findByEmployeeId(employeeId)).hasSize(1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private LocalDate workingDay(LocalDate date) {
+        return calendarService.getCalendar(DEPARTMENT).nextWorkingDay(date);
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Shared", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+}
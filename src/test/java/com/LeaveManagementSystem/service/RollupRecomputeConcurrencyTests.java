@@ -0,0 +1,99 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveAnalyticsDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.dto.MonthlyLeaveStatsDTO;
+import com.LeaveManagementSystem.repository.ArchivedLeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Applies leave while a recompute is paused between reading leave_requests and replacing the rollups.
+ * The application has to wait for the recompute instead of adding to rows the recompute then replaces.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:lms_recompute;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class RollupRecomputeConcurrencyTests {
+
+    private static final String DEPARTMENT = "RECOMPUTE";
+
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    // Nothing is archived here, so the archive's totals can be stubbed out to pause the recompute
+    @SpyBean
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+
+    @Test
+    void applicationDuringRecomputeIsNotLost() throws Exception {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(7));
+        YearMonth month = YearMonth.from(day);
+        Long employeeId = addEmployee();
+        leaveService.applyForLeave(new LeaveRequestDTO(employeeId, day, day, "Before"));
+
+        CountDownLatch aggregated = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean paused = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (paused.compareAndSet(false, true)) {
+                aggregated.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return List.of();
+        }).when(archivedLeaveRequestRepository).aggregateRollupTotals();
+
+        CompletableFuture<?> recompute = CompletableFuture.runAsync(leaveAnalyticsService::recompute);
+        assertThat(aggregated.await(10, TimeUnit.SECONDS)).isTrue();
+        LocalDate nextDay = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(day.plusDays(1));
+        CompletableFuture<?> apply = CompletableFuture.runAsync(() ->
+                leaveService.applyForLeave(new LeaveRequestDTO(addEmployee(), nextDay, nextDay, "During")));
+        // Held off by the recompute's lock
+        assertThatThrownBy(() -> apply.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        release.countDown();
+        recompute.get(10, TimeUnit.SECONDS);
+        apply.get(10, TimeUnit.SECONDS);
+
+        LeaveAnalyticsDTO incremental = leaveAnalyticsService.getReport(month, YearMonth.from(nextDay),
+                DEPARTMENT, 5);
+        assertThat(incremental.getMonths().stream().mapToLong(MonthlyLeaveStatsDTO::getPendingDays).sum())
+                .isEqualTo(2);
+        leaveAnalyticsService.recompute();
+        assertThat(leaveAnalyticsService.getReport(month, YearMonth.from(nextDay), DEPARTMENT, 5))
+                .usingRecursiveComparison()
+                .isEqualTo(incremental);
+    }
+
+    private Long addEmployee() {
+        return employeeService.addEmployee(new EmployeeDTO("Recompute", UUID.randomUUID() + "@example.com",
+                DEPARTMENT, LocalDate.now().minusYears(1))).getId();
+    }
+}
@@ -0,0 +1,115 @@
+package com.LeaveManagementSystem.service;
+
+import com.LeaveManagementSystem.dto.BulkDecisionRequestDTO;
+import com.LeaveManagementSystem.dto.BulkDecisionResultDTO;
+import com.LeaveManagementSystem.dto.EmployeeDTO;
+import com.LeaveManagementSystem.dto.LeaveRequestDTO;
+import com.LeaveManagementSystem.exception.InvalidLeaveRequestException;
+import com.LeaveManagementSystem.model.LeaveRequest;
+import com.LeaveManagementSystem.model.LeaveStatus;
+import com.LeaveManagementSystem.repository.LeaveRequestRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The minimum-staffing rule with the occupancy index turned off, as when several instances share the
+ * database: an approval made elsewhere, which this instance's index never sees, still counts.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms_staffing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "lms.staffing.occupancy-index.enabled=false",
+        "lms.staffing.departments.FIELD=2",
+        "lms.staffing.departments.CREW=2"
+})
+@ActiveProfiles("test")
+class StaffingDatabaseCheckTests {
+
+    // One department per test, so each starts from its own headcount
+    private static final String DEPARTMENT = "FIELD";
+    private static final String BATCH_DEPARTMENT = "CREW";
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void countsApprovalsMadeOnAnotherInstance() {
+        LocalDate day = calendarService.getCalendar(DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(14));
+        LeaveRequestDTO elsewhere = leaveService.applyForLeave(oneDay(addEmployee(), day));
+        LeaveRequestDTO second = leaveService.applyForLeave(oneDay(addEmployee(), day));
+        LeaveRequestDTO third = leaveService.applyForLeave(oneDay(addEmployee(), day));
+        approveBehindTheIndex(elsewhere.getId());
+
+        assertThatThrownBy(() -> leaveService.approveLeave(second.getId()))
+                .isInstanceOf(InvalidLeaveRequestException.class)
+                .hasMessageContaining("fewer than 2 employees of FIELD");
+        BulkDecisionResultDTO result = leaveService.approveLeaves(
+                new BulkDecisionRequestDTO(List.of(second.getId(), third.getId())));
+        assertThat(result.getProcessedIds()).isEmpty();
+        assertThat(result.getSkipped()).extracting(skipped -> skipped.getReason())
+                .allSatisfy(reason -> assertThat(reason).contains("fewer than 2 employees of FIELD"));
+
+        // A new hire is counted from the database as well, so one more approval fits
+        addEmployee();
+        leaveService.approveLeave(second.getId());
+        assertThatThrownBy(() -> leaveService.approveLeave(third.getId()))
+                .isInstanceOf(InvalidLeaveRequestException.class);
+    }
+
+    @Test
+    void countsEarlierApprovalsOfTheSameBatch() {
+        LocalDate day = calendarService.getCalendar(BATCH_DEPARTMENT).nextWorkingDay(LocalDate.now().plusDays(14));
+        LeaveRequestDTO first = leaveService.applyForLeave(oneDay(addEmployee(BATCH_DEPARTMENT), day));
+        LeaveRequestDTO second = leaveService.applyForLeave(oneDay(addEmployee(BATCH_DEPARTMENT), day));
+        addEmployee(BATCH_DEPARTMENT);
+
+        BulkDecisionResultDTO result = leaveService.approveLeaves(
+                new BulkDecisionRequestDTO(List.of(first.getId(), second.getId())));
+
+        assertThat(result.getProcessedIds()).containsExactly(first.getId());
+        assertThat(result.getSkipped()).singleElement()
+                .satisfies(skipped -> assertThat(skipped.getId()).isEqualTo(second.getId()));
+    }
+
+    // What another instance's approval looks like from here: a committed change this index never saw
+    private void approveBehindTheIndex(Long leaveRequestId) {
+        LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveRequestId).orElseThrow();
+        leaveRequest.setStatus(LeaveStatus.APPROVED);
+        leaveRequestRepository.save(leaveRequest);
+    }
+
+    private Long addEmployee() {
+        return addEmployee(DEPARTMENT);
+    }
+
+    private Long addEmployee(String department) {
+        return employeeService.addEmployee(new EmployeeDTO("Field", UUID.randomUUID() + "@example.com",
+                department, LocalDate.now().minusYears(1))).getId();
+    }
+
+    private static LeaveRequestDTO oneDay(Long employeeId, LocalDate day) {
+        LeaveRequestDTO dto = new LeaveRequestDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(day);
+        dto.setEndDate(day);
+        return dto;
+    }
+}